@@ -56,18 +56,18 @@ public class CreateJsonObjects {
                 "{\n" +
                 "  \"album\" : \"Album name\",\n" +
                 "  \"group\" : \"Group name\",\n" +
-                "  \"record\" :\n" +
-                "  {\n" +
-                "    \"country\" : \"Russia\",\n" +
-                "    \"format\" : \"LP\",\n" +
-                "    \"year\" : 2020\n" +
-                "  },\n" +
+                "  \"year\" : 2019,\n" +
                 "  \"tracklist\" :\n" +
                 "  [\n" +
                 "    \"song 1\",\n" +
                 "    \"song 2\"\n" +
                 "  ],\n" +
-                "  \"year\" : 2019\n" +
+                "  \"record\" :\n" +
+                "  {\n" +
+                "    \"year\" : 2020,\n" +
+                "    \"country\" : \"Russia\",\n" +
+                "    \"format\" : \"LP\"\n" +
+                "  }\n" +
                 "}";
         // Check object content
         assertEquals(element.toStringWithIndents(), jsonObject);
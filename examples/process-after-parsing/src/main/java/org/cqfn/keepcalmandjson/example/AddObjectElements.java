@@ -66,27 +66,28 @@ public class AddObjectElements {
     }
 
     public static void testOutput(JsonElement element) {
-        String jsonObject = "{\"age\":25,\"hasDiploma\":true,\"languages\":[\"Java\",\"Kotlin\"],\"name\":\"John P.\"," +
-                "\"personal projects\":{\"GitHub\":\"https://github.com/...\",\"articles amount\":2," +
-                "\"scientific papers\":null},\"score\":82.75,\"years of experience\":3}";
+        String jsonObject = "{\"name\":\"John P.\",\"age\":25,\"score\":82.75,\"hasDiploma\":true," +
+                "\"years of experience\":3,\"languages\":[\"Java\",\"Kotlin\"]," +
+                "\"personal projects\":{\"scientific papers\":null,\"GitHub\":\"https://github.com/...\"," +
+                "\"articles amount\":2}}";
         String jsonObjectWithIndent =
                 "{\n" +
+                "  \"name\" : \"John P.\",\n" +
                 "  \"age\" : 25,\n" +
+                "  \"score\" : 82.75,\n" +
                 "  \"hasDiploma\" : true,\n" +
+                "  \"years of experience\" : 3,\n" +
                 "  \"languages\" :\n" +
                 "  [\n" +
                 "    \"Java\",\n" +
                 "    \"Kotlin\"\n" +
                 "  ],\n" +
-                "  \"name\" : \"John P.\",\n" +
                 "  \"personal projects\" :\n" +
                 "  {\n" +
+                "    \"scientific papers\" : null,\n" +
                 "    \"GitHub\" : \"https://github.com/...\",\n" +
-                "    \"articles amount\" : 2,\n" +
-                "    \"scientific papers\" : null\n" +
-                "  },\n" +
-                "  \"score\" : 82.75,\n" +
-                "  \"years of experience\" : 3\n" +
+                "    \"articles amount\" : 2\n" +
+                "  }\n" +
                 "}";
         // Check object content
         assertEquals(element.toString(), jsonObject);
@@ -0,0 +1,118 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Polina Volkhontseva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.keepcalmandjson.parser;
+
+import org.cqfn.keepcalmandjson.types.JsonContainer;
+
+/**
+ * Growable stack of containers being parsed, so the depth of nesting costs heap memory
+ * rather than frames of the thread stack.
+ */
+final class ContainerStack {
+
+    /**
+     * Initial capacity of the stack.
+     */
+    static private final int STACK_SIZE = 16;
+
+    /**
+     * Containers of the stack.
+     */
+    private JsonContainer[] containers = new JsonContainer[STACK_SIZE];
+
+    /**
+     * Amounts of elements parsed in the containers of the stack.
+     */
+    private int[] counts = new int[STACK_SIZE];
+
+    /**
+     * Amount of containers in the stack.
+     */
+    private int size;
+
+    /**
+     * Get amount of containers in the stack.
+     * @return Size of the stack.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Push a container to the stack.
+     * @param container JsonContainer element.
+     */
+    void push(JsonContainer container) {
+        if (size == containers.length) {
+            JsonContainer[] newContainers = new JsonContainer[size * 2];
+            System.arraycopy(containers, 0, newContainers, 0, size);
+            containers = newContainers;
+            int[] newCounts = new int[size * 2];
+            System.arraycopy(counts, 0, newCounts, 0, size);
+            counts = newCounts;
+        }
+        containers[size] = container;
+        counts[size] = 0;
+        size++;
+    }
+
+    /**
+     * Get the container on top of the stack.
+     * @return JsonContainer element.
+     */
+    JsonContainer peek() {
+        return containers[size - 1];
+    }
+
+    /**
+     * Get amount of elements parsed in the container on top of the stack.
+     * @return Amount of elements.
+     */
+    int count() {
+        return counts[size - 1];
+    }
+
+    /**
+     * Count one more element parsed in the container on top of the stack.
+     */
+    void increment() {
+        counts[size - 1]++;
+    }
+
+    /**
+     * Remove the container on top of the stack.
+     */
+    void pop() {
+        containers[--size] = null;
+    }
+
+    /**
+     * Remove containers from the stack down to the specified size.
+     * @param newSize Size of the stack.
+     */
+    void truncate(int newSize) {
+        while (size > newSize)
+            pop();
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Polina Volkhontseva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.keepcalmandjson.parser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Origin data read from UTF-8 encoded input stream.
+ * Only a buffer of fixed size is held in memory, it is refilled when the scanner
+ * crosses its end.
+ */
+class InputStreamOrigin extends Utf8Origin {
+
+    /**
+     * Default size of buffer.
+     */
+    static protected final int BUFFER_SIZE = 8192;
+
+    /**
+     * Input stream.
+     */
+    private final InputStream input;
+
+    /**
+     * Constructor.
+     * @param input Input stream.
+     */
+    InputStreamOrigin(InputStream input) {
+        this(input, BUFFER_SIZE);
+    }
+
+    /**
+     * Constructor.
+     * @param input Input stream.
+     * @param size Size of buffer, not less than 4 bytes.
+     */
+    InputStreamOrigin(InputStream input, int size) {
+        super(size);
+        this.input = input;
+        decode();
+    }
+
+    /**
+     * Read next bytes of the stream into the buffer.
+     * @param buffer Buffer.
+     * @param offset Index of the first byte to be written.
+     * @param length Maximum amount of bytes to be read.
+     * @return Amount of bytes read or -1 if the end of stream is reached.
+     * @throws UncheckedIOException if stream reading fails.
+     */
+    protected int read(byte[] buffer, int offset, int length) {
+        try {
+            return input.read(buffer, offset, length);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
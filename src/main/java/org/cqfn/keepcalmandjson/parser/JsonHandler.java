@@ -0,0 +1,99 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Polina Volkhontseva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.keepcalmandjson.parser;
+
+/**
+ * Handler of JSON content called by {@link JsonParser} while scanning origin data,
+ * without building JSON elements.
+ * All the methods do nothing by default, so only the needed ones may be implemented.
+ */
+public interface JsonHandler {
+
+    /**
+     * Called at the beginning of JSON object.
+     */
+    default void startObject() {
+    }
+
+    /**
+     * Called at the end of JSON object.
+     */
+    default void endObject() {
+    }
+
+    /**
+     * Called at the beginning of JSON array.
+     */
+    default void startArray() {
+    }
+
+    /**
+     * Called at the end of JSON array.
+     */
+    default void endArray() {
+    }
+
+    /**
+     * Called for a key of JSON object member, before its value.
+     * @param key Text of the key, valid only until the method returns.
+     */
+    default void key(CharSequence key) {
+    }
+
+    /**
+     * Called for JSON string value.
+     * @param value Text of the string, valid only until the method returns.
+     */
+    default void value(CharSequence value) {
+    }
+
+    /**
+     * Called for JSON number value.
+     * @param value Double value.
+     */
+    default void value(double value) {
+    }
+
+    /**
+     * Called for JSON number value which is an integer fitting into a long value.
+     * Calls {@link #value(double)} by default.
+     * @param value Long value.
+     */
+    default void value(long value) {
+        value((double)value);
+    }
+
+    /**
+     * Called for JSON boolean value.
+     * @param value Boolean value.
+     */
+    default void value(boolean value) {
+    }
+
+    /**
+     * Called for JSON null value.
+     */
+    default void nullValue() {
+    }
+}
@@ -0,0 +1,511 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Polina Volkhontseva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.keepcalmandjson.parser;
+
+import org.cqfn.keepcalmandjson.parser.JsonParser.Origin;
+import org.cqfn.keepcalmandjson.parser.exceptions.JsonParserException;
+import org.cqfn.keepcalmandjson.types.JsonElement;
+import org.cqfn.keepcalmandjson.types.ObjectShapes;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Parser of newline-delimited JSON (JSON Lines) source.
+ * Source is split into chunks at line boundaries, chunks are parsed in parallel by an executor,
+ * records are returned in the source order. Empty lines are skipped.
+ */
+public class JsonLinesParser {
+
+    /**
+     * Default size of a chunk in bytes.
+     */
+    static public final int CHUNK_SIZE = 1 << 20;
+
+    /**
+     * Executor parsing chunks.
+     */
+    private final Executor executor;
+
+    /**
+     * Size of a chunk in bytes.
+     */
+    private final int chunkSize;
+
+    /**
+     * Maximal amount of chunks read ahead of the consumer.
+     */
+    private final int maxChunks;
+
+    /**
+     * Constructor, chunks are parsed by the common fork-join pool.
+     */
+    public JsonLinesParser() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructor.
+     * @param executor Executor parsing chunks.
+     */
+    public JsonLinesParser(Executor executor) {
+        this(executor, CHUNK_SIZE, 2 * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructor.
+     * @param executor Executor parsing chunks.
+     * @param chunkSize Size of a chunk in bytes, lines longer than a chunk are parsed as one chunk.
+     * @param maxChunks Maximal amount of chunks read ahead of the consumer.
+     */
+    public JsonLinesParser(Executor executor, int chunkSize, int maxChunks) {
+        if (executor == null)
+            throw new NullPointerException();
+        if (chunkSize <= 0 || maxChunks <= 0)
+            throw new IllegalArgumentException();
+        this.executor = executor;
+        this.chunkSize = chunkSize;
+        this.maxChunks = maxChunks;
+    }
+
+    /**
+     * Parse records of origin data encoded in UTF-8.
+     * @param data Array of bytes.
+     * @param offset Index of the first byte of data.
+     * @param length Amount of bytes of data.
+     * @return Ordered stream of records, parsing failure is thrown
+     *  as {@link IllegalStateException} caused by {@link JsonParserException}.
+     */
+    public Stream<JsonElement> stream(byte[] data, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > data.length - length)
+            throw new IndexOutOfBoundsException();
+        return stream(new ArraySplitter(data, offset, offset + length));
+    }
+
+    /**
+     * Parse records read from UTF-8 encoded input stream. The stream is not closed.
+     * @param input Input stream.
+     * @return Ordered stream of records, parsing failure is thrown
+     *  as {@link IllegalStateException} caused by {@link JsonParserException},
+     *  reading failure is thrown as {@link UncheckedIOException}.
+     */
+    public Stream<JsonElement> stream(InputStream input) {
+        return stream(new StreamSplitter(input));
+    }
+
+    /**
+     * Parse records of UTF-8 encoded file. The file is closed when the stream is closed.
+     * @param path Path to the file.
+     * @return Ordered stream of records, parsing failure is thrown
+     *  as {@link IllegalStateException} caused by {@link JsonParserException},
+     *  reading failure is thrown as {@link UncheckedIOException}.
+     * @throws IOException if the file can't be opened.
+     */
+    public Stream<JsonElement> stream(Path path) throws IOException {
+        InputStream input = Files.newInputStream(path);
+        return stream(input).onClose(() -> {
+            try {
+                input.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Parse records of origin data encoded in UTF-8.
+     * @param data Array of bytes.
+     * @param offset Index of the first byte of data.
+     * @param length Amount of bytes of data.
+     * @param callback Consumer of records, called by the current thread in the source order.
+     * @throws JsonParserException if fails.
+     */
+    public void parse(byte[] data, int offset, int length, Consumer<JsonElement> callback)
+            throws JsonParserException {
+        if (offset < 0 || length < 0 || offset > data.length - length)
+            throw new IndexOutOfBoundsException();
+        try {
+            consume(new ArraySplitter(data, offset, offset + length), callback);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Parse records read from UTF-8 encoded input stream. The stream is not closed.
+     * @param input Input stream.
+     * @param callback Consumer of records, called by the current thread in the source order.
+     * @throws JsonParserException if fails.
+     * @throws IOException if stream reading fails.
+     */
+    public void parse(InputStream input, Consumer<JsonElement> callback) throws JsonParserException, IOException {
+        consume(new StreamSplitter(input), callback);
+    }
+
+    /**
+     * Parse records of UTF-8 encoded file.
+     * @param path Path to the file.
+     * @param callback Consumer of records, called by the current thread in the source order.
+     * @throws JsonParserException if fails.
+     * @throws IOException if file reading fails.
+     */
+    public void parse(Path path, Consumer<JsonElement> callback) throws JsonParserException, IOException {
+        try (InputStream input = Files.newInputStream(path)) {
+            parse(input, callback);
+        }
+    }
+
+    /**
+     * Parse all lines of a chunk, objects of the chunk share their shapes.
+     * @param data Array of bytes.
+     * @param from Index of the first byte of the chunk.
+     * @param to Index after the last byte of the chunk.
+     * @return List of records.
+     * @throws JsonParserException if fails.
+     */
+    static protected List<JsonElement> parseLines(byte[] data, int from, int to) throws JsonParserException {
+        List<JsonElement> records = new ArrayList<>();
+        ObjectShapes shapes = new ObjectShapes();
+        int start = from;
+        while (start < to) {
+            int end = start;
+            while (end < to && data[end] != '\n')
+                end++;
+            int last = end;
+            while (start < last && isSpace(data[start]))
+                start++;
+            while (last > start && isSpace(data[last - 1]))
+                last--;
+            if (start < last) {
+                Origin origin = new Utf8Origin(data, start, last - start);
+                origin.setShapes(shapes);
+                records.add(JsonParser.parse(origin, null));
+            }
+            start = end + 1;
+        }
+        return records;
+    }
+
+    /**
+     * Check if a byte is a space within a line.
+     * @param b Byte.
+     * @return TRUE if the byte is a space, a tab or a carriage return.
+     */
+    static protected boolean isSpace(byte b) {
+        return b == ' ' || b == '\t' || b == '\r';
+    }
+
+    /**
+     * Create a stream of records.
+     * @param splitter Splitter of source into chunks.
+     * @return Ordered stream of records.
+     */
+    private Stream<JsonElement> stream(Splitter splitter) {
+        Records records = new Records(splitter);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(records,
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Pass records to a callback.
+     * @param splitter Splitter of source into chunks.
+     * @param callback Consumer of records.
+     * @throws JsonParserException if fails.
+     * @throws IOException if reading fails.
+     */
+    private void consume(Splitter splitter, Consumer<JsonElement> callback) throws JsonParserException, IOException {
+        Records records = new Records(splitter);
+        try {
+            while (records.hasNext())
+                callback.accept(records.next());
+        } catch (IllegalStateException e) {
+            if (e.getCause() instanceof JsonParserException)
+                throw (JsonParserException)e.getCause();
+            throw e;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Source split into chunks at line boundaries.
+     */
+    private abstract static class Splitter {
+
+        /**
+         * Data of the current chunk.
+         */
+        byte[] data;
+
+        /**
+         * Index of the first byte of the current chunk.
+         */
+        int from;
+
+        /**
+         * Index after the last byte of the current chunk.
+         */
+        int to;
+
+        /**
+         * Get the next chunk.
+         * @return TRUE if there is the next chunk.
+         * @throws UncheckedIOException if reading fails.
+         */
+        abstract boolean next();
+    }
+
+    /**
+     * Splitter of an array of bytes, chunks refer to the same array.
+     */
+    private class ArraySplitter extends Splitter {
+
+        /**
+         * Index after the last byte of data.
+         */
+        private final int limit;
+
+        /**
+         * Constructor.
+         * @param data Array of bytes.
+         * @param from Index of the first byte of data.
+         * @param limit Index after the last byte of data.
+         */
+        ArraySplitter(byte[] data, int from, int limit) {
+            this.data = data;
+            this.to = from;
+            this.limit = limit;
+        }
+
+        /**
+         * Get the next chunk.
+         * @return TRUE if there is the next chunk.
+         */
+        boolean next() {
+            if (to >= limit)
+                return false;
+            from = to;
+            to = from + Math.min(chunkSize, limit - from);
+            while (to < limit && data[to - 1] != '\n')
+                to++;
+            return true;
+        }
+    }
+
+    /**
+     * Splitter of an input stream, each chunk is read into a new array.
+     */
+    private class StreamSplitter extends Splitter {
+
+        /**
+         * Input stream.
+         */
+        private final InputStream input;
+
+        /**
+         * Bytes after the last line break of the previous chunk.
+         */
+        private byte[] rest;
+
+        /**
+         * Amount of bytes in the rest.
+         */
+        private int restLength;
+
+        /**
+         * Constructor.
+         * @param input Input stream.
+         */
+        StreamSplitter(InputStream input) {
+            this.input = input;
+            this.rest = new byte[0];
+        }
+
+        /**
+         * Get the next chunk.
+         * @return TRUE if there is the next chunk.
+         * @throws UncheckedIOException if reading fails.
+         */
+        boolean next() {
+            if (rest == null)
+                return false;
+            byte[] buffer = new byte[Math.max(chunkSize, restLength * 2)];
+            System.arraycopy(rest, 0, buffer, 0, restLength);
+            int length = restLength;
+            int lineEnd = -1;
+            try {
+                while (lineEnd < 0) {
+                    if (length == buffer.length) {
+                        byte[] newBuffer = new byte[buffer.length * 2];
+                        System.arraycopy(buffer, 0, newBuffer, 0, length);
+                        buffer = newBuffer;
+                    }
+                    int count = input.read(buffer, length, buffer.length - length);
+                    if (count < 0)
+                        break;
+                    length += count;
+                    if (length == buffer.length || count == 0)
+                        lineEnd = lastLineEnd(buffer, length);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            data = buffer;
+            from = 0;
+            if (lineEnd < 0) {
+                rest = null;
+                to = length;
+                return length > 0;
+            }
+            to = lineEnd + 1;
+            restLength = length - to;
+            rest = new byte[restLength];
+            System.arraycopy(buffer, to, rest, 0, restLength);
+            return true;
+        }
+
+        /**
+         * Find the last line break.
+         * @param buffer Array of bytes.
+         * @param length Amount of bytes.
+         * @return Index of the last line break or -1.
+         */
+        private int lastLineEnd(byte[] buffer, int length) {
+            for (int i = length - 1; i >= 0; i--) {
+                if (buffer[i] == '\n')
+                    return i;
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * Iterator over records of chunks being parsed in parallel.
+     */
+    private class Records implements Iterator<JsonElement> {
+
+        /**
+         * Splitter of source into chunks.
+         */
+        private final Splitter splitter;
+
+        /**
+         * Chunks being parsed in the source order.
+         */
+        private final ArrayDeque<CompletableFuture<List<JsonElement>>> pending;
+
+        /**
+         * Records of the current chunk.
+         */
+        private Iterator<JsonElement> current;
+
+        /**
+         * Flag indicating that all chunks are submitted.
+         */
+        private boolean finished;
+
+        /**
+         * Constructor.
+         * @param splitter Splitter of source into chunks.
+         */
+        Records(Splitter splitter) {
+            this.splitter = splitter;
+            this.pending = new ArrayDeque<>();
+            this.current = Collections.emptyIterator();
+        }
+
+        /**
+         * Check if there are more records.
+         * @return TRUE if there are more records.
+         * @throws IllegalStateException if parsing fails.
+         * @throws UncheckedIOException if reading fails.
+         */
+        public boolean hasNext() {
+            while (!current.hasNext()) {
+                submit();
+                CompletableFuture<List<JsonElement>> chunk = pending.poll();
+                if (chunk == null)
+                    return false;
+                try {
+                    current = chunk.join().iterator();
+                } catch (CompletionException e) {
+                    finished = true;
+                    pending.clear();
+                    throw new IllegalStateException(e.getCause());
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Get the next record.
+         * @return JsonElement element.
+         */
+        public JsonElement next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            return current.next();
+        }
+
+        /**
+         * Submit chunks to the executor until enough chunks are pending.
+         */
+        private void submit() {
+            while (!finished && pending.size() < maxChunks) {
+                if (!splitter.next()) {
+                    finished = true;
+                    break;
+                }
+                byte[] data = splitter.data;
+                int from = splitter.from;
+                int to = splitter.to;
+                pending.add(CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return parseLines(data, from, to);
+                    } catch (JsonParserException e) {
+                        throw new CompletionException(e);
+                    }
+                }, executor));
+            }
+        }
+    }
+}
@@ -27,50 +27,245 @@ import org.cqfn.keepcalmandjson.parser.exceptions.*;
 
 import org.cqfn.keepcalmandjson.types.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+
 /**
- * JSON parser of String source.
+ * JSON parser of String, UTF-8 encoded or streamed source.
  */
 public class JsonParser {
 
     /**
-     * Origin data.
+     * Default maximal depth of nesting of objects and arrays in a parser session.
+     * Static parsing methods don't limit the depth.
+     */
+    static public final int DEFAULT_MAX_DEPTH = 1000;
+
+    /**
+     * Names of JSON literals.
+     */
+    static private final String[] LITERALS = {"true", "false", "null"};
+
+    /**
+     * Origin data scanned by the parser char by char.
      */
-    static protected class Origin {
+    static protected abstract class Origin {
 
         /**
-         * String value of source data.
+         * Maximal capacity of the scratch buffer kept between strings.
          */
-        private final String data;
+        static private final int MAX_BUILDER_CAPACITY = 1 << 16;
 
         /**
-         * Index of current char being processed.
+         * Cache of object keys, or null if keys are not cached.
          */
-        private int index;
+        private KeyCache keys;
 
         /**
-         * Index of the last char.
+         * Flag indicating that numbers are kept as exact BigDecimal values.
          */
-        private final int maxIndex;
+        private boolean exactNumbers;
 
         /**
-         * Constructor.
-         * @param data String value of source data.
+         * Flag indicating that elements are created without parent links.
          */
-        Origin(String data) {
-            this.data = data;
-            index = 0;
-            maxIndex = data != null ? data.length() : 0;
-        }
+        private boolean withoutParents;
+
+        /**
+         * Maximal depth of nesting of objects and arrays.
+         */
+        private int maxDepth = Integer.MAX_VALUE;
+
+        /**
+         * Value of the last scanned number, created on first use.
+         */
+        private NumberValue number;
+
+        /**
+         * Registry of shapes shared by parsed objects, created on first use.
+         */
+        private ObjectShapes shapes;
+
+        /**
+         * Scratch buffer of chars, created on first use.
+         */
+        private StringBuilder builder;
+
+        /**
+         * Stack of containers being parsed, created on first use.
+         */
+        private ContainerStack stack;
 
         /**
          * Get char at the current position.
-         * @return Char at the index position.
+         * @return Char at the index position or 0 if the end of data is reached.
          */
-        public char get() {
-            if (index < maxIndex)
-                return data.charAt(index);
+        public abstract char get();
+
+        /**
+         * Get next char.
+         * @return Char at the next after index position or 0 if the end of data is reached.
+         */
+        public abstract char next();
+
+        /**
+         * Get current index.
+         * @return index.
+         */
+        public abstract long getIndex();
+
+        /**
+         * Create origin data object of a part of the data.
+         * Indexes in the created object are the same as in this object.
+         * @param from Index of the first char.
+         * @param to Index after the last char.
+         * @return Origin data object.
+         * @throws UnsupportedOperationException if the data can be read only once.
+         */
+        public Origin range(long from, long to) {
+            throw new UnsupportedOperationException();
+        }
+
+        /**
+         * Read the rest of a string literal up to the closing quote at once and move after the quote.
+         * The current char should be the first char after the opening quote.
+         * @param keys Cache of keys if the literal is an object key, or null.
+         * @return String value, or null if the literal contains escapes or its end isn't available yet,
+         *  the position is not changed then.
+         */
+        public String readPlainString(KeyCache keys) {
+            return null;
+        }
+
+        /**
+         * Append a run of plain chars of a string literal to the buffer and move after them.
+         * The run ends at the closing quote, at an escape or where the available data ends.
+         * The current char should be inside the literal.
+         * @param sb StringBuilder the chars are appended to.
+         * @return TRUE if the closing quote is reached, the position is after the quote then.
+         */
+        public boolean appendPlainString(StringBuilder sb) {
+            return false;
+        }
+
+        /**
+         * Get cache of object keys.
+         * @return KeyCache object or null if keys are not cached.
+         */
+        public KeyCache getKeys() {
+            return keys;
+        }
+
+        /**
+         * Set cache of object keys.
+         * @param keys KeyCache object or null if keys are not cached.
+         */
+        public void setKeys(KeyCache keys) {
+            this.keys = keys;
+        }
+
+        /**
+         * Check if numbers are kept as exact BigDecimal values.
+         * @return TRUE if numbers are exact.
+         */
+        public boolean isExactNumbers() {
+            return exactNumbers;
+        }
+
+        /**
+         * Set if numbers are kept as exact BigDecimal values.
+         * @param exactNumbers TRUE if numbers are exact.
+         */
+        public void setExactNumbers(boolean exactNumbers) {
+            this.exactNumbers = exactNumbers;
+        }
+
+        /**
+         * Check if elements are created without parent links.
+         * @return TRUE if elements have no parents.
+         */
+        public boolean isWithoutParents() {
+            return withoutParents;
+        }
+
+        /**
+         * Set if elements are created without parent links.
+         * @param withoutParents TRUE if elements have no parents.
+         */
+        public void setWithoutParents(boolean withoutParents) {
+            this.withoutParents = withoutParents;
+        }
+
+        /**
+         * Get maximal depth of nesting of objects and arrays.
+         * @return Maximal depth.
+         */
+        public int getMaxDepth() {
+            return maxDepth;
+        }
+
+        /**
+         * Set maximal depth of nesting of objects and arrays.
+         * @param maxDepth Maximal depth.
+         */
+        public void setMaxDepth(int maxDepth) {
+            this.maxDepth = maxDepth;
+        }
+
+        /**
+         * Get registry of shapes shared by parsed objects.
+         * @return ObjectShapes object.
+         */
+        public ObjectShapes getShapes() {
+            if (shapes == null)
+                shapes = new ObjectShapes();
+            return shapes;
+        }
+
+        /**
+         * Set registry of shapes shared by parsed objects.
+         * @param shapes ObjectShapes object.
+         */
+        public void setShapes(ObjectShapes shapes) {
+            this.shapes = shapes;
+        }
+
+        /**
+         * Get value of the last scanned number.
+         * @return NumberValue object reused for all the numbers.
+         */
+        NumberValue getNumber() {
+            if (number == null)
+                number = new NumberValue();
+            return number;
+        }
+
+        /**
+         * Get stack of containers being parsed.
+         * @return ContainerStack object reused for all the containers.
+         */
+        ContainerStack getStack() {
+            if (stack == null)
+                stack = new ContainerStack();
+            return stack;
+        }
+
+        /**
+         * Get scratch buffer of chars, it is cleared on every call.
+         * @return StringBuilder object reused for all the strings.
+         */
+        StringBuilder getBuilder() {
+            if (builder == null || builder.capacity() > MAX_BUILDER_CAPACITY)
+                builder = new StringBuilder();
             else
-                return 0;
+                builder.setLength(0);
+            return builder;
         }
 
         /**
@@ -84,19 +279,6 @@ public class JsonParser {
             return c;
         }
 
-        /**
-         * Get next char.
-         * @return Char at the next after index position.
-         */
-        public char next() {
-            if (index < maxIndex) {
-                index++;
-                return get();
-            }
-            else
-                return 0;
-        }
-
         /**
          * Get char at the next position, but skip spaces.
          * @return Next char after index position or next char that is not a space.
@@ -108,14 +290,6 @@ public class JsonParser {
             return c;
         }
 
-        /**
-         * Get current index.
-         * @return index.
-         */
-        public int getIndex() {
-            return index;
-        }
-
         /**
          * Check if char is a space.
          * @return TRUE if char is a space, newline, carriage return or tab escape sequence.
@@ -134,43 +308,846 @@ public class JsonParser {
     }
 
     /**
-     * Parse origin data.
-     * @param data String data.
-     * @return JsonElement element.
-     * @throws JsonParserException if fails.
+     * Parse origin data.
+     * @param data String data.
+     * @return JsonElement element.
+     * @throws JsonParserException if fails.
+     */
+    static public JsonElement parse(String data) throws JsonParserException {
+        return parse(new StringOrigin(data), null);
+    }
+
+    /**
+     * Parse origin data.
+     * @param data String data.
+     * @return JsonElement element.
+     */
+    static public JsonElement parseNoThrow(String data) {
+        return parseNoThrow(new StringOrigin(data), null);
+    }
+
+    /**
+     * Parse origin data encoded in UTF-8.
+     * @param data Array of bytes.
+     * @param offset Index of the first byte of data.
+     * @param length Amount of bytes of data.
+     * @return JsonElement element.
+     * @throws JsonParserException if fails.
+     */
+    static public JsonElement parse(byte[] data, int offset, int length) throws JsonParserException {
+        return parse(new Utf8Origin(data, offset, length), null);
+    }
+
+    /**
+     * Parse origin data encoded in UTF-8.
+     * @param data Array of bytes.
+     * @param offset Index of the first byte of data.
+     * @param length Amount of bytes of data.
+     * @return JsonElement element.
+     */
+    static public JsonElement parseNoThrow(byte[] data, int offset, int length) {
+        return parseNoThrow(new Utf8Origin(data, offset, length), null);
+    }
+
+    /**
+     * Parse origin data read from UTF-8 encoded input stream.
+     * Only a buffer of fixed size is held in memory while parsing. The stream is not closed.
+     * @param input Input stream.
+     * @return JsonElement element.
+     * @throws JsonParserException if fails.
+     * @throws IOException if stream reading fails.
+     */
+    static public JsonElement parse(InputStream input) throws JsonParserException, IOException {
+        try {
+            return parse(new InputStreamOrigin(input), null);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Parse origin data read from UTF-8 encoded input stream.
+     * Only a buffer of fixed size is held in memory while parsing. The stream is not closed.
+     * @param input Input stream.
+     * @return JsonElement element, or null if parsing or stream reading fails.
+     */
+    static public JsonElement parseNoThrow(InputStream input) {
+        try {
+            return parseNoThrow(new InputStreamOrigin(input), null);
+        } catch (UncheckedIOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Parse origin data read from a character stream.
+     * Only a buffer of fixed size is held in memory while parsing. The reader is not closed.
+     * @param reader Reader.
+     * @return JsonElement element.
+     * @throws JsonParserException if fails.
+     * @throws IOException if reading fails.
+     */
+    static public JsonElement parse(Reader reader) throws JsonParserException, IOException {
+        try {
+            return parse(new ReaderOrigin(reader), null);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Parse origin data read from a character stream.
+     * Only a buffer of fixed size is held in memory while parsing. The reader is not closed.
+     * @param reader Reader.
+     * @return JsonElement element, or null if parsing or reading fails.
+     */
+    static public JsonElement parseNoThrow(Reader reader) {
+        try {
+            return parseNoThrow(new ReaderOrigin(reader), null);
+        } catch (UncheckedIOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Parse UTF-8 encoded file.
+     * The file is mapped into memory and scanned through a buffer of fixed size,
+     * so its content is not copied into the heap as a whole.
+     * @param path Path to the file.
+     * @return JsonElement element.
+     * @throws JsonParserException if fails.
+     * @throws IOException if file reading fails.
+     */
+    static public JsonElement parse(Path path) throws JsonParserException, IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return parse(new MappedFileOrigin(channel), null);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Parse UTF-8 encoded file.
+     * The file is mapped into memory and scanned through a buffer of fixed size,
+     * so its content is not copied into the heap as a whole.
+     * @param path Path to the file.
+     * @return JsonElement element, or null if parsing or file reading fails.
+     */
+    static public JsonElement parseNoThrow(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return parseNoThrow(new MappedFileOrigin(channel), null);
+        } catch (IOException | UncheckedIOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Parse origin data sharing equal object keys through the key cache.
+     * @param data String data.
+     * @param keys Cache of object keys.
+     * @return JsonElement element.
+     * @throws JsonParserException if fails.
+     */
+    static public JsonElement parse(String data, KeyCache keys) throws JsonParserException {
+        Origin origin = new StringOrigin(data);
+        origin.setKeys(keys);
+        return parse(origin, null);
+    }
+
+    /**
+     * Parse origin data sharing equal object keys through the key cache.
+     * @param data String data.
+     * @param keys Cache of object keys.
+     * @return JsonElement element, or null if parsing fails.
+     */
+    static public JsonElement parseNoThrow(String data, KeyCache keys) {
+        Origin origin = new StringOrigin(data);
+        origin.setKeys(keys);
+        return parseNoThrow(origin, null);
+    }
+
+    /**
+     * Parse origin data encoded in UTF-8 sharing equal object keys through the key cache.
+     * @param data Array of bytes.
+     * @param offset Index of the first byte of data.
+     * @param length Amount of bytes of data.
+     * @param keys Cache of object keys.
+     * @return JsonElement element.
+     * @throws JsonParserException if fails.
+     */
+    static public JsonElement parse(byte[] data, int offset, int length, KeyCache keys) throws JsonParserException {
+        Origin origin = new Utf8Origin(data, offset, length);
+        origin.setKeys(keys);
+        return parse(origin, null);
+    }
+
+    /**
+     * Parse origin data encoded in UTF-8 sharing equal object keys through the key cache.
+     * @param data Array of bytes.
+     * @param offset Index of the first byte of data.
+     * @param length Amount of bytes of data.
+     * @param keys Cache of object keys.
+     * @return JsonElement element, or null if parsing fails.
+     */
+    static public JsonElement parseNoThrow(byte[] data, int offset, int length, KeyCache keys) {
+        Origin origin = new Utf8Origin(data, offset, length);
+        origin.setKeys(keys);
+        return parseNoThrow(origin, null);
+    }
+
+    /**
+     * Parse origin data read from UTF-8 encoded input stream sharing equal object keys
+     * through the key cache. The stream is not closed.
+     * @param input Input stream.
+     * @param keys Cache of object keys.
+     * @return JsonElement element.
+     * @throws JsonParserException if fails.
+     * @throws IOException if stream reading fails.
+     */
+    static public JsonElement parse(InputStream input, KeyCache keys) throws JsonParserException, IOException {
+        try {
+            Origin origin = new InputStreamOrigin(input);
+            origin.setKeys(keys);
+            return parse(origin, null);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Parse origin data read from a character stream sharing equal object keys
+     * through the key cache. The reader is not closed.
+     * @param reader Reader.
+     * @param keys Cache of object keys.
+     * @return JsonElement element.
+     * @throws JsonParserException if fails.
+     * @throws IOException if reading fails.
+     */
+    static public JsonElement parse(Reader reader, KeyCache keys) throws JsonParserException, IOException {
+        try {
+            Origin origin = new ReaderOrigin(reader);
+            origin.setKeys(keys);
+            return parse(origin, null);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Parse origin data keeping numbers as exact BigDecimal values.
+     * @param data String data.
+     * @return JsonElement element.
+     * @throws JsonParserException if fails.
+     */
+    static public JsonElement parseExact(String data) throws JsonParserException {
+        Origin origin = new StringOrigin(data);
+        origin.setExactNumbers(true);
+        return parse(origin, null);
+    }
+
+    /**
+     * Parse origin data keeping numbers as exact BigDecimal values.
+     * @param data String data.
+     * @return JsonElement element, or null if parsing fails.
+     */
+    static public JsonElement parseExactNoThrow(String data) {
+        Origin origin = new StringOrigin(data);
+        origin.setExactNumbers(true);
+        return parseNoThrow(origin, null);
+    }
+
+    /**
+     * Parse origin data encoded in UTF-8 keeping numbers as exact BigDecimal values.
+     * @param data Array of bytes.
+     * @param offset Index of the first byte of data.
+     * @param length Amount of bytes of data.
+     * @return JsonElement element.
+     * @throws JsonParserException if fails.
+     */
+    static public JsonElement parseExact(byte[] data, int offset, int length) throws JsonParserException {
+        Origin origin = new Utf8Origin(data, offset, length);
+        origin.setExactNumbers(true);
+        return parse(origin, null);
+    }
+
+    /**
+     * Parse origin data encoded in UTF-8 keeping numbers as exact BigDecimal values.
+     * @param data Array of bytes.
+     * @param offset Index of the first byte of data.
+     * @param length Amount of bytes of data.
+     * @return JsonElement element, or null if parsing fails.
+     */
+    static public JsonElement parseExactNoThrow(byte[] data, int offset, int length) {
+        Origin origin = new Utf8Origin(data, offset, length);
+        origin.setExactNumbers(true);
+        return parseNoThrow(origin, null);
+    }
+
+    /**
+     * Parse origin data into elements without parent links.
+     * Booleans and nulls are the shared elements {@link JsonBoolean#TRUE}, {@link JsonBoolean#FALSE}
+     * and {@link JsonNull#NULL}, parents can be tracked by {@link JsonCursor} instead.
+     * @param data String data.
+     * @return JsonElement element.
+     * @throws JsonParserException if fails.
+     */
+    static public JsonElement parseWithoutParents(String data) throws JsonParserException {
+        Origin origin = new StringOrigin(data);
+        origin.setWithoutParents(true);
+        return parse(origin, null);
+    }
+
+    /**
+     * Parse origin data into elements without parent links.
+     * @param data String data.
+     * @return JsonElement element, or null if parsing fails.
+     */
+    static public JsonElement parseWithoutParentsNoThrow(String data) {
+        Origin origin = new StringOrigin(data);
+        origin.setWithoutParents(true);
+        return parseNoThrow(origin, null);
+    }
+
+    /**
+     * Parse origin data encoded in UTF-8 into elements without parent links.
+     * @param data Array of bytes.
+     * @param offset Index of the first byte of data.
+     * @param length Amount of bytes of data.
+     * @return JsonElement element.
+     * @throws JsonParserException if fails.
+     */
+    static public JsonElement parseWithoutParents(byte[] data, int offset, int length) throws JsonParserException {
+        Origin origin = new Utf8Origin(data, offset, length);
+        origin.setWithoutParents(true);
+        return parse(origin, null);
+    }
+
+    /**
+     * Parse origin data encoded in UTF-8 into elements without parent links.
+     * @param data Array of bytes.
+     * @param offset Index of the first byte of data.
+     * @param length Amount of bytes of data.
+     * @return JsonElement element, or null if parsing fails.
+     */
+    static public JsonElement parseWithoutParentsNoThrow(byte[] data, int offset, int length) {
+        Origin origin = new Utf8Origin(data, offset, length);
+        origin.setWithoutParents(true);
+        return parseNoThrow(origin, null);
+    }
+
+    /**
+     * Parse origin data, but only check objects and arrays and load their elements on first access.
+     * The source String is kept until all the elements are loaded.
+     * Elements of each container are loaded once, concurrent readers wait for the end of loading,
+     * while modification of the result is not thread-safe as of other parsed elements.
+     * @param data String data.
+     * @return JsonElement element.
+     * @throws JsonParserException if fails.
+     */
+    static public JsonElement parseLazy(String data) throws JsonParserException {
+        return parseLazy(new StringOrigin(data), null);
+    }
+
+    /**
+     * Parse origin data, but only check objects and arrays and load their elements on first access.
+     * The source String is kept until all the elements are loaded.
+     * @param data String data.
+     * @return JsonElement element, or null if parsing fails.
+     */
+    static public JsonElement parseLazyNoThrow(String data) {
+        try {
+            return parseLazy(new StringOrigin(data), null);
+        } catch (JsonParserException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Parse origin data encoded in UTF-8, but only check objects and arrays
+     * and load their elements on first access.
+     * The array is kept until all the elements are loaded, so it should not be changed.
+     * @param data Array of bytes.
+     * @param offset Index of the first byte of data.
+     * @param length Amount of bytes of data.
+     * @return JsonElement element.
+     * @throws JsonParserException if fails.
+     */
+    static public JsonElement parseLazy(byte[] data, int offset, int length) throws JsonParserException {
+        return parseLazy(new Utf8Origin(data, offset, length), null);
+    }
+
+    /**
+     * Parse origin data encoded in UTF-8, but only check objects and arrays
+     * and load their elements on first access.
+     * The array is kept until all the elements are loaded, so it should not be changed.
+     * @param data Array of bytes.
+     * @param offset Index of the first byte of data.
+     * @param length Amount of bytes of data.
+     * @return JsonElement element, or null if parsing fails.
+     */
+    static public JsonElement parseLazyNoThrow(byte[] data, int offset, int length) {
+        try {
+            return parseLazy(new Utf8Origin(data, offset, length), null);
+        } catch (JsonParserException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Parse origin data, elements of a top-level array are parsed in parallel
+     * by the common fork-join pool.
+     * @param data String data.
+     * @return JsonElement element.
+     * @throws JsonParserException if fails.
+     */
+    static public JsonElement parseParallel(String data) throws JsonParserException {
+        return ParallelArrayParser.parse(data, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Parse origin data, elements of a top-level array are parsed in parallel.
+     * @param data String data.
+     * @param pool Fork-join pool parsing elements.
+     * @return JsonElement element.
+     * @throws JsonParserException if fails.
+     */
+    static public JsonElement parseParallel(String data, ForkJoinPool pool) throws JsonParserException {
+        return ParallelArrayParser.parse(data, pool);
+    }
+
+    /**
+     * Parse origin data encoded in UTF-8, elements of a top-level array are parsed in parallel
+     * by the common fork-join pool.
+     * @param data Array of bytes.
+     * @param offset Index of the first byte of data.
+     * @param length Amount of bytes of data.
+     * @return JsonElement element.
+     * @throws JsonParserException if fails.
+     */
+    static public JsonElement parseParallel(byte[] data, int offset, int length) throws JsonParserException {
+        return ParallelArrayParser.parse(data, offset, length, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Parse origin data encoded in UTF-8, elements of a top-level array are parsed in parallel.
+     * @param data Array of bytes.
+     * @param offset Index of the first byte of data.
+     * @param length Amount of bytes of data.
+     * @param pool Fork-join pool parsing elements.
+     * @return JsonElement element.
+     * @throws JsonParserException if fails.
+     */
+    static public JsonElement parseParallel(byte[] data, int offset, int length, ForkJoinPool pool)
+            throws JsonParserException {
+        return ParallelArrayParser.parse(data, offset, length, pool);
+    }
+
+    /**
+     * Parse origin data calling the handler for its content instead of building JSON elements.
+     * @param data String data.
+     * @param handler Handler of JSON content.
+     * @throws JsonParserException if fails.
+     */
+    static public void parse(String data, JsonHandler handler) throws JsonParserException {
+        handle(new StringOrigin(data), handler);
+    }
+
+    /**
+     * Parse origin data encoded in UTF-8 calling the handler for its content
+     * instead of building JSON elements.
+     * @param data Array of bytes.
+     * @param offset Index of the first byte of data.
+     * @param length Amount of bytes of data.
+     * @param handler Handler of JSON content.
+     * @throws JsonParserException if fails.
+     */
+    static public void parse(byte[] data, int offset, int length, JsonHandler handler) throws JsonParserException {
+        handle(new Utf8Origin(data, offset, length), handler);
+    }
+
+    /**
+     * Parse origin data read from UTF-8 encoded input stream calling the handler for its content
+     * instead of building JSON elements. The stream is not closed.
+     * @param input Input stream.
+     * @param handler Handler of JSON content.
+     * @throws JsonParserException if fails.
+     * @throws IOException if stream reading fails.
+     */
+    static public void parse(InputStream input, JsonHandler handler) throws JsonParserException, IOException {
+        try {
+            handle(new InputStreamOrigin(input), handler);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Parse origin data read from a character stream calling the handler for its content
+     * instead of building JSON elements. The reader is not closed.
+     * @param reader Reader.
+     * @param handler Handler of JSON content.
+     * @throws JsonParserException if fails.
+     * @throws IOException if reading fails.
+     */
+    static public void parse(Reader reader, JsonHandler handler) throws JsonParserException, IOException {
+        try {
+            handle(new ReaderOrigin(reader), handler);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Parse UTF-8 encoded file calling the handler for its content instead of building JSON elements.
+     * The file is mapped into memory and scanned through a buffer of fixed size.
+     * @param path Path to the file.
+     * @param handler Handler of JSON content.
+     * @throws JsonParserException if fails.
+     * @throws IOException if file reading fails.
+     */
+    static public void parse(Path path, JsonHandler handler) throws JsonParserException, IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            handle(new MappedFileOrigin(channel), handler);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Parse only the values on projection paths, other values are skipped without building JSON elements.
+     * @param data String data.
+     * @param projection Paths to the parsed values.
+     * @return JsonElement element, or null if the root element is not on projection paths.
+     * @throws JsonParserException if fails.
+     */
+    static public JsonElement parse(String data, JsonProjection projection) throws JsonParserException {
+        return parseProjected(new StringOrigin(data), null, projection.getRoot());
+    }
+
+    /**
+     * Parse only the values on projection paths of origin data encoded in UTF-8,
+     * other values are skipped without building JSON elements.
+     * @param data Array of bytes.
+     * @param offset Index of the first byte of data.
+     * @param length Amount of bytes of data.
+     * @param projection Paths to the parsed values.
+     * @return JsonElement element, or null if the root element is not on projection paths.
+     * @throws JsonParserException if fails.
+     */
+    static public JsonElement parse(byte[] data, int offset, int length, JsonProjection projection)
+            throws JsonParserException {
+        return parseProjected(new Utf8Origin(data, offset, length), null, projection.getRoot());
+    }
+
+    /**
+     * Parse only the values on projection paths of origin data read from UTF-8 encoded input stream,
+     * other values are skipped without building JSON elements. The stream is not closed.
+     * @param input Input stream.
+     * @param projection Paths to the parsed values.
+     * @return JsonElement element, or null if the root element is not on projection paths.
+     * @throws JsonParserException if fails.
+     * @throws IOException if stream reading fails.
+     */
+    static public JsonElement parse(InputStream input, JsonProjection projection)
+            throws JsonParserException, IOException {
+        try {
+            return parseProjected(new InputStreamOrigin(input), null, projection.getRoot());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Parse only the values on projection paths of origin data read from a character stream,
+     * other values are skipped without building JSON elements. The reader is not closed.
+     * @param reader Reader.
+     * @param projection Paths to the parsed values.
+     * @return JsonElement element, or null if the root element is not on projection paths.
+     * @throws JsonParserException if fails.
+     * @throws IOException if reading fails.
+     */
+    static public JsonElement parse(Reader reader, JsonProjection projection)
+            throws JsonParserException, IOException {
+        try {
+            return parseProjected(new ReaderOrigin(reader), null, projection.getRoot());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Parse origin data calling the handler for its content.
+     * @param origin Origin data object.
+     * @param handler Handler of JSON content.
+     * @throws JsonParserException if fails.
+     */
+    static protected void handle(Origin origin, JsonHandler handler) throws JsonParserException {
+        JsonReader reader = new JsonReader(origin);
+        JsonToken token = reader.nextToken();
+        while (token != JsonToken.END_DOCUMENT) {
+            switch(token) {
+                case START_OBJECT:
+                    handler.startObject();
+                    break;
+                case END_OBJECT:
+                    handler.endObject();
+                    break;
+                case START_ARRAY:
+                    handler.startArray();
+                    break;
+                case END_ARRAY:
+                    handler.endArray();
+                    break;
+                case KEY:
+                    handler.key(reader.getText());
+                    break;
+                case STRING:
+                    handler.value(reader.getText());
+                    break;
+                case NUMBER:
+                    if (reader.isLong())
+                        handler.value(reader.getLong());
+                    else
+                        handler.value(reader.getDouble());
+                    break;
+                case BOOLEAN:
+                    handler.value(reader.getBoolean());
+                    break;
+                case NULL:
+                    handler.nullValue();
+                    break;
+            }
+            token = reader.nextToken();
+        }
+    }
+
+    /**
+     * Parse JSON element in origin data.
+     * Nested objects and arrays are parsed in a loop over a stack of containers instead of recursive calls.
+     * @param origin Origin data object.
+     * @param parent Parent JsonElement.
+     * @return JsonElement element.
+     * @throws JsonParserException if fails.
+     */
+    static protected JsonElement parse(Origin origin, JsonElement parent) throws JsonParserException{
+        char c = origin.getSkippingSpace();
+        if (origin.isWithoutParents())
+            parent = null;
+        if (c != '{' && c != '[')
+            return parseValue(origin, parent);
+
+        ContainerStack stack = origin.getStack();
+        int base = stack.size();
+        try {
+            JsonContainer root = startContainer(origin, stack, base, parent);
+            while(true) {
+                JsonContainer top = stack.peek();
+                JsonElement owner = origin.isWithoutParents() ? null : top;
+                boolean nested = stack.size() > base + 1;
+                int count = stack.count();
+                c = origin.getSkippingSpace();
+                JsonObject obj = top.toJsonObject();
+                if (obj != null) {
+                    if (c == 0)
+                        throw failure(root, nested, new InvalidJsonException());
+                    if (c == '}') {
+                        origin.next();
+                        obj.shareKeys(origin.getShapes());
+                        stack.pop();
+                        if (stack.size() == base)
+                            return root;
+                        continue;
+                    }
+                    if (count > 0) {
+                        if (c != ',')
+                            throw failure(root, nested, new InvalidJsonException());
+                        c = origin.nextSkippingSpace();
+                        if (c == 0)
+                            throw failure(root, nested, new InvalidJsonException());
+                    }
+                    String name = null;
+                    if (c == '\"') {
+                        origin.next();
+                        try {
+                            name = parseKey(origin);
+                        } catch (JsonParserException e) {
+                            throw failure(root, nested, e);
+                        }
+                    }
+                    else if (isLetter(c)) {
+                        StringBuilder sb = origin.getBuilder();
+                        do {
+                            sb.append(c);
+                            c = origin.next();
+                        } while(isLetter(c) || isDigit(c));
+                        name = toKey(origin, sb);
+                    }
+                    if (c == '}')
+                        continue;
+                    if (name == null)
+                        throw failure(root, nested, new InvalidJsonException());
+                    c = origin.getSkippingSpace();
+                    if (c != ':')
+                        throw failure(root, nested, new InvalidJsonException());
+                    c = origin.nextSkippingSpace();
+                    if (c == 0)
+                        throw failure(root, nested, new InvalidJsonException());
+                    stack.increment();
+                    if (c == '{' || c == '[') {
+                        obj.addElement(name, startContainer(origin, stack, base, owner));
+                        continue;
+                    }
+                    try {
+                        obj.addElement(name, parseValue(origin, owner));
+                    } catch (JsonParserException e) {
+                        throw failure(root, true, e);
+                    }
+                }
+                else {
+                    JsonArray arr = top.toJsonArray();
+                    if (c == ']') {
+                        origin.next();
+                        stack.pop();
+                        if (stack.size() == base)
+                            return root;
+                        continue;
+                    }
+                    if (c == 0)
+                        throw failure(root, nested, new ExpectedArrayException());
+                    if (count > 0) {
+                        if (c != ',')
+                            throw failure(root, nested, new InvalidJsonException());
+                        c = origin.nextSkippingSpace();
+                        if (c == 0)
+                            throw failure(root, nested, new ExpectedArrayException());
+                    }
+                    if (c == ']')
+                        continue;
+                    stack.increment();
+                    if (c == '{' || c == '[') {
+                        arr.addElement(startContainer(origin, stack, base, owner));
+                        continue;
+                    }
+                    try {
+                        parseElement(origin, arr, false);
+                    } catch (JsonParserException e) {
+                        throw failure(root, true, e);
+                    }
+                }
+            }
+        } finally {
+            stack.truncate(base);
+        }
+    }
+
+    /**
+     * Parse JSON object in origin data.
+     * @param origin Origin data object, the current char is the first one after the opening bracket.
+     * @param parent Parent JsonElement.
+     * @return JsonObject element.
+     * @throws JsonParserException if fails.
+     */
+    static protected JsonObject parseObject(Origin origin, JsonElement parent) throws JsonParserException {
+        JsonObject obj = new JsonObject(parent);
+        parseMembers(origin, obj, false);
+        return obj;
+    }
+
+    /**
+     * Parse JSON object in origin data.
+     * @param origin Origin data object, the current char is the first one after the opening bracket.
+     * @param parent Parent JsonElement.
+     * @return JsonObject element, or null if parsing fails.
+     */
+    static protected JsonObject parseObjectNoThrow(Origin origin, JsonElement parent) {
+        try {
+            return parseObject(origin, parent);
+        } catch (JsonParserException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Parse JSON array in origin data.
+     * @param origin Origin data object, the current char is the first one after the opening bracket.
+     * @param parent Parent JsonElement.
+     * @return JsonArray element.
+     * @throws JsonParserException if fails.
+     */
+    static protected JsonArray parseArray(Origin origin, JsonElement parent) throws JsonParserException {
+        JsonArray arr = new JsonArray(parent, origin.isWithoutParents());
+        parseElements(origin, arr, false);
+        return arr;
+    }
+
+    /**
+     * Parse JSON array in origin data.
+     * @param origin Origin data object, the current char is the first one after the opening bracket.
+     * @param parent Parent JsonElement.
+     * @return JsonArray element, or null if parsing fails.
+     */
+    static protected JsonArray parseArrayNoThrow(Origin origin, JsonElement parent) {
+        try {
+            return parseArray(origin, parent);
+        } catch (JsonParserException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Create object or array at the current position of origin data and push it to the stack of containers.
+     * @param origin Origin data object, the current char is the opening bracket.
+     * @param stack Stack of containers.
+     * @param base Size of the stack before the element being parsed.
+     * @param parent Parent JsonElement.
+     * @return JsonContainer element.
+     * @throws MaxDepthExceededException if the maximal depth of nesting is exceeded.
      */
-    static public JsonElement parse(String data) throws JsonParserException {
-        return parse(new Origin(data), null);
+    static protected JsonContainer startContainer(Origin origin, ContainerStack stack, int base, JsonElement parent)
+            throws MaxDepthExceededException {
+        if (stack.size() - base >= origin.getMaxDepth())
+            throw new MaxDepthExceededException();
+        JsonContainer container;
+        if (origin.get() == '{')
+            container = new JsonObject(parent);
+        else {
+            JsonArray arr = new JsonArray(parent, origin.isWithoutParents());
+            container = arr;
+        }
+        origin.next();
+        stack.push(container);
+        return container;
     }
 
     /**
-     * Parse origin data.
-     * @param data String data.
-     * @return JsonElement element.
+     * Get the exception thrown when parsing of an element fails.
+     * Failures inside nested elements are reported by the type of the outermost container.
+     * @param root Outermost container being parsed.
+     * @param nested TRUE if the failure is inside a nested element of the outermost container.
+     * @param e Exception of the failure.
+     * @return JsonParserException exception.
      */
-    static public JsonElement parseNoThrow(String data) {
-        return parseNoThrow(new Origin(data), null);
+    static protected JsonParserException failure(JsonContainer root, boolean nested, JsonParserException e) {
+        if (!nested || e instanceof MaxDepthExceededException)
+            return e;
+        if (root.toJsonObject() != null)
+            return new ExpectedJsonElementException();
+        return new ExpectedArrayException();
     }
 
     /**
-     * Parse JSON element in origin data.
+     * Parse JSON string, number or literal in origin data.
      * @param origin Origin data object.
      * @param parent Parent JsonElement.
      * @return JsonElement element.
      * @throws JsonParserException if fails.
      */
-    static protected JsonElement parse(Origin origin, JsonElement parent) throws JsonParserException{
-        char c = origin.getSkippingSpace();
+    static protected JsonElement parseValue(Origin origin, JsonElement parent) throws JsonParserException {
+        char c = origin.get();
 
         switch(c) {
             case 0:
                 throw new ExpectedJsonElementException();
-            case '{':
-                origin.next();
-                return parseObject(origin, parent);
-            case '[':
-                origin.next();
-                return parseArray(origin, parent);
             case '"': {
                 origin.next();
                 String value = parseString(origin);
@@ -188,18 +1165,18 @@ public class JsonParser {
         }
 
         if (isLetter(c)) {
-            StringBuilder b = new StringBuilder();
+            StringBuilder b = origin.getBuilder();
             do {
                 b.append(c);
                 c = origin.next();
             } while(isLetter(c));
-            switch(b.toString()) {
+            switch(toLiteral(b)) {
                 case "true":
-                    return new JsonBoolean(parent, true);
+                    return origin.isWithoutParents() ? JsonBoolean.TRUE : new JsonBoolean(parent, true);
                 case "false":
-                    return new JsonBoolean(parent, false);
+                    return origin.isWithoutParents() ? JsonBoolean.FALSE : new JsonBoolean(parent, false);
                 case "null":
-                    return new JsonNull(parent);
+                    return origin.isWithoutParents() ? JsonNull.NULL : new JsonNull(parent);
                 default:
                     throw new InvalidJsonException();
             }
@@ -208,24 +1185,198 @@ public class JsonParser {
         throw new ExpectedJsonElementException();
     }
 
+    /**
+     * Parse JSON element in origin data, but only check nested objects and arrays
+     * and load their elements on first access.
+     * @param origin Origin data object supporting {@link Origin#range}.
+     * @param parent Parent JsonElement.
+     * @return JsonElement element.
+     * @throws JsonParserException if fails.
+     */
+    static protected JsonElement parseLazy(Origin origin, JsonElement parent) throws JsonParserException {
+        char c = origin.getSkippingSpace();
+        if (c == '{' || c == '[') {
+            long start = origin.getIndex();
+            new JsonReader(origin).skipNextValue();
+            LazyLoader loader = new LazyLoader(origin, start, origin.getIndex());
+            if (c == '{')
+                return new JsonObject(parent, loader);
+            return new JsonArray(parent, loader);
+        }
+        return parse(origin, parent);
+    }
+
+    /**
+     * Parse JSON element in origin data, but only the values on projection paths.
+     * @param origin Origin data object.
+     * @param parent Parent JsonElement.
+     * @param node Node of projection paths for the element.
+     * @return JsonElement element, or null if the element is not on projection paths.
+     * @throws JsonParserException if fails.
+     */
+    static protected JsonElement parseProjected(Origin origin, JsonElement parent, JsonProjection.Node node)
+            throws JsonParserException {
+        if (node.isComplete())
+            return parse(origin, parent);
+        char c = origin.getSkippingSpace();
+        if (c == '{' && node.hasMembers()) {
+            origin.next();
+            JsonObject obj = new JsonObject(parent);
+            parseProjectedMembers(origin, obj, node);
+            return obj;
+        }
+        if (c == '[' && node.getElements() != null) {
+            origin.next();
+            JsonArray arr = new JsonArray(parent);
+            parseProjectedElements(origin, arr, node.getElements());
+            return arr;
+        }
+        skipValue(origin);
+        return null;
+    }
+
     /**
      * Parse JSON element in origin data.
+     * Nested objects and arrays are parsed in a loop over a stack of containers instead of recursive calls.
      * @param origin Origin data object.
      * @param parent Parent JsonElement.
-     * @return JsonElement element.
+     * @return JsonElement element, or null if parsing fails.
      */
     static protected JsonElement parseNoThrow(Origin origin, JsonElement parent) {
         char c = origin.getSkippingSpace();
+        if (origin.isWithoutParents())
+            parent = null;
+        if (c != '{' && c != '[')
+            return parseValueNoThrow(origin, parent);
+
+        ContainerStack stack = origin.getStack();
+        int base = stack.size();
+        try {
+            JsonContainer root = startContainerNoThrow(origin, stack, base, parent);
+            if (root == null)
+                return null;
+            while(true) {
+                JsonContainer top = stack.peek();
+                JsonElement owner = origin.isWithoutParents() ? null : top;
+                int count = stack.count();
+                c = origin.getSkippingSpace();
+                JsonObject obj = top.toJsonObject();
+                if (obj != null) {
+                    if (c == 0)
+                        return null;
+                    if (c == '}') {
+                        origin.next();
+                        obj.shareKeys(origin.getShapes());
+                        stack.pop();
+                        if (stack.size() == base)
+                            return root;
+                        continue;
+                    }
+                    if (count > 0) {
+                        if (c != ',')
+                            return null;
+                        c = origin.nextSkippingSpace();
+                        if (c == 0)
+                            return null;
+                    }
+                    String name = null;
+                    if (c == '\"') {
+                        origin.next();
+                        name = parseKeyNoThrow(origin);
+                    }
+                    else if (isLetter(c)) {
+                        StringBuilder sb = origin.getBuilder();
+                        do {
+                            sb.append(c);
+                            c = origin.next();
+                        } while(isLetter(c) || isDigit(c));
+                        name = toKey(origin, sb);
+                    }
+                    if (c == '}')
+                        continue;
+                    if (name == null)
+                        return null;
+                    c = origin.getSkippingSpace();
+                    if (c != ':')
+                        return null;
+                    c = origin.nextSkippingSpace();
+                    if (c == 0)
+                        return null;
+                    stack.increment();
+                    JsonElement element;
+                    if (c == '{' || c == '[')
+                        element = startContainerNoThrow(origin, stack, base, owner);
+                    else
+                        element = parseValueNoThrow(origin, owner);
+                    if (element == null)
+                        return null;
+                    obj.addElement(name, element);
+                }
+                else {
+                    JsonArray arr = top.toJsonArray();
+                    if (c == ']') {
+                        origin.next();
+                        stack.pop();
+                        if (stack.size() == base)
+                            return root;
+                        continue;
+                    }
+                    if (c == 0)
+                        return null;
+                    if (count > 0) {
+                        if (c != ',')
+                            return null;
+                        c = origin.nextSkippingSpace();
+                        if (c == 0)
+                            return null;
+                    }
+                    if (c == ']')
+                        continue;
+                    stack.increment();
+                    if (c == '{' || c == '[') {
+                        JsonContainer container = startContainerNoThrow(origin, stack, base, owner);
+                        if (container == null)
+                            return null;
+                        arr.addElement(container);
+                    }
+                    else if (!parseElementNoThrow(origin, arr))
+                        return null;
+                }
+            }
+        } finally {
+            stack.truncate(base);
+        }
+    }
+
+    /**
+     * Create object or array at the current position of origin data and push it to the stack of containers.
+     * @param origin Origin data object, the current char is the opening bracket.
+     * @param stack Stack of containers.
+     * @param base Size of the stack before the element being parsed.
+     * @param parent Parent JsonElement.
+     * @return JsonContainer element, or null if the maximal depth of nesting is exceeded.
+     */
+    static protected JsonContainer startContainerNoThrow(Origin origin, ContainerStack stack, int base,
+            JsonElement parent) {
+        try {
+            return startContainer(origin, stack, base, parent);
+        } catch (MaxDepthExceededException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Parse JSON string, number or literal in origin data.
+     * @param origin Origin data object.
+     * @param parent Parent JsonElement.
+     * @return JsonElement element, or null if parsing fails.
+     */
+    static protected JsonElement parseValueNoThrow(Origin origin, JsonElement parent) {
+        char c = origin.get();
 
         switch(c) {
             case 0:
                 return null;
-            case '{':
-                origin.next();
-                return parseObjectNoThrow(origin, parent);
-            case '[':
-                origin.next();
-                return parseArrayNoThrow(origin, parent);
             case '"': {
                 origin.next();
                 String value = parseStringNoThrow(origin);
@@ -243,18 +1394,18 @@ public class JsonParser {
         }
 
         if (isLetter(c)) {
-            StringBuilder b = new StringBuilder();
+            StringBuilder b = origin.getBuilder();
             do {
                 b.append(c);
                 c = origin.next();
             } while(isLetter(c));
-            switch(b.toString()) {
+            switch(toLiteral(b)) {
                 case "true":
-                    return new JsonBoolean(parent, true);
+                    return origin.isWithoutParents() ? JsonBoolean.TRUE : new JsonBoolean(parent, true);
                 case "false":
-                    return new JsonBoolean(parent, false);
+                    return origin.isWithoutParents() ? JsonBoolean.FALSE : new JsonBoolean(parent, false);
                 case "null":
-                    return new JsonNull(parent);
+                    return origin.isWithoutParents() ? JsonNull.NULL : new JsonNull(parent);
                 default:
                     return null;
             }
@@ -264,14 +1415,13 @@ public class JsonParser {
     }
 
     /**
-     * Parse JSON object in origin data.
+     * Parse members of JSON object in origin data and add them to the object.
      * @param origin Origin data object.
-     * @param parent Parent JsonElement.
-     * @return JsonObject element.
+     * @param obj JsonObject element.
+     * @param lazy TRUE if nested objects and arrays are loaded on first access.
      * @throws JsonParserException if fails.
      */
-    static protected JsonObject parseObject(Origin origin, JsonElement parent) throws JsonParserException {
-        JsonObject obj = new JsonObject(parent);
+    static protected void parseMembers(Origin origin, JsonObject obj, boolean lazy) throws JsonParserException {
         int count = 0;
 
         while(true) {
@@ -281,7 +1431,8 @@ public class JsonParser {
                 throw new InvalidJsonException();
             if (c == '}') {
                 origin.next();
-                return obj;
+                obj.shareKeys(origin.getShapes());
+                return;
             }
             if (count > 0) {
                 if (c != ',')
@@ -293,15 +1444,15 @@ public class JsonParser {
             String name = null;
             if (c == '\"') {
                 origin.next();
-                name = parseString(origin);
+                name = parseKey(origin);
             }
             else if (isLetter(c)) {
-                StringBuilder sb = new StringBuilder();
+                StringBuilder sb = origin.getBuilder();
                 do {
                     sb.append(c);
                     c = origin.next();
                 } while(isLetter(c) || isDigit(c));
-                name = sb.toString();
+                name = toKey(origin, sb);
             }
             if (c == '}')
                 continue;
@@ -314,7 +1465,7 @@ public class JsonParser {
             if (c == 0)
                 throw new InvalidJsonException();
             try {
-                JsonElement element = parse(origin, obj);
+                JsonElement element = lazy ? parseLazy(origin, obj) : parse(origin, obj);
                 obj.addElement(name, element);
             } catch (JsonParserException e) {
                 throw new ExpectedJsonElementException();
@@ -324,78 +1475,88 @@ public class JsonParser {
     }
 
     /**
-     * Parse JSON object in origin data.
+     * Parse members of JSON object in origin data which are on projection paths
+     * and add them to the object, other members are skipped.
      * @param origin Origin data object.
-     * @param parent Parent JsonElement.
-     * @return JsonObject element.
+     * @param obj JsonObject element.
+     * @param node Node of projection paths for the object.
+     * @throws JsonParserException if fails.
      */
-    static protected JsonObject parseObjectNoThrow(Origin origin, JsonElement parent) {
-        JsonObject obj = new JsonObject(parent);
+    static protected void parseProjectedMembers(Origin origin, JsonObject obj, JsonProjection.Node node)
+            throws JsonParserException {
         int count = 0;
 
         while(true) {
             char c = origin.getSkippingSpace();
 
             if (c == 0)
-                return null;
+                throw new InvalidJsonException();
             if (c == '}') {
                 origin.next();
-                return obj;
+                obj.shareKeys(origin.getShapes());
+                return;
             }
             if (count > 0) {
                 if (c != ',')
-                    return null;
+                    throw new InvalidJsonException();
                 c = origin.nextSkippingSpace();
                 if (c == 0)
-                    return null;
+                    throw new InvalidJsonException();
             }
             String name = null;
             if (c == '\"') {
                 origin.next();
-                name = parseStringNoThrow(origin);
+                name = parseKey(origin);
             }
             else if (isLetter(c)) {
-                StringBuilder sb = new StringBuilder();
+                StringBuilder sb = origin.getBuilder();
                 do {
                     sb.append(c);
                     c = origin.next();
                 } while(isLetter(c) || isDigit(c));
-                name = sb.toString();
+                name = toKey(origin, sb);
             }
             if (c == '}')
                 continue;
             if (name == null)
-                return null;
+                throw new InvalidJsonException();
             c = origin.getSkippingSpace();
             if (c != ':')
-                return null;
+                throw new InvalidJsonException();
             c = origin.nextSkippingSpace();
             if (c == 0)
-                return null;
-            JsonElement element = parseNoThrow(origin, obj);
-            if (element == null)
-                return null;
-            obj.addElement(name, element);
+                throw new InvalidJsonException();
+            JsonProjection.Node member = node.getMember(name);
+            try {
+                if (member == null)
+                    skipValue(origin);
+                else {
+                    JsonElement element = parseProjected(origin, obj, member);
+                    if (element != null)
+                        obj.addElement(name, element);
+                }
+            } catch (JsonParserException e) {
+                throw new ExpectedJsonElementException();
+            }
             count++;
         }
     }
 
     /**
-     * Parse JSON array in origin data.
+     * Parse elements of JSON array in origin data and add them to the array.
      * @param origin Origin data object.
-     * @param parent Parent JsonElement.
-     * @return JsonArray element.
+     * @param arr JsonArray element.
+     * @param lazy TRUE if nested objects and arrays are loaded on first access.
      * @throws JsonParserException if fails.
      */
-    static protected JsonArray parseArray(Origin origin, JsonElement parent) throws JsonParserException {
-        JsonArray arr = new JsonArray(parent);
+    static protected void parseElements(Origin origin, JsonArray arr, boolean lazy) throws JsonParserException {
         int count = 0;
 
         while(true) {
             char c = origin.getSkippingSpace();
             if (c == ']') {
                 origin.next();
-                return arr;
+                return;
             }
             if (c == 0)
                 throw new ExpectedArrayException();
@@ -409,8 +1570,7 @@ public class JsonParser {
             if (c == ']')
                 continue;
             try {
-                JsonElement element = parse(origin, arr);
-                arr.addElement(element);
+                parseElement(origin, arr, lazy);
             } catch (JsonParserException e) {
                 throw new ExpectedArrayException();
             }
@@ -419,36 +1579,125 @@ public class JsonParser {
     }
 
     /**
-     * Parse JSON array in origin data.
+     * Parse element of JSON array in origin data and add it to the array.
+     * Numbers and booleans are added as values, so arrays of them are kept packed.
      * @param origin Origin data object.
-     * @param parent Parent JsonElement.
-     * @return JsonArray element.
+     * @param arr JsonArray element.
+     * @param lazy TRUE if nested objects and arrays are loaded on first access.
+     * @throws JsonParserException if fails.
      */
-    static protected JsonArray parseArrayNoThrow(Origin origin, JsonElement parent) {
-        JsonArray arr = new JsonArray(parent);
+    static protected void parseElement(Origin origin, JsonArray arr, boolean lazy) throws JsonParserException {
+        char c = origin.get();
+        if ((c == '-' || isDigit(c)) && !origin.isExactNumbers()) {
+            boolean neg = c == '-';
+            if (neg && !isDigit(origin.next()))
+                throw new ExpectedJsonElementException();
+            NumberValue value = scanNumber(origin, neg);
+            if (value.isLong())
+                arr.addNumber(value.toLong());
+            else
+                arr.addNumber(value.toDouble());
+            return;
+        }
+        if (c == 't' || c == 'f') {
+            int value = scanBoolean(origin);
+            if (value < 0)
+                throw new InvalidJsonException();
+            arr.addBoolean(value > 0);
+            return;
+        }
+        arr.addElement(lazy ? parseLazy(origin, arr) : parse(origin, arr));
+    }
+
+    /**
+     * Parse element of JSON array in origin data and add it to the array.
+     * Numbers and booleans are added as values, so arrays of them are kept packed.
+     * @param origin Origin data object.
+     * @param arr JsonArray element.
+     * @return TRUE if the element is parsed.
+     */
+    static protected boolean parseElementNoThrow(Origin origin, JsonArray arr) {
+        char c = origin.get();
+        if ((c == '-' || isDigit(c)) && !origin.isExactNumbers()) {
+            try {
+                parseElement(origin, arr, false);
+                return true;
+            } catch (JsonParserException e) {
+                return false;
+            }
+        }
+        if (c == 't' || c == 'f') {
+            int value = scanBoolean(origin);
+            if (value < 0)
+                return false;
+            arr.addBoolean(value > 0);
+            return true;
+        }
+        JsonElement element = parseNoThrow(origin, arr);
+        if (element == null)
+            return false;
+        arr.addElement(element);
+        return true;
+    }
+
+    /**
+     * Scan JSON boolean literal in origin data without creating an element.
+     * @param origin Origin data object, the current char is the first letter of the literal.
+     * @return 1 for TRUE, 0 for FALSE, or -1 if the literal is not a boolean.
+     */
+    static protected int scanBoolean(Origin origin) {
+        StringBuilder b = origin.getBuilder();
+        char c = origin.get();
+        do {
+            b.append(c);
+            c = origin.next();
+        } while(isLetter(c));
+        switch(toLiteral(b)) {
+            case "true":
+                return 1;
+            case "false":
+                return 0;
+            default:
+                return -1;
+        }
+    }
+
+    /**
+     * Parse elements of JSON array in origin data, but only the values on projection paths,
+     * and add them to the array.
+     * @param origin Origin data object.
+     * @param arr JsonArray element.
+     * @param node Node of projection paths for the elements.
+     * @throws JsonParserException if fails.
+     */
+    static protected void parseProjectedElements(Origin origin, JsonArray arr, JsonProjection.Node node)
+            throws JsonParserException {
         int count = 0;
 
         while(true) {
             char c = origin.getSkippingSpace();
             if (c == ']') {
                 origin.next();
-                return arr;
+                return;
             }
             if (c == 0)
-                return null;
+                throw new ExpectedArrayException();
             if (count > 0) {
                 if (c != ',')
-                    return null;
+                    throw new InvalidJsonException();
                 c = origin.nextSkippingSpace();
                 if (c == 0)
-                    return null;
+                    throw new ExpectedArrayException();
             }
             if (c == ']')
                 continue;
-            JsonElement element = parseNoThrow(origin, arr);
-            if (element == null)
-                return null;
-            arr.addElement(element);
+            try {
+                JsonElement element = parseProjected(origin, arr, node);
+                if (element != null)
+                    arr.addElement(element);
+            } catch (JsonParserException e) {
+                throw new ExpectedArrayException();
+            }
             count++;
         }
     }
@@ -460,7 +1709,21 @@ public class JsonParser {
      * @throws ExpectedStringException if fails.
      */
     static protected String parseString(Origin origin) throws ExpectedStringException {
-        StringBuilder sb = new StringBuilder();
+        String value = origin.readPlainString(null);
+        if (value != null)
+            return value;
+        StringBuilder sb = origin.getBuilder();
+        readString(origin, sb);
+        return sb.toString();
+    }
+
+    /**
+     * Read JSON string in origin data.
+     * @param origin Origin data object.
+     * @param sb StringBuilder the string value is appended to.
+     * @throws ExpectedStringException if fails.
+     */
+    static protected void readString(Origin origin, StringBuilder sb) throws ExpectedStringException {
         char c = origin.get();
         while (c != '\"' && c != 0) {
             if (c == '\\') {
@@ -510,76 +1773,217 @@ public class JsonParser {
                 sb.append(c);
             c = origin.next();
         }
-        if (c == 0)
-            throw new ExpectedStringException();
-        origin.next();
-        return sb.toString();
+        if (c == 0)
+            throw new ExpectedStringException();
+        origin.next();
+    }
+
+    /**
+     * Parse JSON string in origin data.
+     * @param origin Origin data object.
+     * @return JsonString element.
+     */
+    static protected String parseStringNoThrow(Origin origin) {
+        String value = origin.readPlainString(null);
+        if (value != null)
+            return value;
+        StringBuilder sb = origin.getBuilder();
+        char c = origin.get();
+        while (c != '\"' && c != 0) {
+            if (c == '\\') {
+                c = origin.next();
+                switch(c) {
+                    case '"':
+                        sb.append('"');
+                        break;
+                    case '\\':
+                        sb.append('\\');
+                        break;
+                    case '/':
+                        sb.append('/');
+                        break;
+                    case 'b':
+                        sb.append('\b');
+                        break;
+                    case 'f':
+                        sb.append('\f');
+                        break;
+                    case 'n':
+                        sb.append('\n');
+                        break;
+                    case 'r':
+                        sb.append('\r');
+                        break;
+                    case 't':
+                        sb.append('\t');
+                        break;
+                    case 'u': {
+                        int h = 0;
+                        for (int i = 0; i < 4; i++) {
+                            c = origin.next();
+                            if (!isHexDigit(c))
+                                return null;
+                            h = (h << 4) | convertHexDigit(c);
+                        }
+                        c = (char)h;
+                        sb.append(c);
+                        break;
+                    }
+                    default:
+                        return null;
+                }
+            }
+            else
+                sb.append(c);
+            c = origin.next();
+        }
+        if (c == 0)
+            return null;
+        origin.next();
+        return sb.toString();
+    }
+
+    /**
+     * Parse JSON string of an object key in origin data, using the key cache of origin if it is set.
+     * @param origin Origin data object.
+     * @return String value.
+     * @throws ExpectedStringException if fails.
+     */
+    static protected String parseKey(Origin origin) throws ExpectedStringException {
+        String value = origin.readPlainString(origin.getKeys());
+        if (value != null)
+            return value;
+        StringBuilder sb = origin.getBuilder();
+        readString(origin, sb);
+        return toKey(origin, sb);
+    }
+
+    /**
+     * Parse JSON string of an object key in origin data, using the key cache of origin if it is set.
+     * @param origin Origin data object.
+     * @return String value, or null if parsing fails.
+     */
+    static protected String parseKeyNoThrow(Origin origin) {
+        KeyCache keys = origin.getKeys();
+        if (keys == null)
+            return parseStringNoThrow(origin);
+        String value = origin.readPlainString(keys);
+        if (value != null)
+            return value;
+        value = parseStringNoThrow(origin);
+        return value != null ? keys.intern(value) : null;
+    }
+
+    /**
+     * Create an object key of chars, using the key cache of origin if it is set.
+     * @param origin Origin data object.
+     * @param sb StringBuilder containing key chars.
+     * @return String value.
+     */
+    static protected String toKey(Origin origin, StringBuilder sb) {
+        KeyCache keys = origin.getKeys();
+        return keys != null ? keys.intern(sb) : sb.toString();
+    }
+
+    /**
+     * Get the literal name contained in chars without creating a new String.
+     * @param sb StringBuilder containing literal chars.
+     * @return "true", "false" or "null", or an empty string for other names.
+     */
+    static protected String toLiteral(StringBuilder sb) {
+        for (String literal : LITERALS) {
+            if (literal.contentEquals(sb))
+                return literal;
+        }
+        return "";
     }
 
     /**
-     * Parse JSON string in origin data.
+     * Skip JSON string in origin data checking its escape sequences.
      * @param origin Origin data object.
-     * @return JsonString element.
+     * @throws ExpectedStringException if fails.
      */
-    static protected String parseStringNoThrow(Origin origin) {
-        StringBuilder sb = new StringBuilder();
+    static protected void skipString(Origin origin) throws ExpectedStringException {
         char c = origin.get();
         while (c != '\"' && c != 0) {
             if (c == '\\') {
                 c = origin.next();
                 switch(c) {
                     case '"':
-                        sb.append('"');
-                        break;
                     case '\\':
-                        sb.append('\\');
-                        break;
                     case '/':
-                        sb.append('/');
-                        break;
                     case 'b':
-                        sb.append('\b');
-                        break;
                     case 'f':
-                        sb.append('\f');
-                        break;
                     case 'n':
-                        sb.append('\n');
-                        break;
                     case 'r':
-                        sb.append('\r');
-                        break;
                     case 't':
-                        sb.append('\t');
                         break;
-                    case 'u': {
-                        int h = 0;
+                    case 'u':
                         for (int i = 0; i < 4; i++) {
-                            c = origin.next();
-                            if (!isHexDigit(c))
-                                return null;
-                            h = (h << 4) | convertHexDigit(c);
+                            if (!isHexDigit(origin.next()))
+                                throw new ExpectedStringException();
                         }
-                        c = (char)h;
-                        sb.append(c);
                         break;
-                    }
                     default:
-                        return null;
+                        throw new ExpectedStringException();
                 }
             }
-            else
-                sb.append(c);
             c = origin.next();
         }
         if (c == 0)
-            return null;
+            throw new ExpectedStringException();
         origin.next();
-        return sb.toString();
+    }
+
+    /**
+     * Skip JSON element in origin data without building it. Brackets and quotes are counted,
+     * but the content of nested objects and arrays is not checked.
+     * @param origin Origin data object.
+     * @throws JsonParserException if fails.
+     */
+    static protected void skipValue(Origin origin) throws JsonParserException {
+        char c = origin.getSkippingSpace();
+        if (c == '{' || c == '[') {
+            int depth = 0;
+            do {
+                switch(c) {
+                    case 0:
+                        throw new ExpectedJsonElementException();
+                    case '{':
+                    case '[':
+                        depth++;
+                        break;
+                    case '}':
+                    case ']':
+                        depth--;
+                        break;
+                    case '"':
+                        origin.next();
+                        skipString(origin);
+                        c = origin.get();
+                        continue;
+                }
+                c = origin.next();
+            } while (depth > 0);
+            return;
+        }
+        if (c == '"') {
+            origin.next();
+            skipString(origin);
+            return;
+        }
+        if (c == '-')
+            c = origin.next();
+        if (!isDigit(c) && !isLetter(c))
+            throw new ExpectedJsonElementException();
+        do {
+            c = origin.next();
+        } while (isDigit(c) || isLetter(c) || c == '.' || c == '+' || c == '-');
     }
 
     /**
      * Parse JSON number in origin data.
+     * Integers which fit into a long value are stored as long values.
      * @param origin Origin data object.
      * @param parent Parent JsonElement.
      * @param neg TRUE if number is negative.
@@ -587,36 +1991,18 @@ public class JsonParser {
      * @throws ExpectedNumberException if fails.
      */
     static protected JsonNumber parseNumber(Origin origin, JsonElement parent, boolean neg) throws ExpectedNumberException {
-        boolean isSingleNumber = isSingleNumber(origin, neg);
-        StringBuilder sb = new StringBuilder();
-        char c = origin.get();
-        do {
-            sb.append(c);
-            c = origin.next();
-        } while(isDigit(c));
-        if (c == '.') {
-            sb.append(c);
-            c = origin.next();
-            if (isDigit(c)) {
-                do {
-                    sb.append(c);
-                    c = origin.next();
-                } while(isDigit(c));
-            }
-        }
-        c = origin.getSkippingSpace();
-        if (isSingleNumber) {
-            if (c != 0)
-                throw new ExpectedNumberException();
-        } else if (c != ',' && c != '}' && c != ']')
-            throw new ExpectedNumberException();
-        try {
-            double value = Double.parseDouble(sb.toString());
-            return new JsonNumber(parent, neg ? -value : value);
-        }
-        catch (NumberFormatException e) {
-            throw new ExpectedNumberException();
-        }
+        return scanNumber(origin, neg).create(parent, origin.isExactNumbers());
+    }
+
+    /**
+     * Read value of JSON number in origin data.
+     * @param origin Origin data object.
+     * @param neg TRUE if number is negative.
+     * @return Double value of number.
+     * @throws ExpectedNumberException if fails.
+     */
+    static protected double readNumber(Origin origin, boolean neg) throws ExpectedNumberException {
+        return scanNumber(origin, neg).toDouble();
     }
 
     /**
@@ -627,36 +2013,31 @@ public class JsonParser {
      * @return JsonNumber element.
      */
     static protected JsonNumber parseNumberNoThrow(Origin origin, JsonElement parent, boolean neg) {
-        boolean isSingleNumber = isSingleNumber(origin, neg);
-        StringBuilder sb = new StringBuilder();
-        char c = origin.get();
-        do {
-            sb.append(c);
-            c = origin.next();
-        } while(isDigit(c));
-        if (c == '.') {
-            sb.append(c);
-            c = origin.next();
-            if (isDigit(c)) {
-                do {
-                    sb.append(c);
-                    c = origin.next();
-                } while(isDigit(c));
-            }
+        try {
+            return scanNumber(origin, neg).create(parent, origin.isExactNumbers());
+        } catch (ExpectedNumberException e) {
+            return null;
         }
-        c = origin.getSkippingSpace();
+    }
+
+    /**
+     * Scan JSON number in origin data and check the char after it.
+     * @param origin Origin data object.
+     * @param neg TRUE if number is negative.
+     * @return Value of number, valid until the next number is scanned.
+     * @throws ExpectedNumberException if fails.
+     */
+    static protected NumberValue scanNumber(Origin origin, boolean neg) throws ExpectedNumberException {
+        boolean isSingleNumber = isSingleNumber(origin, neg);
+        NumberValue value = origin.getNumber();
+        value.scan(origin, neg);
+        char c = origin.getSkippingSpace();
         if (isSingleNumber) {
             if (c != 0)
-                return null;
+                throw new ExpectedNumberException();
         } else if (c != ',' && c != '}' && c != ']')
-            return null;
-        try {
-            double value = Double.parseDouble(sb.toString());
-            return new JsonNumber(parent, neg ? -value : value);
-        }
-        catch (NumberFormatException e) {
-            return null;
-        }
+            throw new ExpectedNumberException();
+        return value;
     }
 
     /**
@@ -666,7 +2047,7 @@ public class JsonParser {
      * @return TRUE if origin data is a single number.
      */
     static protected boolean isSingleNumber(Origin origin, boolean neg) {
-        int index = origin.getIndex();
+        long index = origin.getIndex();
         if (neg)
             return (index == 1);
         else
@@ -714,4 +2095,296 @@ public class JsonParser {
             return c - 'a' + 10;
         return -1;
     }
+
+    /**
+     * Reusable parser of String or UTF-8 encoded data keeping its options and scratch buffers between calls,
+     * so parsing of many small documents allocates little besides the parsed elements.
+     * Objects parsed by one session share their layouts, see {@link ObjectShapes}.
+     * A session is not thread-safe, it may be kept per thread.
+     */
+    static public final class Session {
+
+        /**
+         * Origin reused for String data, created on first use.
+         */
+        private StringOrigin stringOrigin;
+
+        /**
+         * Origin reused for UTF-8 encoded data, created on first use.
+         */
+        private Utf8Origin utf8Origin;
+
+        /**
+         * Cache of object keys, or null if keys are not cached.
+         */
+        private KeyCache keys;
+
+        /**
+         * Flag indicating that numbers are kept as exact BigDecimal values.
+         */
+        private boolean exactNumbers;
+
+        /**
+         * Flag indicating that elements are created without parent links.
+         */
+        private boolean withoutParents;
+
+        /**
+         * Maximal depth of nesting of objects and arrays.
+         */
+        private int maxDepth = DEFAULT_MAX_DEPTH;
+
+        /**
+         * Registry of shapes shared by parsed objects.
+         */
+        private ObjectShapes shapes = new ObjectShapes();
+
+        /**
+         * Get cache of object keys.
+         * @return KeyCache object or null if keys are not cached.
+         */
+        public KeyCache getKeys() {
+            return keys;
+        }
+
+        /**
+         * Set cache of object keys.
+         * @param keys KeyCache object or null if keys are not cached.
+         */
+        public void setKeys(KeyCache keys) {
+            this.keys = keys;
+        }
+
+        /**
+         * Check if numbers are kept as exact BigDecimal values.
+         * @return TRUE if numbers are exact.
+         */
+        public boolean isExactNumbers() {
+            return exactNumbers;
+        }
+
+        /**
+         * Set if numbers are kept as exact BigDecimal values.
+         * @param exactNumbers TRUE if numbers are exact.
+         */
+        public void setExactNumbers(boolean exactNumbers) {
+            this.exactNumbers = exactNumbers;
+        }
+
+        /**
+         * Check if elements are created without parent links.
+         * @return TRUE if elements have no parents.
+         */
+        public boolean isWithoutParents() {
+            return withoutParents;
+        }
+
+        /**
+         * Set if elements are created without parent links.
+         * @param withoutParents TRUE if elements have no parents.
+         */
+        public void setWithoutParents(boolean withoutParents) {
+            this.withoutParents = withoutParents;
+        }
+
+        /**
+         * Get maximal depth of nesting of objects and arrays.
+         * @return Maximal depth.
+         */
+        public int getMaxDepth() {
+            return maxDepth;
+        }
+
+        /**
+         * Set maximal depth of nesting of objects and arrays, deeper data fails to parse.
+         * @param maxDepth Maximal depth.
+         */
+        public void setMaxDepth(int maxDepth) {
+            this.maxDepth = maxDepth;
+        }
+
+        /**
+         * Get registry of shapes shared by parsed objects.
+         * @return ObjectShapes object.
+         */
+        public ObjectShapes getShapes() {
+            return shapes;
+        }
+
+        /**
+         * Set registry of shapes shared by parsed objects.
+         * @param shapes ObjectShapes object.
+         */
+        public void setShapes(ObjectShapes shapes) {
+            this.shapes = shapes;
+        }
+
+        /**
+         * Parse origin data.
+         * @param data String data.
+         * @return JsonElement element.
+         * @throws JsonParserException if fails.
+         */
+        public JsonElement parse(String data) throws JsonParserException {
+            return JsonParser.parse(prepare(data), null);
+        }
+
+        /**
+         * Parse origin data.
+         * @param data String data.
+         * @return JsonElement element, or null if parsing fails.
+         */
+        public JsonElement parseNoThrow(String data) {
+            return JsonParser.parseNoThrow(prepare(data), null);
+        }
+
+        /**
+         * Parse origin data encoded in UTF-8.
+         * @param data Array of bytes.
+         * @param offset Index of the first byte of data.
+         * @param length Amount of bytes of data.
+         * @return JsonElement element.
+         * @throws JsonParserException if fails.
+         */
+        public JsonElement parse(byte[] data, int offset, int length) throws JsonParserException {
+            return JsonParser.parse(prepare(data, offset, length), null);
+        }
+
+        /**
+         * Parse origin data encoded in UTF-8.
+         * @param data Array of bytes.
+         * @param offset Index of the first byte of data.
+         * @param length Amount of bytes of data.
+         * @return JsonElement element, or null if parsing fails.
+         */
+        public JsonElement parseNoThrow(byte[] data, int offset, int length) {
+            return JsonParser.parseNoThrow(prepare(data, offset, length), null);
+        }
+
+        /**
+         * Parse origin data read from UTF-8 encoded input stream. The stream is not closed.
+         * @param input Input stream.
+         * @return JsonElement element.
+         * @throws JsonParserException if fails.
+         * @throws IOException if stream reading fails.
+         */
+        public JsonElement parse(InputStream input) throws JsonParserException, IOException {
+            try {
+                return JsonParser.parse(configure(new InputStreamOrigin(input)), null);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+
+        /**
+         * Parse origin data read from UTF-8 encoded input stream. The stream is not closed.
+         * @param input Input stream.
+         * @return JsonElement element, or null if parsing or stream reading fails.
+         */
+        public JsonElement parseNoThrow(InputStream input) {
+            try {
+                return JsonParser.parseNoThrow(configure(new InputStreamOrigin(input)), null);
+            } catch (UncheckedIOException e) {
+                return null;
+            }
+        }
+
+        /**
+         * Parse origin data read from a character stream. The reader is not closed.
+         * @param reader Reader.
+         * @return JsonElement element.
+         * @throws JsonParserException if fails.
+         * @throws IOException if reading fails.
+         */
+        public JsonElement parse(Reader reader) throws JsonParserException, IOException {
+            try {
+                return JsonParser.parse(configure(new ReaderOrigin(reader)), null);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+
+        /**
+         * Parse origin data read from a character stream. The reader is not closed.
+         * @param reader Reader.
+         * @return JsonElement element, or null if parsing or reading fails.
+         */
+        public JsonElement parseNoThrow(Reader reader) {
+            try {
+                return JsonParser.parseNoThrow(configure(new ReaderOrigin(reader)), null);
+            } catch (UncheckedIOException e) {
+                return null;
+            }
+        }
+
+        /**
+         * Parse UTF-8 encoded file.
+         * @param path Path to the file.
+         * @return JsonElement element.
+         * @throws JsonParserException if fails.
+         * @throws IOException if file reading fails.
+         */
+        public JsonElement parse(Path path) throws JsonParserException, IOException {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                return JsonParser.parse(configure(new MappedFileOrigin(channel)), null);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+
+        /**
+         * Parse UTF-8 encoded file.
+         * @param path Path to the file.
+         * @return JsonElement element, or null if parsing or file reading fails.
+         */
+        public JsonElement parseNoThrow(Path path) {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                return JsonParser.parseNoThrow(configure(new MappedFileOrigin(channel)), null);
+            } catch (IOException | UncheckedIOException e) {
+                return null;
+            }
+        }
+
+        /**
+         * Get the reused origin of String data.
+         * @param data String data.
+         * @return Origin data object.
+         */
+        private Origin prepare(String data) {
+            if (stringOrigin == null)
+                stringOrigin = new StringOrigin(data);
+            else
+                stringOrigin.reset(data);
+            return configure(stringOrigin);
+        }
+
+        /**
+         * Get the reused origin of UTF-8 encoded data.
+         * @param data Array of bytes.
+         * @param offset Index of the first byte of data.
+         * @param length Amount of bytes of data.
+         * @return Origin data object.
+         */
+        private Origin prepare(byte[] data, int offset, int length) {
+            if (utf8Origin == null)
+                utf8Origin = new Utf8Origin(data, offset, length);
+            else
+                utf8Origin.reset(data, offset, length);
+            return configure(utf8Origin);
+        }
+
+        /**
+         * Apply the options of session to origin.
+         * @param origin Origin data object.
+         * @return The same origin data object.
+         */
+        private Origin configure(Origin origin) {
+            origin.setKeys(keys);
+            origin.setExactNumbers(exactNumbers);
+            origin.setWithoutParents(withoutParents);
+            origin.setMaxDepth(maxDepth);
+            origin.setShapes(shapes);
+            return origin;
+        }
+    }
 }
@@ -0,0 +1,149 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Polina Volkhontseva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.keepcalmandjson.parser;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Set of paths to the parts of JSON source that should be parsed, other values are skipped.
+ * A path consists of keys separated by dots, {@code [*]} stands for all the elements of an array,
+ * e.g. {@code user.id}, {@code items[*].price}, {@code [*].name}.
+ */
+public final class JsonProjection {
+
+    /**
+     * Node of the root element.
+     */
+    private final Node root;
+
+    /**
+     * Constructor.
+     * @param paths Paths to the parsed values.
+     * @throws IllegalArgumentException if some path is empty or malformed.
+     */
+    public JsonProjection(String... paths) {
+        root = new Node();
+        for (String path : paths)
+            add(path);
+    }
+
+    /**
+     * Get node of the root element.
+     * @return Node object.
+     */
+    Node getRoot() {
+        return root;
+    }
+
+    /**
+     * Add path to the tree of nodes.
+     * @param path Path to the parsed value.
+     * @throws IllegalArgumentException if the path is empty or malformed.
+     */
+    private void add(String path) {
+        if (path == null || path.isEmpty())
+            throw new IllegalArgumentException("Empty path");
+        Node node = root;
+        int i = 0;
+        int length = path.length();
+        while (i < length) {
+            if (path.startsWith("[*]", i)) {
+                if (node.elements == null)
+                    node.elements = new Node();
+                node = node.elements;
+                i += 3;
+            }
+            else {
+                if (i > 0) {
+                    if (path.charAt(i) != '.')
+                        throw new IllegalArgumentException("Malformed path: " + path);
+                    i++;
+                }
+                int end = i;
+                while (end < length && path.charAt(end) != '.' && path.charAt(end) != '[')
+                    end++;
+                if (end == i)
+                    throw new IllegalArgumentException("Malformed path: " + path);
+                node = node.members.computeIfAbsent(path.substring(i, end), key -> new Node());
+                i = end;
+            }
+        }
+        node.complete = true;
+    }
+
+    /**
+     * Node of the tree of paths.
+     */
+    static class Node {
+
+        /**
+         * Nodes of object members on paths.
+         */
+        private final Map<String, Node> members = new HashMap<>();
+
+        /**
+         * Node of array elements, or null if arrays are not on paths.
+         */
+        private Node elements;
+
+        /**
+         * Flag indicating that the whole value is parsed.
+         */
+        private boolean complete;
+
+        /**
+         * Check if the whole value is parsed.
+         * @return TRUE if the value is at the end of some path.
+         */
+        boolean isComplete() {
+            return complete;
+        }
+
+        /**
+         * Get node of an object member.
+         * @param key Key of the member.
+         * @return Node object or null if the member is not on paths.
+         */
+        Node getMember(String key) {
+            return members.get(key);
+        }
+
+        /**
+         * Check if some object members are on paths.
+         * @return TRUE if there are members on paths.
+         */
+        boolean hasMembers() {
+            return !members.isEmpty();
+        }
+
+        /**
+         * Get node of array elements.
+         * @return Node object or null if array elements are not on paths.
+         */
+        Node getElements() {
+            return elements;
+        }
+    }
+}
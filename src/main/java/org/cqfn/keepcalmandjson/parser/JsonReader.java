@@ -0,0 +1,498 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Polina Volkhontseva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.keepcalmandjson.parser;
+
+import org.cqfn.keepcalmandjson.parser.JsonParser.Origin;
+import org.cqfn.keepcalmandjson.parser.exceptions.*;
+
+import java.io.InputStream;
+import java.io.Reader;
+
+/**
+ * Pull reader of JSON source returning its content token by token,
+ * without building JSON elements.
+ * The reader follows the same lexical rules as {@link JsonParser},
+ * i.e. unquoted keys and trailing commas are allowed.
+ */
+public class JsonReader {
+
+    /**
+     * Initial capacity of the stack of containers.
+     */
+    static private final int STACK_SIZE = 16;
+
+    /**
+     * Origin data.
+     */
+    private final Origin origin;
+
+    /**
+     * Flags of the stack of containers, TRUE for an object and FALSE for an array.
+     */
+    private boolean[] objects;
+
+    /**
+     * Amounts of elements read in the containers of the stack.
+     */
+    private int[] counts;
+
+    /**
+     * Amount of containers the reader is inside.
+     */
+    private int depth;
+
+    /**
+     * Flag indicating that a key has been read and its value is the next.
+     */
+    private boolean afterKey;
+
+    /**
+     * Flag indicating that the first token has been read.
+     */
+    private boolean started;
+
+    /**
+     * Flag indicating that values are checked only, without keeping them.
+     */
+    private boolean skipping;
+
+    /**
+     * Last token.
+     */
+    private JsonToken token;
+
+    /**
+     * Value of the last key or string token, or null if it is not created yet.
+     */
+    private String string;
+
+    /**
+     * Value of the last number token.
+     */
+    private double number;
+
+    /**
+     * Long value of the last number token if it is an integer which fits into a long value.
+     */
+    private long longNumber;
+
+    /**
+     * Flag indicating that the last number token has a long value.
+     */
+    private boolean longInteger;
+
+    /**
+     * Value of the last boolean token.
+     */
+    private boolean bool;
+
+    /**
+     * Buffer containing text of the last key, string or literal token.
+     */
+    private final StringBuilder text;
+
+    /**
+     * Constructor.
+     * @param data String data.
+     */
+    public JsonReader(String data) {
+        this(new StringOrigin(data));
+    }
+
+    /**
+     * Constructor.
+     * @param data Array of UTF-8 encoded bytes.
+     * @param offset Index of the first byte of data.
+     * @param length Amount of bytes of data.
+     */
+    public JsonReader(byte[] data, int offset, int length) {
+        this(new Utf8Origin(data, offset, length));
+    }
+
+    /**
+     * Constructor.
+     * Reading errors of the stream are thrown as {@link java.io.UncheckedIOException}.
+     * @param input UTF-8 encoded input stream.
+     */
+    public JsonReader(InputStream input) {
+        this(new InputStreamOrigin(input));
+    }
+
+    /**
+     * Constructor.
+     * Reading errors are thrown as {@link java.io.UncheckedIOException}.
+     * @param reader Reader.
+     */
+    public JsonReader(Reader reader) {
+        this(new ReaderOrigin(reader));
+    }
+
+    /**
+     * Constructor.
+     * @param origin Origin data object.
+     */
+    JsonReader(Origin origin) {
+        this.origin = origin;
+        objects = new boolean[STACK_SIZE];
+        counts = new int[STACK_SIZE];
+        text = new StringBuilder();
+    }
+
+    /**
+     * Read next token.
+     * @return Token, {@link JsonToken#END_DOCUMENT} after the root element is read.
+     * @throws JsonParserException if fails.
+     */
+    public JsonToken nextToken() throws JsonParserException {
+        token = readToken();
+        return token;
+    }
+
+    /**
+     * Skip the current value.
+     * If the last token is a key, its value is skipped. If the last token is a beginning
+     * of an object or an array, the rest of the container is skipped including its end.
+     * Skipped values are checked, but no strings are created for them.
+     * @throws JsonParserException if fails.
+     */
+    public void skipValue() throws JsonParserException {
+        int target;
+        if (token == JsonToken.KEY)
+            target = depth;
+        else if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY)
+            target = depth - 1;
+        else
+            return;
+        skipping = true;
+        try {
+            do {
+                token = readToken();
+            } while (depth > target);
+        } finally {
+            skipping = false;
+            text.setLength(0);
+            string = null;
+        }
+    }
+
+    /**
+     * Skip the next value of origin data.
+     * @throws JsonParserException if fails.
+     */
+    void skipNextValue() throws JsonParserException {
+        skipping = true;
+        try {
+            do {
+                token = readToken();
+            } while (depth > 0);
+        } finally {
+            skipping = false;
+            text.setLength(0);
+            string = null;
+        }
+    }
+
+    /**
+     * Get the last token.
+     * @return Token or null if no token is read.
+     */
+    public JsonToken getToken() {
+        return token;
+    }
+
+    /**
+     * Get amount of containers the reader is inside.
+     * @return Depth, 1 after the root object or array is started.
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Get value of the last key or string token.
+     * @return String value or null if the last token is not a key or a string.
+     */
+    public String getString() {
+        if (token != JsonToken.KEY && token != JsonToken.STRING)
+            return null;
+        if (string == null)
+            string = text.toString();
+        return string;
+    }
+
+    /**
+     * Get text of the last key or string token without creating a String.
+     * The content is valid until the next token is read.
+     * @return Text or null if the last token is not a key or a string.
+     */
+    public CharSequence getText() {
+        return token == JsonToken.KEY || token == JsonToken.STRING ? text : null;
+    }
+
+    /**
+     * Get value of the last number token.
+     * @return Double value or 0 if the last token is not a number.
+     */
+    public double getDouble() {
+        return token == JsonToken.NUMBER ? number : 0;
+    }
+
+    /**
+     * Get value of the last number token.
+     * @return Long value or 0 if the last token is not a number with long value.
+     */
+    public long getLong() {
+        if (token != JsonToken.NUMBER)
+            return 0;
+        if (longInteger)
+            return longNumber;
+        long longValue = (long)number;
+        return longValue == number ? longValue : 0;
+    }
+
+    /**
+     * Check if the last number token is an integer which fits into a long value,
+     * so {@link #getLong()} returns it exactly.
+     * @return TRUE if the last token is a number with long value.
+     */
+    public boolean isLong() {
+        return token == JsonToken.NUMBER && longInteger;
+    }
+
+    /**
+     * Get value of the last boolean token.
+     * @return Boolean value or FALSE if the last token is not a boolean.
+     */
+    public boolean getBoolean() {
+        return token == JsonToken.BOOLEAN && bool;
+    }
+
+    /**
+     * Read next token.
+     * @return Token.
+     * @throws JsonParserException if fails.
+     */
+    private JsonToken readToken() throws JsonParserException {
+        string = null;
+        if (depth == 0) {
+            if (started)
+                return JsonToken.END_DOCUMENT;
+            started = true;
+            return readValue();
+        }
+        if (afterKey) {
+            afterKey = false;
+            return readValue();
+        }
+        if (objects[depth - 1])
+            return readMember();
+        return readArrayElement();
+    }
+
+    /**
+     * Read next key of object or the object end.
+     * @return Token.
+     * @throws JsonParserException if fails.
+     */
+    private JsonToken readMember() throws JsonParserException {
+        char c = origin.getSkippingSpace();
+        if (c == 0)
+            throw new InvalidJsonException();
+        if (c == '}')
+            return end();
+        if (counts[depth - 1] > 0) {
+            if (c != ',')
+                throw new InvalidJsonException();
+            c = origin.nextSkippingSpace();
+            if (c == 0)
+                throw new InvalidJsonException();
+        }
+        boolean named = false;
+        if (c == '\"') {
+            origin.next();
+            readString();
+            named = true;
+        }
+        else if (JsonParser.isLetter(c)) {
+            text.setLength(0);
+            do {
+                text.append(c);
+                c = origin.next();
+            } while(JsonParser.isLetter(c) || JsonParser.isDigit(c));
+            named = true;
+        }
+        if (c == '}')
+            return end();
+        if (!named)
+            throw new InvalidJsonException();
+        c = origin.getSkippingSpace();
+        if (c != ':')
+            throw new InvalidJsonException();
+        c = origin.nextSkippingSpace();
+        if (c == 0)
+            throw new InvalidJsonException();
+        counts[depth - 1]++;
+        afterKey = true;
+        return JsonToken.KEY;
+    }
+
+    /**
+     * Read next element of array or the array end.
+     * @return Token.
+     * @throws JsonParserException if fails.
+     */
+    private JsonToken readArrayElement() throws JsonParserException {
+        char c = origin.getSkippingSpace();
+        if (c == ']')
+            return end();
+        if (c == 0)
+            throw new ExpectedArrayException();
+        if (counts[depth - 1] > 0) {
+            if (c != ',')
+                throw new InvalidJsonException();
+            c = origin.nextSkippingSpace();
+            if (c == 0)
+                throw new ExpectedArrayException();
+        }
+        if (c == ']')
+            return end();
+        counts[depth - 1]++;
+        return readValue();
+    }
+
+    /**
+     * Read value.
+     * @return Token.
+     * @throws JsonParserException if fails.
+     */
+    private JsonToken readValue() throws JsonParserException {
+        char c = origin.getSkippingSpace();
+
+        switch(c) {
+            case 0:
+                throw new ExpectedJsonElementException();
+            case '{':
+                origin.next();
+                start(true);
+                return JsonToken.START_OBJECT;
+            case '[':
+                origin.next();
+                start(false);
+                return JsonToken.START_ARRAY;
+            case '"':
+                origin.next();
+                readString();
+                return JsonToken.STRING;
+            case '-':
+                c = origin.next();
+                if (JsonParser.isDigit(c)) {
+                    readNumber(true);
+                    return JsonToken.NUMBER;
+                }
+                break;
+        }
+
+        if (JsonParser.isDigit(c)) {
+            readNumber(false);
+            return JsonToken.NUMBER;
+        }
+
+        if (JsonParser.isLetter(c)) {
+            text.setLength(0);
+            do {
+                text.append(c);
+                c = origin.next();
+            } while(JsonParser.isLetter(c));
+            if ("true".contentEquals(text)) {
+                bool = true;
+                return JsonToken.BOOLEAN;
+            }
+            if ("false".contentEquals(text)) {
+                bool = false;
+                return JsonToken.BOOLEAN;
+            }
+            if ("null".contentEquals(text))
+                return JsonToken.NULL;
+            throw new InvalidJsonException();
+        }
+
+        throw new ExpectedJsonElementException();
+    }
+
+    /**
+     * Read JSON string into the text buffer, or only check it while skipping.
+     * @throws JsonParserException if fails.
+     */
+    private void readString() throws JsonParserException {
+        text.setLength(0);
+        if (skipping)
+            JsonParser.skipString(origin);
+        else if (!origin.appendPlainString(text))
+            JsonParser.readString(origin, text);
+    }
+
+    /**
+     * Read value of the number token, keeping integers which fit into a long value exactly.
+     * @param neg TRUE if number is negative.
+     * @throws ExpectedNumberException if fails.
+     */
+    private void readNumber(boolean neg) throws ExpectedNumberException {
+        NumberValue value = JsonParser.scanNumber(origin, neg);
+        longInteger = value.isLong();
+        if (longInteger) {
+            longNumber = value.toLong();
+            number = longNumber;
+        }
+        else
+            number = value.toDouble();
+    }
+
+    /**
+     * Push a container to the stack.
+     * @param object TRUE if the container is an object.
+     */
+    private void start(boolean object) {
+        if (depth == objects.length) {
+            boolean[] newObjects = new boolean[depth * 2];
+            System.arraycopy(objects, 0, newObjects, 0, depth);
+            objects = newObjects;
+            int[] newCounts = new int[depth * 2];
+            System.arraycopy(counts, 0, newCounts, 0, depth);
+            counts = newCounts;
+        }
+        objects[depth] = object;
+        counts[depth] = 0;
+        depth++;
+    }
+
+    /**
+     * Pop the current container from the stack.
+     * @return Token of the container end.
+     */
+    private JsonToken end() {
+        origin.next();
+        depth--;
+        return objects[depth] ? JsonToken.END_OBJECT : JsonToken.END_ARRAY;
+    }
+}
@@ -0,0 +1,418 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Polina Volkhontseva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.keepcalmandjson.parser;
+
+import org.cqfn.keepcalmandjson.parser.exceptions.JsonParserException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read-only JSON document stored as a flat tape of long values instead of a graph of JSON elements.
+ * Each entry keeps its type in the highest byte and a payload in the rest:
+ * <ul>
+ *     <li>beginning of an object or an array keeps the amount of its elements and
+ *     the tape index after its end, so a container is skipped at once;</li>
+ *     <li>end of an object or an array keeps the tape index of its beginning;</li>
+ *     <li>key or string keeps its index in the table of strings;</li>
+ *     <li>number is followed by an entry containing bits of its double value;</li>
+ *     <li>integer number fitting into a long value is followed by an entry containing the long value.</li>
+ * </ul>
+ * Object members are stored as a key entry followed by the value entries.
+ * Tape indexes of container elements are collected on the first access by position and kept for later ones.
+ */
+public final class JsonTape {
+
+    /**
+     * Type of the beginning of an object.
+     */
+    static final int START_OBJECT = '{';
+
+    /**
+     * Type of the end of an object.
+     */
+    static final int END_OBJECT = '}';
+
+    /**
+     * Type of the beginning of an array.
+     */
+    static final int START_ARRAY = '[';
+
+    /**
+     * Type of the end of an array.
+     */
+    static final int END_ARRAY = ']';
+
+    /**
+     * Type of a key or a string.
+     */
+    static final int STRING = '"';
+
+    /**
+     * Type of a number.
+     */
+    static final int NUMBER = 'd';
+
+    /**
+     * Type of a number which is an integer fitting into a long value.
+     */
+    static final int LONG = 'l';
+
+    /**
+     * Type of TRUE value.
+     */
+    static final int TRUE = 't';
+
+    /**
+     * Type of FALSE value.
+     */
+    static final int FALSE = 'f';
+
+    /**
+     * Type of null value.
+     */
+    static final int NULL = 'n';
+
+    /**
+     * Maximum amount of elements kept in the beginning of a container.
+     */
+    static private final int MAX_COUNT = 0xFFFFFF;
+
+    /**
+     * Tape entries.
+     */
+    private long[] tape;
+
+    /**
+     * Amount of tape entries.
+     */
+    private int size;
+
+    /**
+     * Table of strings.
+     */
+    private String[] strings;
+
+    /**
+     * Amount of strings.
+     */
+    private int stringCount;
+
+    /**
+     * Tape indexes of container elements by tape indexes of container beginnings.
+     */
+    private final Map<Integer, int[]> elements = new ConcurrentHashMap<>();
+
+    /**
+     * Constructor.
+     */
+    private JsonTape() {
+        tape = new long[64];
+        strings = new String[16];
+    }
+
+    /**
+     * Parse origin data into a tape.
+     * @param data String data.
+     * @return JsonTape document.
+     * @throws JsonParserException if fails.
+     */
+    static public JsonTape parse(String data) throws JsonParserException {
+        return build(new JsonReader(data));
+    }
+
+    /**
+     * Parse origin data encoded in UTF-8 into a tape.
+     * @param data Array of bytes.
+     * @param offset Index of the first byte of data.
+     * @param length Amount of bytes of data.
+     * @return JsonTape document.
+     * @throws JsonParserException if fails.
+     */
+    static public JsonTape parse(byte[] data, int offset, int length) throws JsonParserException {
+        return build(new JsonReader(data, offset, length));
+    }
+
+    /**
+     * Parse origin data read from UTF-8 encoded input stream into a tape. The stream is not closed.
+     * @param input Input stream.
+     * @return JsonTape document.
+     * @throws JsonParserException if fails.
+     * @throws IOException if stream reading fails.
+     */
+    static public JsonTape parse(InputStream input) throws JsonParserException, IOException {
+        try {
+            return build(new JsonReader(input));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Parse origin data read from a character stream into a tape. The reader is not closed.
+     * @param reader Reader.
+     * @return JsonTape document.
+     * @throws JsonParserException if fails.
+     * @throws IOException if reading fails.
+     */
+    static public JsonTape parse(Reader reader) throws JsonParserException, IOException {
+        try {
+            return build(new JsonReader(reader));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Get the root element of the document.
+     * @return Read-only view of the root element.
+     */
+    public JsonTapeElement getRoot() {
+        return new JsonTapeElement(null, this, 0);
+    }
+
+    /**
+     * Get amount of tape entries.
+     * @return Amount of entries.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Write tokens of the reader to a new tape.
+     * @param reader JsonReader object.
+     * @return JsonTape document.
+     * @throws JsonParserException if fails.
+     */
+    static private JsonTape build(JsonReader reader) throws JsonParserException {
+        JsonTape doc = new JsonTape();
+        int[] starts = new int[16];
+        int[] counts = new int[16];
+        int depth = 0;
+        JsonToken token = reader.nextToken();
+        while (token != JsonToken.END_DOCUMENT) {
+            if (token == JsonToken.KEY)
+                counts[depth - 1]++;
+            else if (depth > 0 && token != JsonToken.END_OBJECT && token != JsonToken.END_ARRAY
+                    && doc.type(starts[depth - 1]) == START_ARRAY)
+                counts[depth - 1]++;
+            switch(token) {
+                case START_OBJECT:
+                case START_ARRAY:
+                    if (depth == starts.length) {
+                        int[] newStarts = new int[depth * 2];
+                        System.arraycopy(starts, 0, newStarts, 0, depth);
+                        starts = newStarts;
+                        int[] newCounts = new int[depth * 2];
+                        System.arraycopy(counts, 0, newCounts, 0, depth);
+                        counts = newCounts;
+                    }
+                    starts[depth] = doc.size;
+                    counts[depth] = 0;
+                    depth++;
+                    doc.append(token == JsonToken.START_OBJECT ? START_OBJECT : START_ARRAY, 0);
+                    break;
+                case END_OBJECT:
+                case END_ARRAY: {
+                    depth--;
+                    int start = starts[depth];
+                    long count = Math.min(counts[depth], MAX_COUNT);
+                    doc.append(token == JsonToken.END_OBJECT ? END_OBJECT : END_ARRAY, start);
+                    doc.tape[start] |= (count << 32) | doc.size;
+                    break;
+                }
+                case KEY:
+                case STRING:
+                    doc.append(STRING, doc.addString(reader.getString()));
+                    break;
+                case NUMBER:
+                    if (reader.isLong()) {
+                        doc.append(LONG, 0);
+                        doc.append(reader.getLong());
+                    }
+                    else {
+                        doc.append(NUMBER, 0);
+                        doc.append(Double.doubleToRawLongBits(reader.getDouble()));
+                    }
+                    break;
+                case BOOLEAN:
+                    doc.append(reader.getBoolean() ? TRUE : FALSE, 0);
+                    break;
+                case NULL:
+                    doc.append(NULL, 0);
+                    break;
+            }
+            token = reader.nextToken();
+        }
+        return doc;
+    }
+
+    /**
+     * Append an entry to the tape.
+     * @param type Type of entry.
+     * @param payload Payload of entry.
+     */
+    private void append(int type, long payload) {
+        append(((long)type << 56) | payload);
+    }
+
+    /**
+     * Append an entry to the tape.
+     * @param entry Value of entry.
+     */
+    private void append(long entry) {
+        if (size == tape.length) {
+            long[] newTape = new long[size * 2];
+            System.arraycopy(tape, 0, newTape, 0, size);
+            tape = newTape;
+        }
+        tape[size++] = entry;
+    }
+
+    /**
+     * Add a string to the table of strings.
+     * @param value String value.
+     * @return Index of the string.
+     */
+    private int addString(String value) {
+        if (stringCount == strings.length) {
+            String[] newStrings = new String[stringCount * 2];
+            System.arraycopy(strings, 0, newStrings, 0, stringCount);
+            strings = newStrings;
+        }
+        strings[stringCount] = value;
+        return stringCount++;
+    }
+
+    /**
+     * Get type of the entry.
+     * @param index Tape index.
+     * @return Type of entry.
+     */
+    int type(int index) {
+        return (int)(tape[index] >>> 56);
+    }
+
+    /**
+     * Get tape index after the element.
+     * @param index Tape index of the element.
+     * @return Tape index of the next element.
+     */
+    int next(int index) {
+        switch(type(index)) {
+            case START_OBJECT:
+            case START_ARRAY:
+                return (int)tape[index];
+            case NUMBER:
+            case LONG:
+                return index + 2;
+            default:
+                return index + 1;
+        }
+    }
+
+    /**
+     * Get amount of container elements.
+     * @param index Tape index of the container beginning.
+     * @return Amount of elements.
+     */
+    int count(int index) {
+        int count = (int)((tape[index] >>> 32) & MAX_COUNT);
+        if (count < MAX_COUNT)
+            return count;
+        count = 0;
+        boolean object = type(index) == START_OBJECT;
+        for (int i = index + 1, end = next(index) - 1; i < end; i = next(i)) {
+            if (object)
+                i++;
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Get tape indexes of container elements, of values for an object.
+     * @param index Tape index of the container beginning.
+     * @return Array of tape indexes in the stored order.
+     */
+    int[] elements(int index) {
+        int[] result = elements.get(index);
+        if (result == null) {
+            result = collect(index);
+            elements.put(index, result);
+        }
+        return result;
+    }
+
+    /**
+     * Collect tape indexes of container elements.
+     * @param index Tape index of the container beginning.
+     * @return Array of tape indexes in the stored order.
+     */
+    private int[] collect(int index) {
+        int[] result = new int[count(index)];
+        boolean object = type(index) == START_OBJECT;
+        int k = 0;
+        for (int i = index + 1, end = next(index) - 1; i < end; i = next(i)) {
+            if (object)
+                i++;
+            result[k++] = i;
+        }
+        return result;
+    }
+
+    /**
+     * Get string value of the entry.
+     * @param index Tape index of a key or a string.
+     * @return String value.
+     */
+    String string(int index) {
+        return strings[(int)(tape[index] & 0xFFFFFFFFL)];
+    }
+
+    /**
+     * Get number value of the entry.
+     * @param index Tape index of a number.
+     * @return Double value.
+     */
+    double number(int index) {
+        if (type(index) == LONG)
+            return tape[index + 1];
+        return Double.longBitsToDouble(tape[index + 1]);
+    }
+
+    /**
+     * Get long value of the entry.
+     * @param index Tape index of a number with long value.
+     * @return Long value.
+     */
+    long longNumber(int index) {
+        return tape[index + 1];
+    }
+}
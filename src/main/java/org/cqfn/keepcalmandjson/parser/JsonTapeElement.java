@@ -0,0 +1,588 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Polina Volkhontseva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.keepcalmandjson.parser;
+
+import org.cqfn.keepcalmandjson.types.*;
+
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.LinkedHashMap;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+import java.util.function.IntFunction;
+
+/**
+ * Read-only view of an element stored in {@link JsonTape}.
+ * Values are read directly from the tape, regular JSON elements are created only
+ * by {@link #toJsonElement()}, {@link #toJsonObject()} and {@link #toJsonArray()}.
+ */
+public final class JsonTapeElement extends JsonElement {
+
+    /**
+     * Initial capacity of the stack of containers being created or converted to a string format.
+     */
+    static private final int STACK_SIZE = 16;
+
+    /**
+     * Document containing the element.
+     */
+    private final JsonTape tape;
+
+    /**
+     * Tape index of the element.
+     */
+    private final int index;
+
+    /**
+     * Constructor.
+     * @param parent Parent JsonElement.
+     * @param tape Document containing the element.
+     * @param index Tape index of the element.
+     */
+    JsonTapeElement(JsonElement parent, JsonTape tape, int index) {
+        super(parent);
+        this.tape = tape;
+        this.index = index;
+    }
+
+    /**
+     * Check if the element is an object.
+     * @return TRUE if the element is an object.
+     */
+    public boolean isObject() {
+        return tape.type(index) == JsonTape.START_OBJECT;
+    }
+
+    /**
+     * Check if the element is an array.
+     * @return TRUE if the element is an array.
+     */
+    public boolean isArray() {
+        return tape.type(index) == JsonTape.START_ARRAY;
+    }
+
+    /**
+     * Get an amount of object or array elements.
+     * @return Int value of elements amount, or 0 if the element is not a container.
+     */
+    public int size() {
+        return isObject() || isArray() ? tape.count(index) : 0;
+    }
+
+    /**
+     * Check if object contains a specified key.
+     * @param key String value of a key.
+     * @return TRUE if the element is an object containing a specified key.
+     */
+    public boolean containsKey(String key) {
+        return find(key) >= 0;
+    }
+
+    /**
+     * Get object element by a specified key.
+     * @param key String value of a key.
+     * @return View of the element with the specified key, or null if there is no such key.
+     */
+    public JsonTapeElement getElementByKey(String key) {
+        int found = find(key);
+        return found >= 0 ? new JsonTapeElement(this, tape, found) : null;
+    }
+
+    /**
+     * Get array element at the specified position.
+     * @param position Index of the element.
+     * @return View of the element at the position.
+     * @throws IndexOutOfBoundsException if the element is not an array or has no such position.
+     */
+    public JsonTapeElement getElementAt(int position) {
+        if (!isArray())
+            throw new IndexOutOfBoundsException();
+        int[] elements = tape.elements(index);
+        if (position < 0 || position >= elements.length)
+            throw new IndexOutOfBoundsException();
+        return new JsonTapeElement(this, tape, elements[position]);
+    }
+
+    /**
+     * Get an iterator over elements of an array or values of an object in the stored order.
+     * @return Iterator of element views, empty if the element is not a container.
+     */
+    public Iterator<JsonTapeElement> elementIterator() {
+        return new ChildIterator<>(i -> new JsonTapeElement(this, tape, isObject() ? i + 1 : i));
+    }
+
+    /**
+     * Get an iterator over object keys in the stored order, repeated keys included.
+     * @return Iterator of keys, empty if the element is not an object.
+     */
+    public Iterator<String> keyIterator() {
+        return isObject() ? new ChildIterator<>(tape::string) : new ChildIterator<>(null);
+    }
+
+    /**
+     * Get an iterator over object members in the stored order, repeated keys included.
+     * @return Iterator of keys and element views, empty if the element is not an object.
+     */
+    public Iterator<Map.Entry<String, JsonTapeElement>> memberIterator() {
+        if (!isObject())
+            return new ChildIterator<>(null);
+        return new ChildIterator<>(i -> new AbstractMap.SimpleImmutableEntry<>(
+                tape.string(i), new JsonTapeElement(this, tape, i + 1)));
+    }
+
+    /**
+     * Create regular JSON elements of the element and its content.
+     * Each call creates a new tree, {@link #elementIterator()} and {@link #memberIterator()}
+     * read the content without creating it.
+     * @return JsonElement element with null parent.
+     */
+    public JsonElement toJsonElement() {
+        return create(null, index);
+    }
+
+    /**
+     * Create regular JSON object of the element. Each call creates a new tree.
+     * @return New JsonObject element or null if the element is not an object.
+     */
+    public JsonObject toJsonObject() {
+        return isObject() ? toJsonElement().toJsonObject() : null;
+    }
+
+    /**
+     * Create regular JSON array of the element. Each call creates a new tree.
+     * @return New JsonArray element or null if the element is not an array.
+     */
+    public JsonArray toJsonArray() {
+        return isArray() ? toJsonElement().toJsonArray() : null;
+    }
+
+    /**
+     * Get a string value of the element.
+     * @return String value of JSON string or string representation of other element.
+     */
+    public String getStringValue() {
+        return isString() ? tape.string(index) : toString();
+    }
+
+    /**
+     * Get an int value of the element.
+     * @return Integer value of number or 0.
+     */
+    public int getIntValue() {
+        if (!isNumber())
+            return 0;
+        if (tape.type(index) == JsonTape.LONG) {
+            long longValue = tape.longNumber(index);
+            return (int)longValue == longValue ? (int)longValue : 0;
+        }
+        double value = tape.number(index);
+        int intValue = (int)value;
+        return intValue == value ? intValue : 0;
+    }
+
+    /**
+     * Get a long value of the element.
+     * @return Long value of number or 0.
+     */
+    public long getLongValue() {
+        if (!isNumber())
+            return 0;
+        if (tape.type(index) == JsonTape.LONG)
+            return tape.longNumber(index);
+        double value = tape.number(index);
+        long longValue = (long)value;
+        return longValue == value ? longValue : 0;
+    }
+
+    /**
+     * Get a double value of the element.
+     * @return Double value of number or 0.
+     */
+    public double getDoubleValue() {
+        return isNumber() ? tape.number(index) : 0;
+    }
+
+    /**
+     * Get a boolean value of the element.
+     * @return Boolean value or FALSE.
+     */
+    public boolean getBooleanValue() {
+        return tape.type(index) == JsonTape.TRUE;
+    }
+
+    /**
+     * Check if the element is a string.
+     * @return TRUE if the element is a string.
+     */
+    public boolean isString() {
+        return tape.type(index) == JsonTape.STRING;
+    }
+
+    /**
+     * Check if the element is a number.
+     * @return TRUE if the element is a number.
+     */
+    public boolean isNumber() {
+        int type = tape.type(index);
+        return type == JsonTape.NUMBER || type == JsonTape.LONG;
+    }
+
+    /**
+     * Check if the element is a number with integer value.
+     * @return TRUE if the element has integer value.
+     */
+    public boolean isInteger() {
+        if (!isNumber())
+            return false;
+        if (tape.type(index) == JsonTape.LONG) {
+            long longValue = tape.longNumber(index);
+            return longValue == (int)longValue;
+        }
+        double value = tape.number(index);
+        return value == (int)value;
+    }
+
+    /**
+     * Check if the element is a number with long value.
+     * @return TRUE if the element has long value.
+     */
+    public boolean isLongInteger() {
+        if (!isNumber())
+            return false;
+        if (tape.type(index) == JsonTape.LONG)
+            return true;
+        double value = tape.number(index);
+        return value == (long)value;
+    }
+
+    /**
+     * Check if the element is a boolean.
+     * @return TRUE if the element is a boolean.
+     */
+    public boolean isBoolean() {
+        int type = tape.type(index);
+        return type == JsonTape.TRUE || type == JsonTape.FALSE;
+    }
+
+    /**
+     * Check if the element is null.
+     * @return TRUE if the element is null.
+     */
+    public boolean isNull() {
+        return tape.type(index) == JsonTape.NULL;
+    }
+
+    /**
+     * Convert element to a string format.
+     * @param writer JsonWriter receiving a string representation of JSON element.
+     */
+    protected void buildString(JsonWriter writer) {
+        buildString(writer, index, -1);
+    }
+
+    /**
+     * Convert element to a string format with indention.
+     * @param writer JsonWriter receiving a string representation of JSON element.
+     * @param indent Indention value.
+     */
+    protected void buildString(JsonWriter writer, int indent) {
+        buildString(writer, index, indent);
+    }
+
+    /**
+     * Find object element by a specified key, the last one if the key is repeated.
+     * @param key String value of a key.
+     * @return Tape index of the element or -1.
+     */
+    private int find(String key) {
+        if (!isObject())
+            return -1;
+        int found = -1;
+        for (int i = index + 1; tape.type(i) != JsonTape.END_OBJECT; i = tape.next(i + 1)) {
+            if (key.equals(tape.string(i)))
+                found = i + 1;
+        }
+        return found;
+    }
+
+    /**
+     * Get object members in the order they are written by {@link JsonObject}.
+     * @param start Tape index of the object beginning.
+     * @param sorted TRUE if members are sorted by keys, FALSE for insertion order.
+     * @return Array of tape indexes of values, each key is stored just before its value.
+     */
+    private int[] members(int start, boolean sorted) {
+        Map<String, Integer> members = sorted
+                ? new TreeMap<String, Integer>() : new LinkedHashMap<String, Integer>();
+        for (int i = start + 1; tape.type(i) != JsonTape.END_OBJECT; i = tape.next(i + 1))
+            members.put(tape.string(i), i + 1);
+        int[] result = new int[members.size()];
+        int k = 0;
+        for (int value : members.values())
+            result[k++] = value;
+        return result;
+    }
+
+    /**
+     * Create regular JSON element. Nested containers are kept in a stack instead of recursive calls.
+     * @param parent Parent JsonElement.
+     * @param i Tape index of the element.
+     * @return JsonElement element.
+     */
+    private JsonElement create(JsonElement parent, int i) {
+        JsonElement root = createValue(parent, i);
+        if (root.toJsonContainer() == null)
+            return root;
+        JsonElement[] containers = new JsonElement[STACK_SIZE];
+        int[] positions = new int[STACK_SIZE];
+        containers[0] = root;
+        positions[0] = i + 1;
+        int depth = 1;
+        while (depth > 0) {
+            JsonElement top = containers[depth - 1];
+            int k = positions[depth - 1];
+            int type = tape.type(k);
+            if (type == JsonTape.END_OBJECT || type == JsonTape.END_ARRAY) {
+                containers[--depth] = null;
+                continue;
+            }
+            JsonElement child;
+            int value;
+            JsonObject obj = top.toJsonObject();
+            if (obj != null) {
+                value = k + 1;
+                child = createValue(obj, value);
+                obj.addElement(tape.string(k), child);
+            }
+            else {
+                value = k;
+                child = createValue(top, value);
+                top.toJsonArray().addElement(child);
+            }
+            positions[depth - 1] = tape.next(value);
+            if (child.toJsonContainer() == null)
+                continue;
+            if (depth == containers.length) {
+                containers = Arrays.copyOf(containers, depth * 2);
+                positions = Arrays.copyOf(positions, depth * 2);
+            }
+            containers[depth] = child;
+            positions[depth] = value + 1;
+            depth++;
+        }
+        return root;
+    }
+
+    /**
+     * Create regular JSON element, an empty one for a container.
+     * @param parent Parent JsonElement.
+     * @param i Tape index of the element.
+     * @return JsonElement element.
+     */
+    private JsonElement createValue(JsonElement parent, int i) {
+        switch(tape.type(i)) {
+            case JsonTape.START_OBJECT:
+                return new JsonObject(parent);
+            case JsonTape.START_ARRAY:
+                return new JsonArray(parent);
+            case JsonTape.STRING:
+                return new JsonString(parent, tape.string(i));
+            case JsonTape.NUMBER:
+                return new JsonNumber(parent, tape.number(i));
+            case JsonTape.LONG:
+                return new JsonNumber(parent, tape.longNumber(i));
+            case JsonTape.TRUE:
+                return new JsonBoolean(parent, true);
+            case JsonTape.FALSE:
+                return new JsonBoolean(parent, false);
+            default:
+                return new JsonNull(parent);
+        }
+    }
+
+    /**
+     * Convert tape element to a string format, the same as of regular JSON elements.
+     * Nested containers are kept in a stack instead of recursive calls.
+     * @param writer JsonWriter receiving a string representation of JSON element.
+     * @param i Tape index of the element.
+     * @param indent Indention value, or -1 for the format without indents.
+     */
+    private void buildString(JsonWriter writer, int i, int indent) {
+        if (!buildStart(writer, i, indent))
+            return;
+        int[] starts = new int[STACK_SIZE];
+        int[] positions = new int[STACK_SIZE];
+        int[][] orders = new int[STACK_SIZE][];
+        starts[0] = i;
+        orders[0] = tape.type(i) == JsonTape.START_OBJECT ? members(i, writer.isSortKeys()) : null;
+        positions[0] = orders[0] == null ? i + 1 : 0;
+        int depth = 1;
+        while (depth > 0) {
+            int start = starts[depth - 1];
+            int[] order = orders[depth - 1];
+            int level = indent < 0 ? -1 : indent + depth - 1;
+            int position = positions[depth - 1];
+            boolean end = order == null ? tape.type(position) == JsonTape.END_ARRAY : position == order.length;
+            if (end) {
+                if (level >= 0) {
+                    writer.append('\n');
+                    buildIndent(writer, level);
+                }
+                writer.append(order == null ? ']' : '}');
+                orders[--depth] = null;
+                continue;
+            }
+            int value = order == null ? position : order[position];
+            positions[depth - 1] = order == null ? tape.next(position) : position + 1;
+            if (order == null ? position > start + 1 : position > 0)
+                writer.append(',');
+            if (level >= 0) {
+                writer.append('\n');
+                buildIndent(writer, level + 1);
+            }
+            if (order != null) {
+                String key = tape.string(value - 1);
+                if (level < 0) {
+                    writer.append('"');
+                    writer.append(key);
+                    writer.append("\":");
+                }
+                else {
+                    buildJsonString(writer, key);
+                    int type = tape.type(value);
+                    if ((type == JsonTape.START_OBJECT || type == JsonTape.START_ARRAY)
+                            && tape.next(value) > value + 2) {
+                        writer.append(" :\n");
+                        buildIndent(writer, level + 1);
+                    }
+                    else
+                        writer.append(" : ");
+                }
+            }
+            if (!buildStart(writer, value, level < 0 ? -1 : level + 1))
+                continue;
+            if (depth == starts.length) {
+                starts = Arrays.copyOf(starts, depth * 2);
+                positions = Arrays.copyOf(positions, depth * 2);
+                orders = Arrays.copyOf(orders, depth * 2);
+            }
+            starts[depth] = value;
+            orders[depth] = tape.type(value) == JsonTape.START_OBJECT ? members(value, writer.isSortKeys()) : null;
+            positions[depth] = orders[depth] == null ? value + 1 : 0;
+            depth++;
+        }
+    }
+
+    /**
+     * Write a scalar element, an empty container or the beginning of a container.
+     * @param writer JsonWriter receiving a string representation of JSON element.
+     * @param i Tape index of the element.
+     * @param indent Indention value, or -1 for the format without indents.
+     * @return TRUE if the element is a container which content and end should be written then.
+     */
+    private boolean buildStart(JsonWriter writer, int i, int indent) {
+        switch(tape.type(i)) {
+            case JsonTape.START_OBJECT:
+                if (tape.type(i + 1) == JsonTape.END_OBJECT) {
+                    writer.append(indent < 0 ? "{}" : "{ }");
+                    return false;
+                }
+                writer.append('{');
+                return true;
+            case JsonTape.START_ARRAY:
+                if (tape.type(i + 1) == JsonTape.END_ARRAY) {
+                    writer.append(indent < 0 ? "[]" : "[ ]");
+                    return false;
+                }
+                writer.append('[');
+                return true;
+            case JsonTape.STRING:
+                buildJsonString(writer, tape.string(i));
+                break;
+            case JsonTape.NUMBER:
+                buildJsonNumber(writer, tape.number(i));
+                break;
+            case JsonTape.LONG:
+                writer.append(tape.longNumber(i));
+                break;
+            case JsonTape.TRUE:
+                writer.append(true);
+                break;
+            case JsonTape.FALSE:
+                writer.append(false);
+                break;
+            default:
+                writer.append("null");
+                break;
+        }
+        return false;
+    }
+
+    /**
+     * Iterator over container content walking the tape without collecting element indexes.
+     * @param <T> Type of items.
+     */
+    private final class ChildIterator<T> implements Iterator<T> {
+
+        /**
+         * Function creating an item by a tape index of an array element or an object key,
+         * or null for an empty iterator.
+         */
+        private final IntFunction<T> item;
+
+        /**
+         * Tape index of the next array element or object key.
+         */
+        private int next;
+
+        /**
+         * Constructor.
+         * @param item Function creating an item by a tape index, or null for an empty iterator.
+         */
+        ChildIterator(IntFunction<T> item) {
+            this.item = item;
+            this.next = index + 1;
+        }
+
+        public boolean hasNext() {
+            if (item == null)
+                return false;
+            int type = tape.type(index);
+            if (type != JsonTape.START_OBJECT && type != JsonTape.START_ARRAY)
+                return false;
+            type = tape.type(next);
+            return type != JsonTape.END_OBJECT && type != JsonTape.END_ARRAY;
+        }
+
+        public T next() {
+            if (!hasNext())
+                throw new NoSuchElementException();
+            T result = item.apply(next);
+            next = tape.type(index) == JsonTape.START_OBJECT ? tape.next(next + 1) : tape.next(next);
+            return result;
+        }
+    }
+}
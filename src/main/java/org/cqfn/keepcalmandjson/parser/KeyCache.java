@@ -0,0 +1,241 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Polina Volkhontseva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.keepcalmandjson.parser;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Bounded cache of object keys, so that equal keys of parsed objects share one String instance.
+ * Keys are looked up by a hash of the source range, a new String is created only on a miss.
+ * The cache is direct-mapped: a key replaces the previous key of the same slot.
+ * The cache is not thread-safe, it should be used by one parser at a time.
+ */
+public final class KeyCache {
+
+    /**
+     * Default amount of cached keys.
+     */
+    static public final int CAPACITY = 1024;
+
+    /**
+     * Maximal length of cached keys, longer keys are not cached.
+     */
+    static public final int MAX_LENGTH = 64;
+
+    /**
+     * Cached keys.
+     */
+    private final String[] keys;
+
+    /**
+     * Mask of slot index.
+     */
+    private final int mask;
+
+    /**
+     * Amount of found keys.
+     */
+    private long hits;
+
+    /**
+     * Amount of created keys.
+     */
+    private long misses;
+
+    /**
+     * Constructor.
+     */
+    public KeyCache() {
+        this(CAPACITY);
+    }
+
+    /**
+     * Constructor.
+     * @param capacity Amount of cached keys, rounded up to a power of two.
+     */
+    public KeyCache(int capacity) {
+        if (capacity <= 0 || capacity > 1 << 30)
+            throw new IllegalArgumentException();
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity)
+            size <<= 1;
+        keys = new String[size];
+        mask = size - 1;
+    }
+
+    /**
+     * Get canonical key of a part of a String.
+     * @param data String data.
+     * @param from Index of the first char.
+     * @param to Index after the last char.
+     * @return String value.
+     */
+    public String intern(String data, int from, int to) {
+        int length = to - from;
+        if (length > MAX_LENGTH) {
+            misses++;
+            return data.substring(from, to);
+        }
+        int hash = 0;
+        for (int i = from; i < to; i++)
+            hash = 31 * hash + data.charAt(i);
+        int slot = slot(hash);
+        String key = keys[slot];
+        if (key != null && key.length() == length && key.hashCode() == hash && data.startsWith(key, from)) {
+            hits++;
+            return key;
+        }
+        misses++;
+        key = data.substring(from, to);
+        keys[slot] = key;
+        return key;
+    }
+
+    /**
+     * Get canonical key of a part of a char array.
+     * @param data Array of chars.
+     * @param from Index of the first char.
+     * @param to Index after the last char.
+     * @return String value.
+     */
+    public String intern(char[] data, int from, int to) {
+        int length = to - from;
+        if (length > MAX_LENGTH) {
+            misses++;
+            return new String(data, from, length);
+        }
+        int hash = 0;
+        for (int i = from; i < to; i++)
+            hash = 31 * hash + data[i];
+        int slot = slot(hash);
+        String key = keys[slot];
+        if (key != null && key.length() == length && key.hashCode() == hash) {
+            int i = 0;
+            while (i < length && key.charAt(i) == data[from + i])
+                i++;
+            if (i == length) {
+                hits++;
+                return key;
+            }
+        }
+        misses++;
+        key = new String(data, from, length);
+        keys[slot] = key;
+        return key;
+    }
+
+    /**
+     * Get canonical key of a part of a byte array containing only ASCII chars.
+     * @param data Array of ASCII bytes.
+     * @param from Index of the first byte.
+     * @param to Index after the last byte.
+     * @return String value.
+     */
+    public String intern(byte[] data, int from, int to) {
+        int length = to - from;
+        if (length > MAX_LENGTH) {
+            misses++;
+            return new String(data, from, length, StandardCharsets.ISO_8859_1);
+        }
+        int hash = 0;
+        for (int i = from; i < to; i++)
+            hash = 31 * hash + data[i];
+        int slot = slot(hash);
+        String key = keys[slot];
+        if (key != null && key.length() == length && key.hashCode() == hash) {
+            int i = 0;
+            while (i < length && key.charAt(i) == data[from + i])
+                i++;
+            if (i == length) {
+                hits++;
+                return key;
+            }
+        }
+        misses++;
+        key = new String(data, from, length, StandardCharsets.ISO_8859_1);
+        keys[slot] = key;
+        return key;
+    }
+
+    /**
+     * Get canonical key equal to a sequence of chars.
+     * @param value Sequence of chars.
+     * @return String value.
+     */
+    public String intern(CharSequence value) {
+        int length = value.length();
+        if (length > MAX_LENGTH) {
+            misses++;
+            return value.toString();
+        }
+        int hash = 0;
+        for (int i = 0; i < length; i++)
+            hash = 31 * hash + value.charAt(i);
+        int slot = slot(hash);
+        String key = keys[slot];
+        if (key != null && key.length() == length && key.hashCode() == hash && key.contentEquals(value)) {
+            hits++;
+            return key;
+        }
+        misses++;
+        key = value.toString();
+        keys[slot] = key;
+        return key;
+    }
+
+    /**
+     * Get amount of keys found in the cache.
+     * @return Amount of hits.
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Get amount of keys created because they were not found in the cache.
+     * @return Amount of misses.
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Remove all the keys and reset counters.
+     */
+    public void clear() {
+        Arrays.fill(keys, null);
+        hits = 0;
+        misses = 0;
+    }
+
+    /**
+     * Get slot index of a hash.
+     * @param hash Hash of a key, the same as String hash code.
+     * @return Slot index.
+     */
+    private int slot(int hash) {
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Polina Volkhontseva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.keepcalmandjson.parser;
+
+import org.cqfn.keepcalmandjson.parser.JsonParser.Origin;
+import org.cqfn.keepcalmandjson.parser.exceptions.JsonParserException;
+import org.cqfn.keepcalmandjson.types.JsonArray;
+import org.cqfn.keepcalmandjson.types.JsonContainer;
+import org.cqfn.keepcalmandjson.types.JsonObject;
+
+/**
+ * Loader of object or array elements from a checked part of origin data.
+ */
+class LazyLoader implements JsonContainer.Loader {
+
+    /**
+     * Origin data object.
+     */
+    private final Origin origin;
+
+    /**
+     * Index of the opening bracket of the container.
+     */
+    private final long start;
+
+    /**
+     * Index after the closing bracket of the container.
+     */
+    private final long end;
+
+    /**
+     * Constructor.
+     * @param origin Origin data object supporting {@link Origin#range}.
+     * @param start Index of the opening bracket of the container.
+     * @param end Index after the closing bracket of the container.
+     */
+    LazyLoader(Origin origin, long start, long end) {
+        this.origin = origin;
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Parse container elements, nested objects and arrays are loaded on first access again.
+     * @param container Container being loaded.
+     * @throws IllegalStateException if origin data is changed after it was checked,
+     *  the container is not loaded then.
+     */
+    public void load(JsonContainer container) {
+        Origin range = origin.range(start, end);
+        range.next();
+        try {
+            JsonObject obj = container.toJsonObject();
+            if (obj != null)
+                JsonParser.parseMembers(range, obj, true);
+            else {
+                JsonArray arr = container.toJsonArray();
+                JsonParser.parseElements(range, arr, true);
+            }
+        } catch (JsonParserException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Polina Volkhontseva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.keepcalmandjson.parser;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Origin data of UTF-8 encoded file mapped into memory.
+ * The file is mapped in windows, so files larger than 2 GB are supported,
+ * and scanned through a buffer of fixed size, so the file content is never
+ * copied into the heap as a whole.
+ */
+class MappedFileOrigin extends Utf8Origin {
+
+    /**
+     * Default size of buffer.
+     */
+    static protected final int BUFFER_SIZE = 65536;
+
+    /**
+     * Maximum size of mapped window.
+     */
+    static protected final long WINDOW_SIZE = 1L << 30;
+
+    /**
+     * File channel.
+     */
+    private final FileChannel channel;
+
+    /**
+     * Size of the file.
+     */
+    private final long size;
+
+    /**
+     * Position in the file after the current window.
+     */
+    private long mapped;
+
+    /**
+     * Current window, or null if no window is mapped yet.
+     */
+    private MappedByteBuffer window;
+
+    /**
+     * Maximum size of window.
+     */
+    private final long windowSize;
+
+    /**
+     * Constructor.
+     * @param channel File channel opened for reading.
+     * @throws IOException if fails.
+     */
+    MappedFileOrigin(FileChannel channel) throws IOException {
+        this(channel, BUFFER_SIZE, WINDOW_SIZE);
+    }
+
+    /**
+     * Constructor.
+     * @param channel File channel opened for reading.
+     * @param size Size of buffer, not less than 4 bytes.
+     * @param windowSize Maximum size of mapped window.
+     * @throws IOException if fails.
+     */
+    MappedFileOrigin(FileChannel channel, int size, long windowSize) throws IOException {
+        super(size);
+        this.channel = channel;
+        this.size = channel.size();
+        this.windowSize = windowSize;
+        mapped = 0;
+        try {
+            decode();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Read next bytes of the file into the buffer, mapping next window if needed.
+     * @param buffer Buffer.
+     * @param offset Index of the first byte to be written.
+     * @param length Maximum amount of bytes to be read.
+     * @return Amount of bytes read or -1 if the end of file is reached.
+     * @throws UncheckedIOException if mapping fails.
+     */
+    protected int read(byte[] buffer, int offset, int length) {
+        while (window == null || !window.hasRemaining()) {
+            if (mapped >= size)
+                return -1;
+            long count = Math.min(windowSize, size - mapped);
+            try {
+                window = channel.map(FileChannel.MapMode.READ_ONLY, mapped, count);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            mapped += count;
+        }
+        int count = Math.min(length, window.remaining());
+        window.get(buffer, offset, count);
+        return count;
+    }
+}
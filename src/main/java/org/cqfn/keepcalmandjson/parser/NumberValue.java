@@ -0,0 +1,254 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Polina Volkhontseva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.keepcalmandjson.parser;
+
+import org.cqfn.keepcalmandjson.parser.JsonParser.Origin;
+import org.cqfn.keepcalmandjson.parser.exceptions.ExpectedNumberException;
+import org.cqfn.keepcalmandjson.types.JsonElement;
+import org.cqfn.keepcalmandjson.types.JsonNumber;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Decimal value of the last scanned JSON number. Up to 19 significant digits are accumulated
+ * in a long mantissa, all the digits are kept in a StringBuilder only if there are more of them.
+ * The object is reused by the origin for all the numbers.
+ */
+final class NumberValue {
+
+    /**
+     * Maximal amount of significant digits accumulated in a long value.
+     */
+    static protected final int MAX_DIGITS = 19;
+
+    /**
+     * Maximal mantissa converted to double without rounding.
+     */
+    static protected final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    /**
+     * Maximal power of ten converted to double without rounding.
+     */
+    static protected final int MAX_EXACT_POWER = 22;
+
+    /**
+     * Limit of exponent value, larger exponents give zero or infinity anyway.
+     */
+    static protected final int MAX_EXPONENT = 100000;
+
+    /**
+     * Powers of ten which are exact double values.
+     */
+    static private final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    /**
+     * Powers of ten which are long values.
+     */
+    static private final long[] LONG_POWERS_OF_TEN = {
+        1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L, 100000000L, 1000000000L,
+        10000000000L, 100000000000L, 1000000000000L, 10000000000000L, 100000000000000L,
+        1000000000000000L, 10000000000000000L, 100000000000000000L, 1000000000000000000L
+    };
+
+    /**
+     * Significant digits as unsigned long value.
+     */
+    private long mantissa;
+
+    /**
+     * Amount of significant digits.
+     */
+    private int count;
+
+    /**
+     * Power of ten.
+     */
+    private int exponent;
+
+    /**
+     * Flag indicating that number is negative.
+     */
+    private boolean neg;
+
+    /**
+     * All significant digits if there are more than fit into the mantissa.
+     */
+    private final StringBuilder digits = new StringBuilder();
+
+    /**
+     * Read digits, fraction and exponent of JSON number in origin data.
+     * @param origin Origin data object, the current char is the first digit.
+     * @param neg TRUE if number is negative.
+     * @throws ExpectedNumberException if exponent has no digits.
+     */
+    void scan(Origin origin, boolean neg) throws ExpectedNumberException {
+        this.neg = neg;
+        mantissa = 0;
+        count = 0;
+        exponent = 0;
+        digits.setLength(0);
+        char c = origin.get();
+        do {
+            addDigit(c);
+            c = origin.next();
+        } while(JsonParser.isDigit(c));
+        if (c == '.') {
+            c = origin.next();
+            while (JsonParser.isDigit(c)) {
+                addDigit(c);
+                exponent--;
+                c = origin.next();
+            }
+        }
+        if (c == 'e' || c == 'E') {
+            c = origin.next();
+            boolean negExponent = c == '-';
+            if (c == '-' || c == '+')
+                c = origin.next();
+            if (!JsonParser.isDigit(c))
+                throw new ExpectedNumberException();
+            int power = 0;
+            do {
+                if (power < MAX_EXPONENT)
+                    power = power * 10 + (c - '0');
+                c = origin.next();
+            } while(JsonParser.isDigit(c));
+            exponent += negExponent ? -power : power;
+        }
+    }
+
+    /**
+     * Check if the number is an integer which fits into a long value.
+     * @return TRUE if the number is a long value.
+     */
+    boolean isLong() {
+        if (count > MAX_DIGITS || mantissa < 0 || exponent < 0 || (neg && mantissa == 0))
+            return false;
+        if (exponent == 0 || mantissa == 0)
+            return true;
+        return exponent < LONG_POWERS_OF_TEN.length
+                && mantissa <= Long.MAX_VALUE / LONG_POWERS_OF_TEN[exponent];
+    }
+
+    /**
+     * Get long value of the number, which should be checked by {@link #isLong()}.
+     * @return Long value.
+     */
+    long toLong() {
+        long value = mantissa == 0 ? 0 : mantissa * LONG_POWERS_OF_TEN[exponent];
+        return neg ? -value : value;
+    }
+
+    /**
+     * Get the nearest double value of the number.
+     * @return Double value.
+     */
+    double toDouble() {
+        double value = toDouble(mantissa, exponent, count > MAX_DIGITS ? digits : null);
+        return neg ? -value : value;
+    }
+
+    /**
+     * Get exact value of the number.
+     * @return BigDecimal value.
+     */
+    BigDecimal toBigDecimal() {
+        BigDecimal value;
+        if (count > MAX_DIGITS)
+            value = new BigDecimal(new BigInteger(digits.toString()), -exponent);
+        else if (mantissa < 0)
+            value = new BigDecimal(new BigInteger(Long.toUnsignedString(mantissa)), -exponent);
+        else
+            value = BigDecimal.valueOf(mantissa, -exponent);
+        return neg ? value.negate() : value;
+    }
+
+    /**
+     * Create JSON number of the value: long-backed for integers, double-backed for other numbers.
+     * @param parent Parent JsonElement.
+     * @param exact TRUE if the number is kept as BigDecimal value.
+     * @return JsonNumber element.
+     */
+    JsonNumber create(JsonElement parent, boolean exact) {
+        if (exact)
+            return new JsonNumber(parent, toBigDecimal());
+        if (isLong())
+            return new JsonNumber(parent, toLong());
+        return new JsonNumber(parent, toDouble());
+    }
+
+    /**
+     * Convert decimal number to the nearest double value.
+     * Exact conversion is used when both the mantissa and the power of ten fit into a double
+     * without rounding, otherwise the number is converted by {@link Double#parseDouble}.
+     * @param mantissa Significant digits as unsigned long value.
+     * @param exponent Power of ten.
+     * @param digits All significant digits if they don't fit into the mantissa, or null.
+     * @return Double value of number.
+     */
+    static protected double toDouble(long mantissa, int exponent, CharSequence digits) {
+        if (digits == null) {
+            if (mantissa == 0)
+                return 0;
+            if (exponent == 0 && mantissa > 0)
+                return mantissa;
+            if (mantissa > 0 && mantissa <= MAX_EXACT_MANTISSA) {
+                if (exponent < 0 && exponent >= -MAX_EXACT_POWER)
+                    return mantissa / POWERS_OF_TEN[-exponent];
+                if (exponent > 0 && exponent <= MAX_EXACT_POWER)
+                    return mantissa * POWERS_OF_TEN[exponent];
+                if (exponent > MAX_EXACT_POWER && exponent <= MAX_EXACT_POWER + 15) {
+                    double shifted = mantissa * POWERS_OF_TEN[exponent - MAX_EXACT_POWER];
+                    if (shifted <= MAX_EXACT_MANTISSA)
+                        return shifted * POWERS_OF_TEN[MAX_EXACT_POWER];
+                }
+            }
+            digits = Long.toUnsignedString(mantissa);
+        }
+        return Double.parseDouble(digits + "E" + exponent);
+    }
+
+    /**
+     * Add significant digit, leading zeros are skipped.
+     * @param c Digit char.
+     */
+    private void addDigit(char c) {
+        if (count < MAX_DIGITS) {
+            if (count > 0 || c != '0') {
+                mantissa = mantissa * 10 + (c - '0');
+                count++;
+            }
+        }
+        else {
+            if (count == MAX_DIGITS)
+                digits.append(Long.toUnsignedString(mantissa));
+            digits.append(c);
+            count++;
+        }
+    }
+}
@@ -0,0 +1,415 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Polina Volkhontseva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.keepcalmandjson.parser;
+
+import org.cqfn.keepcalmandjson.parser.JsonParser.Origin;
+import org.cqfn.keepcalmandjson.parser.exceptions.JsonParserException;
+import org.cqfn.keepcalmandjson.types.JsonArray;
+import org.cqfn.keepcalmandjson.types.JsonElement;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Parser of a top-level JSON array, elements of which are parsed in parallel.
+ * Boundaries of elements are found by a fast scan respecting strings and escapes,
+ * then slices of elements are parsed by a fork-join pool.
+ */
+class ParallelArrayParser {
+
+    /**
+     * Kind of a parsed element kept in {@link #elements}.
+     */
+    static private final byte ELEMENT = 1;
+
+    /**
+     * Kind of a parsed long number kept in {@link #values}.
+     */
+    static private final byte LONG = 2;
+
+    /**
+     * Kind of a parsed double number kept in {@link #values} as raw bits.
+     */
+    static private final byte DOUBLE = 3;
+
+    /**
+     * Kind of a parsed boolean kept in {@link #values} as 0 or 1.
+     */
+    static private final byte BOOLEAN = 4;
+
+    /**
+     * Origin data object supporting {@link Origin#range}.
+     */
+    private final Origin origin;
+
+    /**
+     * Indexes of the opening bracket, commas separating elements and the closing bracket.
+     */
+    private final int[] bounds;
+
+    /**
+     * Parsed elements.
+     */
+    private final JsonElement[] elements;
+
+    /**
+     * Kinds of parsed elements, 0 for an empty element.
+     */
+    private final byte[] kinds;
+
+    /**
+     * Values of parsed numbers and booleans, so arrays of them are kept packed.
+     */
+    private final long[] values;
+
+    /**
+     * Resulting array.
+     */
+    private final JsonArray array;
+
+    /**
+     * Flag indicating that some element can't be parsed.
+     */
+    private volatile boolean failed;
+
+    /**
+     * Constructor.
+     * @param origin Origin data object supporting {@link Origin#range}.
+     * @param bounds Indexes of the opening bracket, commas and the closing bracket.
+     */
+    private ParallelArrayParser(Origin origin, int[] bounds) {
+        this.origin = origin;
+        this.bounds = bounds;
+        this.elements = new JsonElement[bounds.length - 1];
+        this.kinds = new byte[bounds.length - 1];
+        this.values = new long[bounds.length - 1];
+        this.array = new JsonArray(null);
+    }
+
+    /**
+     * Parse origin data encoded in UTF-8.
+     * @param data Array of bytes.
+     * @param offset Index of the first byte of data.
+     * @param length Amount of bytes of data.
+     * @param pool Fork-join pool parsing elements.
+     * @return JsonElement element.
+     * @throws JsonParserException if fails.
+     */
+    static JsonElement parse(byte[] data, int offset, int length, ForkJoinPool pool) throws JsonParserException {
+        JsonArray array = parseArray(data, offset, length, pool);
+        if (array != null)
+            return array;
+        return JsonParser.parse(new Utf8Origin(data, offset, length), null);
+    }
+
+    /**
+     * Parse origin data encoded in UTF-8 if it is a top-level array which elements can be parsed in parallel.
+     * @param data Array of bytes.
+     * @param offset Index of the first byte of data.
+     * @param length Amount of bytes of data.
+     * @param pool Fork-join pool parsing elements.
+     * @return JsonArray element, or null if the data should be parsed sequentially.
+     */
+    static JsonArray parseArray(byte[] data, int offset, int length, ForkJoinPool pool) {
+        Origin origin = new Utf8Origin(data, offset, length);
+        if (origin.getSkippingSpace() != '[')
+            return null;
+        int[] bounds = scan(data, offset + (int)origin.getIndex(), offset + length, offset);
+        if (bounds == null)
+            return null;
+        return new ParallelArrayParser(origin, bounds).parse(pool);
+    }
+
+    /**
+     * Parse origin data.
+     * @param data String data.
+     * @param pool Fork-join pool parsing elements.
+     * @return JsonElement element.
+     * @throws JsonParserException if fails.
+     */
+    static JsonElement parse(String data, ForkJoinPool pool) throws JsonParserException {
+        JsonArray array = parseArray(data, pool);
+        if (array != null)
+            return array;
+        return JsonParser.parse(new StringOrigin(data), null);
+    }
+
+    /**
+     * Parse origin data if it is a top-level array which elements can be parsed in parallel.
+     * @param data String data.
+     * @param pool Fork-join pool parsing elements.
+     * @return JsonArray element, or null if the data should be parsed sequentially.
+     */
+    static JsonArray parseArray(String data, ForkJoinPool pool) {
+        Origin origin = new StringOrigin(data);
+        if (origin.getSkippingSpace() != '[')
+            return null;
+        int[] bounds = scan(data, (int)origin.getIndex());
+        if (bounds == null)
+            return null;
+        return new ParallelArrayParser(origin, bounds).parse(pool);
+    }
+
+    /**
+     * Find boundaries of top-level array elements.
+     * @param data Array of bytes.
+     * @param from Index of the opening bracket.
+     * @param to Index after the last byte of data.
+     * @param offset Index of the first byte of data.
+     * @return Indexes of the opening bracket, commas and the closing bracket relative to offset,
+     *  or null if the array isn't closed.
+     */
+    static protected int[] scan(byte[] data, int from, int to, int offset) {
+        int[] bounds = new int[16];
+        bounds[0] = from - offset;
+        int count = 1;
+        int depth = 0;
+        for (int i = from + 1; i < to; i++) {
+            switch(data[i]) {
+                case '"':
+                    i++;
+                    while (i < to && data[i] != '"') {
+                        if (data[i] == '\\')
+                            i++;
+                        i++;
+                    }
+                    break;
+                case '{':
+                case '[':
+                    depth++;
+                    break;
+                case '}':
+                case ']':
+                    if (depth == 0) {
+                        bounds = add(bounds, count++, i - offset);
+                        return trim(bounds, count);
+                    }
+                    depth--;
+                    break;
+                case ',':
+                    if (depth == 0)
+                        bounds = add(bounds, count++, i - offset);
+                    break;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Find boundaries of top-level array elements.
+     * @param data String data.
+     * @param from Index of the opening bracket.
+     * @return Indexes of the opening bracket, commas and the closing bracket,
+     *  or null if the array isn't closed.
+     */
+    static protected int[] scan(String data, int from) {
+        int[] bounds = new int[16];
+        bounds[0] = from;
+        int count = 1;
+        int depth = 0;
+        int to = data.length();
+        for (int i = from + 1; i < to; i++) {
+            switch(data.charAt(i)) {
+                case '"':
+                    i++;
+                    while (i < to && data.charAt(i) != '"') {
+                        if (data.charAt(i) == '\\')
+                            i++;
+                        i++;
+                    }
+                    break;
+                case '{':
+                case '[':
+                    depth++;
+                    break;
+                case '}':
+                case ']':
+                    if (depth == 0) {
+                        bounds = add(bounds, count++, i);
+                        return trim(bounds, count);
+                    }
+                    depth--;
+                    break;
+                case ',':
+                    if (depth == 0)
+                        bounds = add(bounds, count++, i);
+                    break;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Add an index to an array of boundaries, growing it if needed.
+     * @param bounds Array of boundaries.
+     * @param count Amount of boundaries.
+     * @param index Index to add.
+     * @return Array of boundaries.
+     */
+    static private int[] add(int[] bounds, int count, int index) {
+        if (count == bounds.length) {
+            int[] newBounds = new int[count * 2];
+            System.arraycopy(bounds, 0, newBounds, 0, count);
+            bounds = newBounds;
+        }
+        bounds[count] = index;
+        return bounds;
+    }
+
+    /**
+     * Trim an array of boundaries.
+     * @param bounds Array of boundaries.
+     * @param count Amount of boundaries.
+     * @return Array of the specified length.
+     */
+    static private int[] trim(int[] bounds, int count) {
+        int[] result = new int[count];
+        System.arraycopy(bounds, 0, result, 0, count);
+        return result;
+    }
+
+    /**
+     * Parse elements in parallel and add them to the array in order.
+     * @param pool Fork-join pool parsing elements.
+     * @return JsonArray element or null if some element can't be parsed.
+     */
+    private JsonArray parse(ForkJoinPool pool) {
+        int count = elements.length;
+        int slice = Math.max(1, count / (pool.getParallelism() * 8));
+        pool.invoke(new Slice(0, count, slice));
+        if (failed)
+            return null;
+        for (int i = 0; i < count; i++) {
+            switch(kinds[i]) {
+                case ELEMENT:
+                    array.addElement(elements[i]);
+                    break;
+                case LONG:
+                    array.addNumber(values[i]);
+                    break;
+                case DOUBLE:
+                    array.addNumber(Double.longBitsToDouble(values[i]));
+                    break;
+                case BOOLEAN:
+                    array.addBoolean(values[i] != 0);
+                    break;
+                default:
+                    if (i < count - 1)
+                        return null;
+            }
+        }
+        return array;
+    }
+
+    /**
+     * Parse an element between two boundaries.
+     * The range includes the following comma or bracket, so numbers are delimited as in the whole array.
+     * Numbers and booleans are kept as values, like {@link JsonParser#parseElement} does.
+     * @param i Index of the element.
+     */
+    private void parseElement(int i) {
+        int end = bounds[i + 1];
+        Origin range = origin.range(bounds[i] + 1, end + 1);
+        char c = range.getSkippingSpace();
+        if (range.getIndex() == end)
+            return;
+        try {
+            if (c == '-' || JsonParser.isDigit(c)) {
+                boolean neg = c == '-';
+                if (neg && !JsonParser.isDigit(range.next())) {
+                    failed = true;
+                    return;
+                }
+                NumberValue value = JsonParser.scanNumber(range, neg);
+                if (value.isLong()) {
+                    values[i] = value.toLong();
+                    kinds[i] = LONG;
+                } else {
+                    values[i] = Double.doubleToRawLongBits(value.toDouble());
+                    kinds[i] = DOUBLE;
+                }
+            } else {
+                JsonElement element = JsonParser.parse(range, array);
+                if (element.isBoolean()) {
+                    values[i] = element.getBooleanValue() ? 1 : 0;
+                    kinds[i] = BOOLEAN;
+                } else {
+                    elements[i] = element;
+                    kinds[i] = ELEMENT;
+                }
+            }
+            range.getSkippingSpace();
+            if (range.getIndex() != end)
+                failed = true;
+        } catch (JsonParserException e) {
+            failed = true;
+        }
+    }
+
+    /**
+     * Task parsing a slice of elements.
+     */
+    private class Slice extends RecursiveAction {
+
+        /**
+         * Index of the first element.
+         */
+        private final int from;
+
+        /**
+         * Index after the last element.
+         */
+        private final int to;
+
+        /**
+         * Maximal amount of elements parsed without splitting the task.
+         */
+        private final int slice;
+
+        /**
+         * Constructor.
+         * @param from Index of the first element.
+         * @param to Index after the last element.
+         * @param slice Maximal amount of elements parsed without splitting the task.
+         */
+        Slice(int from, int to, int slice) {
+            this.from = from;
+            this.to = to;
+            this.slice = slice;
+        }
+
+        /**
+         * Parse elements of the slice.
+         */
+        protected void compute() {
+            if (to - from <= slice) {
+                for (int i = from; i < to && !failed; i++)
+                    parseElement(i);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new Slice(from, middle, slice), new Slice(middle, to, slice));
+        }
+    }
+}
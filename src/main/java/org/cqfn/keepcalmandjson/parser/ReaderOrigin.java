@@ -0,0 +1,192 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Polina Volkhontseva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.keepcalmandjson.parser;
+
+import org.cqfn.keepcalmandjson.parser.JsonParser.Origin;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+
+/**
+ * Origin data read from a character stream.
+ * Only a buffer of fixed size is held in memory, it is refilled when the scanner
+ * crosses its end.
+ */
+class ReaderOrigin extends Origin {
+
+    /**
+     * Default size of buffer.
+     */
+    static protected final int BUFFER_SIZE = 8192;
+
+    /**
+     * Reader, or null if the end of stream is reached.
+     */
+    private Reader reader;
+
+    /**
+     * Buffer of chars.
+     */
+    private final char[] buffer;
+
+    /**
+     * Position of current char in the buffer.
+     */
+    private int position;
+
+    /**
+     * Amount of chars in the buffer.
+     */
+    private int limit;
+
+    /**
+     * Amount of chars read before the buffer content.
+     */
+    private long offset;
+
+    /**
+     * Constructor.
+     * @param reader Reader.
+     */
+    ReaderOrigin(Reader reader) {
+        this(reader, BUFFER_SIZE);
+    }
+
+    /**
+     * Constructor.
+     * @param reader Reader.
+     * @param size Size of buffer.
+     */
+    ReaderOrigin(Reader reader, int size) {
+        this.reader = reader;
+        buffer = new char[Math.max(size, 1)];
+        position = 0;
+        limit = 0;
+        offset = 0;
+        fill();
+    }
+
+    /**
+     * Get char at the current position.
+     * @return Char at the index position.
+     */
+    public char get() {
+        if (position < limit)
+            return buffer[position];
+        else
+            return 0;
+    }
+
+    /**
+     * Get next char.
+     * @return Char at the next after index position.
+     */
+    public char next() {
+        if (position < limit) {
+            position++;
+            if (position == limit)
+                fill();
+            return get();
+        }
+        else
+            return 0;
+    }
+
+    /**
+     * Read the rest of a string literal up to the closing quote at once and move after the quote.
+     * @param keys Cache of keys if the literal is an object key, or null.
+     * @return String value, or null if the literal contains escapes or its end is not in the buffer.
+     */
+    public String readPlainString(KeyCache keys) {
+        for (int end = position; end < limit; end++) {
+            char c = buffer[end];
+            if (c == '\"') {
+                String value = keys != null ? keys.intern(buffer, position, end)
+                        : new String(buffer, position, end - position);
+                position = end + 1;
+                if (position == limit)
+                    fill();
+                return value;
+            }
+            if (c == '\\' || c == 0)
+                return null;
+        }
+        return null;
+    }
+
+    /**
+     * Append a run of plain chars of a string literal to the buffer and move after them.
+     * @param sb StringBuilder the chars are appended to.
+     * @return TRUE if the closing quote is reached, the position is after the quote then.
+     */
+    public boolean appendPlainString(StringBuilder sb) {
+        int end = position;
+        while (end < limit) {
+            char c = buffer[end];
+            if (c == '\"' || c == '\\' || c == 0)
+                break;
+            end++;
+        }
+        sb.append(buffer, position, end - position);
+        boolean closed = end < limit && buffer[end] == '\"';
+        position = closed ? end + 1 : end;
+        if (position == limit)
+            fill();
+        return closed;
+    }
+
+    /**
+     * Get current index.
+     * @return index.
+     */
+    public long getIndex() {
+        return offset + position;
+    }
+
+    /**
+     * Read next chars into the buffer when all the buffer content is processed.
+     * @throws UncheckedIOException if reading fails.
+     */
+    private void fill() {
+        if (reader == null)
+            return;
+        offset += limit;
+        position = 0;
+        limit = 0;
+        try {
+            int read;
+            do {
+                read = reader.read(buffer, 0, buffer.length);
+            } while (read == 0);
+            if (read < 0)
+                reader = null;
+            else
+                limit = read;
+        } catch (IOException e) {
+            reader = null;
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Polina Volkhontseva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.keepcalmandjson.parser;
+
+import org.cqfn.keepcalmandjson.parser.JsonParser.Origin;
+
+/**
+ * Origin data stored in a String.
+ */
+class StringOrigin extends Origin {
+
+    /**
+     * String value of source data.
+     */
+    private String data;
+
+    /**
+     * Index of current char being processed.
+     */
+    private int index;
+
+    /**
+     * Index of the last char.
+     */
+    private int maxIndex;
+
+    /**
+     * Constructor.
+     * @param data String value of source data.
+     */
+    StringOrigin(String data) {
+        reset(data);
+    }
+
+    /**
+     * Constructor.
+     * @param data String value of source data.
+     * @param index Index of the first char.
+     * @param maxIndex Index after the last char.
+     */
+    private StringOrigin(String data, int index, int maxIndex) {
+        this.data = data;
+        this.index = index;
+        this.maxIndex = maxIndex;
+    }
+
+    /**
+     * Start scanning new source data, keeping the options of origin.
+     * @param data String value of source data.
+     */
+    void reset(String data) {
+        this.data = data;
+        index = 0;
+        maxIndex = data != null ? data.length() : 0;
+    }
+
+    /**
+     * Get char at the current position.
+     * @return Char at the index position.
+     */
+    public char get() {
+        if (index < maxIndex)
+            return data.charAt(index);
+        else
+            return 0;
+    }
+
+    /**
+     * Get next char.
+     * @return Char at the next after index position.
+     */
+    public char next() {
+        if (index < maxIndex) {
+            index++;
+            return get();
+        }
+        else
+            return 0;
+    }
+
+    /**
+     * Read the rest of a string literal up to the closing quote at once and move after the quote.
+     * @param keys Cache of keys if the literal is an object key, or null.
+     * @return String value, or null if the literal contains escapes or is not closed.
+     */
+    public String readPlainString(KeyCache keys) {
+        for (int end = index; end < maxIndex; end++) {
+            char c = data.charAt(end);
+            if (c == '\"') {
+                String value = keys != null ? keys.intern(data, index, end) : data.substring(index, end);
+                index = end + 1;
+                return value;
+            }
+            if (c == '\\' || c == 0)
+                return null;
+        }
+        return null;
+    }
+
+    /**
+     * Append a run of plain chars of a string literal to the buffer and move after them.
+     * @param sb StringBuilder the chars are appended to.
+     * @return TRUE if the closing quote is reached, the position is after the quote then.
+     */
+    public boolean appendPlainString(StringBuilder sb) {
+        int end = index;
+        while (end < maxIndex) {
+            char c = data.charAt(end);
+            if (c == '\"' || c == '\\' || c == 0)
+                break;
+            end++;
+        }
+        sb.append(data, index, end);
+        index = end;
+        if (end < maxIndex && data.charAt(end) == '\"') {
+            index++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Get current index.
+     * @return index.
+     */
+    public long getIndex() {
+        return index;
+    }
+
+    /**
+     * Create origin data object of a part of the data.
+     * @param from Index of the first char.
+     * @param to Index after the last char.
+     * @return Origin data object.
+     */
+    public Origin range(long from, long to) {
+        return new StringOrigin(data, (int)from, (int)to);
+    }
+}
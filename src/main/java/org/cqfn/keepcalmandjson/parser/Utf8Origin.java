@@ -0,0 +1,376 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Polina Volkhontseva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.keepcalmandjson.parser;
+
+import org.cqfn.keepcalmandjson.parser.JsonParser.Origin;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Origin data stored as UTF-8 encoded bytes.
+ * ASCII bytes are returned as is, multibyte sequences are decoded only when
+ * the scanner reaches them, i.e. inside string literals of valid JSON data.
+ * Subclasses may read source data in parts into a buffer of fixed size.
+ */
+class Utf8Origin extends Origin {
+
+    /**
+     * Char returned instead of malformed byte sequences.
+     */
+    static protected final char REPLACEMENT = '\uFFFD';
+
+    /**
+     * Bytes of source data.
+     */
+    protected byte[] data;
+
+    /**
+     * Position of the first byte of current char.
+     */
+    protected int position;
+
+    /**
+     * Position after the last byte of source data.
+     */
+    protected int limit;
+
+    /**
+     * Position of the first byte of source data, negative when the buffer is refilled.
+     */
+    private long start;
+
+    /**
+     * Flag indicating that no more bytes can be read into the buffer.
+     */
+    private boolean exhausted;
+
+    /**
+     * Flag indicating that source data is read into a buffer in parts.
+     */
+    private final boolean buffered;
+
+    /**
+     * Current char.
+     */
+    private char current;
+
+    /**
+     * Amount of bytes taken by current char, 0 if the end of data is reached.
+     */
+    private int width;
+
+    /**
+     * Low surrogate to be returned after current high surrogate char, or 0.
+     */
+    private char low;
+
+    /**
+     * Constructor.
+     * @param data Array of UTF-8 encoded bytes.
+     * @param offset Index of the first byte of source data.
+     * @param length Amount of bytes of source data.
+     */
+    Utf8Origin(byte[] data, int offset, int length) {
+        this.buffered = false;
+        reset(data, offset, length);
+    }
+
+    /**
+     * Start scanning new source data, keeping the options of origin.
+     * @param data Array of UTF-8 encoded bytes.
+     * @param offset Index of the first byte of source data.
+     * @param length Amount of bytes of source data.
+     * @throws UnsupportedOperationException if source data is read into a buffer in parts.
+     */
+    final void reset(byte[] data, int offset, int length) {
+        if (buffered)
+            throw new UnsupportedOperationException();
+        if (data == null) {
+            data = new byte[0];
+            offset = 0;
+            length = 0;
+        }
+        if (offset < 0 || length < 0 || offset > data.length - length)
+            throw new IndexOutOfBoundsException();
+        this.data = data;
+        this.position = offset;
+        this.limit = offset + length;
+        this.start = offset;
+        this.exhausted = true;
+        this.low = 0;
+        decode();
+    }
+
+    /**
+     * Constructor of a part of source data.
+     * @param data Array of UTF-8 encoded bytes.
+     * @param position Position of the first byte.
+     * @param limit Position after the last byte.
+     * @param start Position of the first byte of source data.
+     */
+    private Utf8Origin(byte[] data, int position, int limit, long start) {
+        this.data = data;
+        this.position = position;
+        this.limit = limit;
+        this.start = start;
+        this.exhausted = true;
+        this.buffered = false;
+        decode();
+    }
+
+    /**
+     * Constructor of origin data read into a buffer.
+     * Subclass constructor should call {@link #decode()} when it is ready to read.
+     * @param size Size of buffer, not less than 4 bytes.
+     */
+    protected Utf8Origin(int size) {
+        this.data = new byte[Math.max(size, 4)];
+        this.position = 0;
+        this.limit = 0;
+        this.start = 0;
+        this.exhausted = false;
+        this.buffered = true;
+    }
+
+    /**
+     * Get char at the current position.
+     * @return Char at the index position.
+     */
+    public char get() {
+        return current;
+    }
+
+    /**
+     * Get next char.
+     * @return Char at the next after index position.
+     */
+    public char next() {
+        if (width == 0)
+            return 0;
+        if (low != 0) {
+            current = low;
+            low = 0;
+            return current;
+        }
+        position += width;
+        decode();
+        return current;
+    }
+
+    /**
+     * Get current index.
+     * @return Offset in bytes of the current char.
+     */
+    public long getIndex() {
+        return position - start;
+    }
+
+    /**
+     * Read the rest of a string literal up to the closing quote at once and move after the quote.
+     * @param keys Cache of keys if the literal is an object key, or null.
+     * Bytes are decoded by a bulk decoder, the builder path is used for malformed sequences
+     * to keep the same replacement chars.
+     * @return String value, or null if the literal contains escapes or malformed sequences,
+     *  or its end is not in the buffer.
+     */
+    public String readPlainString(KeyCache keys) {
+        if (width == 0 || low != 0)
+            return null;
+        boolean ascii = true;
+        for (int end = position; end < limit; end++) {
+            byte b = data[end];
+            if (b == '"') {
+                String value;
+                if (ascii)
+                    value = keys != null ? keys.intern(data, position, end)
+                            : new String(data, position, end - position, StandardCharsets.ISO_8859_1);
+                else {
+                    value = new String(data, position, end - position, StandardCharsets.UTF_8);
+                    if (value.indexOf(REPLACEMENT) >= 0)
+                        return null;
+                    if (keys != null)
+                        value = keys.intern(value);
+                }
+                position = end + 1;
+                decode();
+                return value;
+            }
+            if (b == '\\' || b == 0)
+                return null;
+            if (b < 0)
+                ascii = false;
+        }
+        return null;
+    }
+
+    /**
+     * Append a run of plain ASCII chars of a string literal to the buffer and move after them.
+     * Multibyte sequences end the run, so they are decoded char by char with the same replacement chars.
+     * @param sb StringBuilder the chars are appended to.
+     * @return TRUE if the closing quote is reached, the position is after the quote then.
+     */
+    public boolean appendPlainString(StringBuilder sb) {
+        if (width == 0 || low != 0)
+            return false;
+        int end = position;
+        while (end < limit) {
+            byte b = data[end];
+            if (b == '"' || b == '\\' || b <= 0)
+                break;
+            sb.append((char)b);
+            end++;
+        }
+        boolean closed = end < limit && data[end] == '"';
+        position = closed ? end + 1 : end;
+        decode();
+        return closed;
+    }
+
+    /**
+     * Create origin data object of a part of the data.
+     * @param from Index of the first byte.
+     * @param to Index after the last byte.
+     * @return Origin data object.
+     * @throws UnsupportedOperationException if source data is read into a buffer in parts.
+     */
+    public Origin range(long from, long to) {
+        if (buffered)
+            throw new UnsupportedOperationException();
+        return new Utf8Origin(data, (int)(start + from), (int)(start + to), start);
+    }
+
+    /**
+     * Check that the specified amount of bytes starting from current position is available.
+     * Reads next bytes into the buffer if needed.
+     * @param count Amount of bytes, not more than 4.
+     * @return TRUE if bytes are available.
+     */
+    protected boolean require(int count) {
+        if (position + count <= limit)
+            return true;
+        if (exhausted)
+            return false;
+        int remaining = limit - position;
+        System.arraycopy(data, position, data, 0, remaining);
+        start -= position;
+        position = 0;
+        limit = remaining;
+        while (limit < count) {
+            int read = read(data, limit, data.length - limit);
+            if (read < 0) {
+                exhausted = true;
+                return false;
+            }
+            limit += read;
+        }
+        return true;
+    }
+
+    /**
+     * Read next bytes of source data into the buffer.
+     * @param buffer Buffer.
+     * @param offset Index of the first byte to be written.
+     * @param length Maximum amount of bytes to be read.
+     * @return Amount of bytes read or -1 if the end of data is reached.
+     */
+    protected int read(byte[] buffer, int offset, int length) {
+        return -1;
+    }
+
+    /**
+     * Decode char at current position.
+     */
+    protected void decode() {
+        if (!require(1)) {
+            current = 0;
+            width = 0;
+            return;
+        }
+        byte b = data[position];
+        if (b >= 0) {
+            current = (char)b;
+            width = 1;
+        }
+        else
+            decodeSequence(b & 0xFF);
+    }
+
+    /**
+     * Decode multibyte sequence at current position.
+     * @param b First byte of the sequence.
+     */
+    private void decodeSequence(int b) {
+        if (b >= 0xC2 && b <= 0xDF) {
+            if (require(2)) {
+                int b1 = data[position + 1];
+                if (isContinuation(b1)) {
+                    current = (char)(((b & 0x1F) << 6) | (b1 & 0x3F));
+                    width = 2;
+                    return;
+                }
+            }
+        }
+        else if (b >= 0xE0 && b <= 0xEF) {
+            if (require(3)) {
+                int b1 = data[position + 1];
+                int b2 = data[position + 2];
+                if (isContinuation(b1) && isContinuation(b2)) {
+                    int cp = ((b & 0x0F) << 12) | ((b1 & 0x3F) << 6) | (b2 & 0x3F);
+                    if (cp >= 0x800 && !Character.isSurrogate((char)cp)) {
+                        current = (char)cp;
+                        width = 3;
+                        return;
+                    }
+                }
+            }
+        }
+        else if (b >= 0xF0 && b <= 0xF4) {
+            if (require(4)) {
+                int b1 = data[position + 1];
+                int b2 = data[position + 2];
+                int b3 = data[position + 3];
+                if (isContinuation(b1) && isContinuation(b2) && isContinuation(b3)) {
+                    int cp = ((b & 0x07) << 18) | ((b1 & 0x3F) << 12) | ((b2 & 0x3F) << 6) | (b3 & 0x3F);
+                    if (cp >= 0x10000 && cp <= 0x10FFFF) {
+                        current = Character.highSurrogate(cp);
+                        low = Character.lowSurrogate(cp);
+                        width = 4;
+                        return;
+                    }
+                }
+            }
+        }
+        current = REPLACEMENT;
+        width = 1;
+    }
+
+    /**
+     * Check if byte is a continuation byte of multibyte sequence.
+     * @param b Byte.
+     * @return TRUE if byte has 10xxxxxx form.
+     */
+    static private boolean isContinuation(int b) {
+        return (b & 0xC0) == 0x80;
+    }
+}
@@ -0,0 +1,511 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Polina Volkhontseva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.keepcalmandjson.types;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * List of array elements. Arrays of integers, of numbers or of booleans only are kept packed
+ * in primitive arrays, their elements are created on first access and kept. A packed list is expanded
+ * into elements when an element of another type is added, the list is changed by position
+ * or it is used as a List, see {@link #unpack()}.
+ */
+final class ElementList extends AbstractList<JsonElement> implements RandomAccess {
+
+    /**
+     * Mode of the empty list.
+     */
+    static private final int EMPTY = 0;
+
+    /**
+     * Mode of the list of elements.
+     */
+    static private final int ELEMENTS = 1;
+
+    /**
+     * Mode of the list of long integers.
+     */
+    static private final int LONGS = 2;
+
+    /**
+     * Mode of the list of numbers, the integers among them are marked by bits.
+     */
+    static private final int DOUBLES = 3;
+
+    /**
+     * Mode of the list of booleans kept as bits.
+     */
+    static private final int BOOLEANS = 4;
+
+    /**
+     * Maximum absolute value of integers which are exactly kept as double values.
+     */
+    static private final long MAX_EXACT_LONG = 1L << 53;
+
+    /**
+     * Initial capacity of the arrays.
+     */
+    static private final int INITIAL_CAPACITY = 8;
+
+    /**
+     * Array which is the parent of the elements.
+     */
+    private final JsonArray owner;
+
+    /**
+     * Flag indicating that elements created of packed values have no parent,
+     * shared {@link JsonBoolean#TRUE} and {@link JsonBoolean#FALSE} are used for booleans then.
+     */
+    private final boolean withoutParents;
+
+    /**
+     * Mode of the list.
+     */
+    private int mode;
+
+    /**
+     * Amount of elements.
+     */
+    private int size;
+
+    /**
+     * Elements in the ELEMENTS mode.
+     */
+    private JsonElement[] elements;
+
+    /**
+     * Values in the LONGS mode.
+     */
+    private long[] longs;
+
+    /**
+     * Values in the DOUBLES mode.
+     */
+    private double[] doubles;
+
+    /**
+     * Values in the BOOLEANS mode, or integer marks in the DOUBLES mode.
+     */
+    private long[] bits;
+
+    /**
+     * Elements created of packed values, null for values not accessed yet or if none is accessed.
+     */
+    private JsonElement[] views;
+
+    /**
+     * Constructor.
+     * @param owner Array which is the parent of the elements.
+     * @param withoutParents TRUE if elements created of packed values have no parent.
+     */
+    ElementList(JsonArray owner, boolean withoutParents) {
+        this.owner = owner;
+        this.withoutParents = withoutParents;
+    }
+
+    /**
+     * Check if elements created of packed values have no parent.
+     * @return TRUE if the elements have no parent.
+     */
+    boolean isWithoutParents() {
+        return withoutParents;
+    }
+
+
+    /**
+     * Check if the values are kept packed.
+     * @return TRUE if the list contains only numbers or only booleans.
+     */
+    boolean isPacked() {
+        return mode > ELEMENTS;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public JsonElement get(int index) {
+        checkIndex(index);
+        if (mode == ELEMENTS)
+            return elements[index];
+        if (views == null)
+            views = new JsonElement[size];
+        else if (views.length < size)
+            views = Arrays.copyOf(views, Math.max(size, views.length * 2));
+        JsonElement view = views[index];
+        if (view == null) {
+            view = create(index);
+            views[index] = view;
+        }
+        return view;
+    }
+
+    /**
+     * Create an element of a packed value.
+     * @param index Index of the value.
+     * @return JsonElement element.
+     */
+    private JsonElement create(int index) {
+        JsonArray parent = withoutParents ? null : owner;
+        switch(mode) {
+            case LONGS:
+                return new JsonNumber(parent, longs[index]);
+            case DOUBLES:
+                if (getBit(index))
+                    return new JsonNumber(parent, (long)doubles[index]);
+                return new JsonNumber(parent, doubles[index]);
+            case BOOLEANS:
+                if (withoutParents)
+                    return getBit(index) ? JsonBoolean.TRUE : JsonBoolean.FALSE;
+                return new JsonBoolean(parent, getBit(index));
+            default:
+                return elements[index];
+        }
+    }
+
+    public boolean add(JsonElement elem) {
+        expand();
+        ensureCapacity(size + 1);
+        elements[size++] = elem;
+        modCount++;
+        return true;
+    }
+
+    public void add(int index, JsonElement elem) {
+        if (index < 0 || index > size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        expand();
+        ensureCapacity(size + 1);
+        System.arraycopy(elements, index, elements, index + 1, size - index);
+        elements[index] = elem;
+        size++;
+        modCount++;
+    }
+
+    public JsonElement set(int index, JsonElement elem) {
+        checkIndex(index);
+        expand();
+        JsonElement old = elements[index];
+        elements[index] = elem;
+        return old;
+    }
+
+    public JsonElement remove(int index) {
+        checkIndex(index);
+        expand();
+        JsonElement old = elements[index];
+        System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+        elements[--size] = null;
+        modCount++;
+        return old;
+    }
+
+    public void clear() {
+        mode = EMPTY;
+        size = 0;
+        elements = null;
+        longs = null;
+        doubles = null;
+        bits = null;
+        views = null;
+        modCount++;
+    }
+
+    /**
+     * Add a long integer value.
+     * @param value Long value.
+     */
+    void addLong(long value) {
+        if (mode == EMPTY) {
+            mode = LONGS;
+            longs = new long[INITIAL_CAPACITY];
+        }
+        else if (mode == DOUBLES && value >= -MAX_EXACT_LONG && value <= MAX_EXACT_LONG) {
+            ensureCapacity(size + 1);
+            setBit(size);
+            doubles[size++] = value;
+            modCount++;
+            return;
+        }
+        if (mode != LONGS) {
+            add(new JsonNumber(withoutParents ? null : owner, value));
+            return;
+        }
+        ensureCapacity(size + 1);
+        longs[size++] = value;
+        modCount++;
+    }
+
+    /**
+     * Add a double value.
+     * @param value Double value.
+     */
+    void addDouble(double value) {
+        if (mode == EMPTY) {
+            mode = DOUBLES;
+            doubles = new double[INITIAL_CAPACITY];
+        }
+        else if (mode == LONGS && !toDoubles()) {
+            add(new JsonNumber(withoutParents ? null : owner, value));
+            return;
+        }
+        if (mode != DOUBLES) {
+            add(new JsonNumber(withoutParents ? null : owner, value));
+            return;
+        }
+        ensureCapacity(size + 1);
+        doubles[size++] = value;
+        modCount++;
+    }
+
+    /**
+     * Add a boolean value.
+     * @param value Boolean value.
+     */
+    void addBoolean(boolean value) {
+        if (mode == EMPTY) {
+            mode = BOOLEANS;
+            bits = new long[1];
+        }
+        if (mode != BOOLEANS) {
+            if (withoutParents)
+                add(value ? JsonBoolean.TRUE : JsonBoolean.FALSE);
+            else
+                add(new JsonBoolean(owner, value));
+            return;
+        }
+        ensureCapacity(size + 1);
+        if (value)
+            setBit(size);
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Get double values of all the elements.
+     * @return Array of double values.
+     */
+    double[] toDoubleArray() {
+        double[] result = new double[size];
+        switch(mode) {
+            case LONGS:
+                for (int i = 0; i < size; i++)
+                    result[i] = longs[i];
+                break;
+            case DOUBLES:
+                System.arraycopy(doubles, 0, result, 0, size);
+                break;
+            case ELEMENTS:
+                for (int i = 0; i < size; i++)
+                    result[i] = elements[i].getDoubleValue();
+                break;
+        }
+        return result;
+    }
+
+    /**
+     * Get long values of all the elements.
+     * @return Array of long values.
+     */
+    long[] toLongArray() {
+        long[] result = new long[size];
+        switch(mode) {
+            case LONGS:
+                System.arraycopy(longs, 0, result, 0, size);
+                break;
+            case DOUBLES:
+                for (int i = 0; i < size; i++) {
+                    long value = (long)doubles[i];
+                    result[i] = value == doubles[i] ? value : 0;
+                }
+                break;
+            case ELEMENTS:
+                for (int i = 0; i < size; i++)
+                    result[i] = elements[i].getLongValue();
+                break;
+        }
+        return result;
+    }
+
+    /**
+     * Get boolean values of all the elements.
+     * @return Array of boolean values.
+     */
+    boolean[] toBooleanArray() {
+        boolean[] result = new boolean[size];
+        switch(mode) {
+            case BOOLEANS:
+                for (int i = 0; i < size; i++)
+                    result[i] = getBit(i);
+                break;
+            case ELEMENTS:
+                for (int i = 0; i < size; i++)
+                    result[i] = elements[i].getBooleanValue();
+                break;
+        }
+        return result;
+    }
+
+    /**
+     * Convert an element to a string format without creating packed elements.
+     * @param writer JsonWriter receiving a string representation of the element.
+     * @param index Index of the element.
+     * @param indent Indention value, or -1 for the format without indents.
+     */
+    void buildElement(JsonWriter writer, int index, int indent) {
+        switch(mode) {
+            case LONGS:
+                writer.append(longs[index]);
+                break;
+            case DOUBLES:
+                if (getBit(index))
+                    writer.append((long)doubles[index]);
+                else
+                    JsonElement.buildJsonNumber(writer, doubles[index]);
+                break;
+            case BOOLEANS:
+                writer.append(getBit(index));
+                break;
+            default:
+                if (indent < 0)
+                    elements[index].buildString(writer);
+                else
+                    elements[index].buildString(writer, indent);
+                break;
+        }
+    }
+
+    /**
+     * Convert the list of long integers to the list of numbers if all the values are exactly kept.
+     * @return TRUE if the list is converted.
+     */
+    private boolean toDoubles() {
+        for (int i = 0; i < size; i++) {
+            if (longs[i] < -MAX_EXACT_LONG || longs[i] > MAX_EXACT_LONG)
+                return false;
+        }
+        doubles = new double[longs.length];
+        bits = new long[(longs.length + 63) >>> 6];
+        for (int i = 0; i < size; i++) {
+            doubles[i] = longs[i];
+            setBit(i);
+        }
+        longs = null;
+        mode = DOUBLES;
+        return true;
+    }
+
+    /**
+     * Convert a packed list to the list of elements, so the elements keep their identity
+     * when the list is used as a List.
+     * @return This list.
+     */
+    ElementList unpack() {
+        expand();
+        return this;
+    }
+
+    /**
+     * Convert a packed list to the list of elements.
+     */
+    private void expand() {
+        if (mode == ELEMENTS)
+            return;
+        JsonElement[] result = new JsonElement[Math.max(size, INITIAL_CAPACITY)];
+        for (int i = 0; i < size; i++)
+            result[i] = get(i);
+        elements = result;
+        longs = null;
+        doubles = null;
+        bits = null;
+        views = null;
+        mode = ELEMENTS;
+    }
+
+    /**
+     * Ensure the arrays of the current mode have the specified capacity.
+     * @param capacity Required amount of values.
+     */
+    private void ensureCapacity(int capacity) {
+        switch(mode) {
+            case LONGS:
+                if (capacity > longs.length)
+                    longs = Arrays.copyOf(longs, Math.max(capacity, longs.length * 2));
+                break;
+            case DOUBLES:
+                if (capacity > doubles.length)
+                    doubles = Arrays.copyOf(doubles, Math.max(capacity, doubles.length * 2));
+                ensureBits(capacity);
+                break;
+            case BOOLEANS:
+                ensureBits(capacity);
+                break;
+            default:
+                if (capacity > elements.length)
+                    elements = Arrays.copyOf(elements, Math.max(capacity, elements.length * 2));
+                break;
+        }
+    }
+
+    /**
+     * Ensure the bits have the specified capacity.
+     * @param capacity Required amount of bits.
+     */
+    private void ensureBits(int capacity) {
+        int words = (capacity + 63) >>> 6;
+        if (bits == null)
+            bits = new long[Math.max(words, 1)];
+        else if (words > bits.length)
+            bits = Arrays.copyOf(bits, Math.max(words, bits.length * 2));
+    }
+
+    /**
+     * Get the bit at the specified position.
+     * @param index Index of the bit.
+     * @return TRUE if the bit is set.
+     */
+    private boolean getBit(int index) {
+        return bits != null && (bits[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Set the bit at the specified position.
+     * @param index Index of the bit.
+     */
+    private void setBit(int index) {
+        bits[index >>> 6] |= 1L << index;
+    }
+
+    /**
+     * Check if the index is within the list.
+     * @param index Index of the element.
+     * @throws IndexOutOfBoundsException If the index is out of the list.
+     */
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+}
@@ -23,7 +23,6 @@
  */
 package org.cqfn.keepcalmandjson.types;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -32,60 +31,123 @@ import java.util.List;
 public final class JsonArray extends JsonContainer {
 
     /**
-     * List of JSON array elements.
+     * List of JSON array elements, packed if they are only numbers or only booleans.
      */
-    private final List<JsonElement> elements;
+    private final ElementList elements;
 
     /**
      * Constructor.
      * @param parent Parent JsonElement.
      */
     public JsonArray(JsonElement parent) {
+        this(parent, false);
+    }
+
+    /**
+     * Constructor of array which elements created of packed numbers or booleans have no parent,
+     * as of elements parsed without parent links. The option can't be changed later.
+     * @param parent Parent JsonElement.
+     * @param withoutParents TRUE if elements created of packed values have no parent.
+     */
+    public JsonArray(JsonElement parent, boolean withoutParents) {
         super(parent);
-        elements = new ArrayList<JsonElement>();
+        elements = new ElementList(this, withoutParents);
+    }
+
+    /**
+     * Constructor of array which elements are loaded on first access.
+     * @param parent Parent JsonElement.
+     * @param loader Loader of array elements.
+     */
+    public JsonArray(JsonElement parent, Loader loader) {
+        super(parent, loader);
+        elements = new ElementList(this, false);
+    }
+
+    /**
+     * Remove all the array elements without loading them.
+     */
+    protected void removeElements() {
+        elements.clear();
     }
 
     /**
      * Convert array to a string format.
-     * @param sb StringBuilder containing a string representation of JSON array.
-     */
-    protected void buildString(StringBuilder sb) {
-        sb.append('[');
-        boolean flag = false;
-        for (JsonElement elem : elements) {
-            if (flag)
-            {
-                sb.append(',');
-            }
-            elem.buildString(sb);
-            flag = true;
-        }
-        sb.append(']');
+     * @param writer JsonWriter receiving a string representation of JSON array.
+     */
+    protected void buildString(JsonWriter writer) {
+        buildTree(writer, -1);
     }
 
     /**
      * Convert array to a string format with indention.
-     * @param sb StringBuilder containing a string representation of JSON array.
+     * @param writer JsonWriter receiving a string representation of JSON array.
      * @param indent Indention value.
      */
-    protected void buildString(StringBuilder sb, int indent) {
+    protected void buildString(JsonWriter writer, int indent) {
+        buildTree(writer, indent);
+    }
+
+    /**
+     * Write the beginning of the array, or the whole array if it is empty.
+     * @param writer JsonWriter receiving a string representation of JSON array.
+     * @param indent Indention value, or -1 for the format without indents.
+     * @return TRUE if the array is not empty.
+     */
+    protected boolean buildStart(JsonWriter writer, int indent) {
+        load();
         if (elements.isEmpty()) {
-            sb.append("[ ]");
-            return;
+            writer.append(indent < 0 ? "[]" : "[ ]");
+            return false;
+        }
+        writer.append('[');
+        return true;
+    }
+
+    /**
+     * Get the order in which the elements are written.
+     * @param writer JsonWriter receiving a string representation of JSON array.
+     * @return NULL for the natural order.
+     */
+    protected int[] buildOrder(JsonWriter writer) {
+        return null;
+    }
+
+    /**
+     * Write an element of the array with the preceding separator.
+     * @param writer JsonWriter receiving a string representation of JSON array.
+     * @param index Position of the element.
+     * @param order Not used.
+     * @param indent Indention value of the array, or -1 for the format without indents.
+     * @return Nested JsonContainer to be written, or null if the element is written.
+     */
+    protected JsonContainer buildItem(JsonWriter writer, int index, int[] order, int indent) {
+        if (index > 0)
+            writer.append(',');
+        if (indent >= 0) {
+            writer.append('\n');
+            buildIndent(writer, indent + 1);
         }
-        sb.append('[');
-        boolean flag = false;
-        for (JsonElement elem : elements) {
-            if (flag)
-                sb.append(',');
-            sb.append('\n');
-            buildIndent(sb, indent + 1);
-            elem.buildString(sb, indent + 1);
-            flag = true;
+        if (!elements.isPacked()) {
+            JsonContainer jc = elements.get(index).toJsonContainer();
+            if (jc != null)
+                return jc;
         }
-        sb.append('\n');
-        buildIndent(sb, indent);
-        sb.append(']');
+        elements.buildElement(writer, index, indent < 0 ? -1 : indent + 1);
+        return null;
+    }
+
+    /**
+     * Write the end of the array.
+     * @param writer JsonWriter receiving a string representation of JSON array.
+     * @param indent Indention value, or -1 for the format without indents.
+     */
+    protected void buildEnd(JsonWriter writer, int indent) {
+        if (indent >= 0) {
+            writer.append('\n');
+            buildIndent(writer, indent);
+        }
+        writer.append(']');
     }
 
     /**
@@ -101,15 +163,18 @@ public final class JsonArray extends JsonContainer {
      * @return Int value of array elements amount.
      */
     public int size() {
+        load();
         return elements.size();
     }
 
     /**
      * Get the element at the specified position.
+     * An element of a packed array is created on first access and kept, so it is the same object every time.
      * @param index Index of the element.
      * @return JsonElement at the index position.
      */
     public JsonElement getElementAt(int index) {
+        load();
         return elements.get(index);
     }
 
@@ -118,6 +183,7 @@ public final class JsonArray extends JsonContainer {
      * @return TRUE if array is empty.
      */
     public boolean isEmpty() {
+        load();
         return elements.isEmpty();
     }
 
@@ -127,6 +193,7 @@ public final class JsonArray extends JsonContainer {
      * @return Created JsonString object.
      */
     public JsonString createStringElement(String value) {
+        load();
         JsonString elem = new JsonString(this, value);
         elements.add(elem);
         return elem;
@@ -138,6 +205,19 @@ public final class JsonArray extends JsonContainer {
      * @return Created JsonNumber object.
      */
     public JsonNumber createNumberElement(double value) {
+        load();
+        JsonNumber elem = new JsonNumber(this, value);
+        elements.add(elem);
+        return elem;
+    }
+
+    /**
+     * Create JsonNumber element and add it to the array.
+     * @param value Long value of number.
+     * @return Created JsonNumber object.
+     */
+    public JsonNumber createNumberElement(long value) {
+        load();
         JsonNumber elem = new JsonNumber(this, value);
         elements.add(elem);
         return elem;
@@ -149,6 +229,7 @@ public final class JsonArray extends JsonContainer {
      * @return Created JsonBoolean object.
      */
     public JsonBoolean createBooleanElement(boolean value) {
+        load();
         JsonBoolean elem = new JsonBoolean(this, value);
         elements.add(elem);
         return elem;
@@ -159,6 +240,7 @@ public final class JsonArray extends JsonContainer {
      * @return Created JsonNull object.
      */
     public JsonNull createNullElement() {
+        load();
         JsonNull elem = new JsonNull(this);
         elements.add(elem);
         return elem;
@@ -169,6 +251,7 @@ public final class JsonArray extends JsonContainer {
      * @return Created empty JsonObject object.
      */
     public JsonObject createObjectElement() {
+        load();
         JsonObject elem = new JsonObject(this);
         elements.add(elem);
         return elem;
@@ -179,6 +262,7 @@ public final class JsonArray extends JsonContainer {
      * @return Created empty JsonArray object.
      */
     public JsonArray createArrayElement() {
+        load();
         JsonArray elem = new JsonArray(this);
         elements.add(elem);
         return elem;
@@ -189,6 +273,7 @@ public final class JsonArray extends JsonContainer {
      * @param elem JsonElement element.
      */
     public void addArrayElement(JsonElement elem) {
+        load();
         elem.setParent(this);
         elements.add(elem);
     }
@@ -198,15 +283,84 @@ public final class JsonArray extends JsonContainer {
      * @param elem JsonElement element.
      */
     public void addElement(JsonElement elem) {
+        load();
         elements.add(elem);
     }
 
+    /**
+     * Add a long integer number to the array without creating an element.
+     * Arrays of numbers only are kept packed, their elements are created on access.
+     * @param value Long value of number.
+     */
+    public void addNumber(long value) {
+        load();
+        elements.addLong(value);
+    }
+
+    /**
+     * Add a number to the array without creating an element.
+     * Arrays of numbers only are kept packed, their elements are created on access.
+     * @param value Double value of number.
+     */
+    public void addNumber(double value) {
+        load();
+        elements.addDouble(value);
+    }
+
+    /**
+     * Add a boolean value to the array without creating an element.
+     * Arrays of booleans only are kept packed, their elements are created on access.
+     * @param value Boolean value.
+     */
+    public void addBoolean(boolean value) {
+        load();
+        elements.addBoolean(value);
+    }
+
+    /**
+     * Check if the array is kept packed.
+     * @return TRUE if the array contains only numbers or only booleans added as values.
+     */
+    public boolean isPacked() {
+        load();
+        return elements.isPacked();
+    }
+
+    /**
+     * Get double values of all the array elements, 0 for elements which are not numbers.
+     * @return Array of double values.
+     */
+    public double[] toDoubleArray() {
+        load();
+        return elements.toDoubleArray();
+    }
+
+    /**
+     * Get long values of all the array elements, 0 for elements which are not long integers.
+     * @return Array of long values.
+     */
+    public long[] toLongArray() {
+        load();
+        return elements.toLongArray();
+    }
+
+    /**
+     * Get boolean values of all the array elements, FALSE for elements which are not booleans.
+     * @return Array of boolean values.
+     */
+    public boolean[] toBooleanArray() {
+        load();
+        return elements.toBooleanArray();
+    }
+
     /**
      * Get all the array elements.
+     * A packed array is expanded into elements, so they keep their identity in the list.
      * @return  List of array elements.
      */
     public List<JsonElement> getArrayElements() {
-        return elements;
+        load();
+        return elements.unpack();
     }
 }
 
@@ -28,6 +28,16 @@ package org.cqfn.keepcalmandjson.types;
  */
 public final class JsonBoolean extends JsonElement {
 
+    /**
+     * Shared TRUE element without parent, its parent is never set.
+     */
+    static public final JsonBoolean TRUE = new JsonBoolean(null, true);
+
+    /**
+     * Shared FALSE element without parent, its parent is never set.
+     */
+    static public final JsonBoolean FALSE = new JsonBoolean(null, false);
+
     /**
      * JSON boolean element value.
      */
@@ -43,21 +53,30 @@ public final class JsonBoolean extends JsonElement {
         this.value = value;
     }
 
+    /**
+     * Set the parent of the element, shared elements keep no parent.
+     * @param elem Parent JsonElement.
+     */
+    protected void setParent(JsonElement elem) {
+        if (this != TRUE && this != FALSE)
+            super.setParent(elem);
+    }
+
     /**
      * Convert JsonBoolean to a string format.
-     * @param sb StringBuilder containing a string representation of JSON boolean type.
+     * @param writer JsonWriter receiving a string representation of JSON boolean type.
      */
-    protected void buildString(StringBuilder sb) {
-        sb.append(value);
+    protected void buildString(JsonWriter writer) {
+        writer.append(value);
     }
 
     /**
      * Convert JsonBoolean to a string format with indention.
-     * @param sb StringBuilder containing a string representation of JSON boolean type.
+     * @param writer JsonWriter receiving a string representation of JSON boolean type.
      * @param indent Indention value.
      */
-    protected void buildString(StringBuilder sb, int indent) {
-        sb.append(value);
+    protected void buildString(JsonWriter writer, int indent) {
+        writer.append(value);
     }
 
     /**
@@ -23,11 +23,40 @@
  */
 package org.cqfn.keepcalmandjson.types;
 
+import java.util.Arrays;
+
 /**
  * JSON abstract container of JSON elements, e.g. JSON array and JSON object types.
  */
 public abstract class JsonContainer extends JsonElement {
 
+    /**
+     * Initial capacity of the stack of containers being converted to a string format.
+     */
+    static private final int STACK_SIZE = 16;
+
+    /**
+     * Loader of container elements.
+     */
+    public interface Loader {
+
+        /**
+         * Add elements to the container.
+         * @param container Container being loaded.
+         */
+        void load(JsonContainer container);
+    }
+
+    /**
+     * Loader of container elements, or null if elements are already loaded.
+     */
+    private volatile Loader loader;
+
+    /**
+     * Flag indicating that elements are being added by the loader.
+     */
+    private boolean loading;
+
     /**
      * Constructor.
      * @param parent Parent JsonElement.
@@ -36,6 +65,60 @@ public abstract class JsonContainer extends JsonElement {
         super(parent);
     }
 
+    /**
+     * Constructor of container which elements are loaded on first access.
+     * Elements are loaded once, other threads accessing the container wait for the end of loading.
+     * @param parent Parent JsonElement.
+     * @param loader Loader of container elements.
+     */
+    public JsonContainer(JsonElement parent, Loader loader) {
+        super(parent);
+        this.loader = loader;
+    }
+
+    /**
+     * Check if container elements are loaded.
+     * @return TRUE if container elements are loaded.
+     */
+    public boolean isLoaded() {
+        return loader == null;
+    }
+
+    /**
+     * Load container elements if they are not loaded yet.
+     */
+    protected void load() {
+        if (loader != null)
+            loadElements();
+    }
+
+    /**
+     * Add elements by the loader, the container is loaded only if the loader succeeds.
+     * If the loader fails, the added elements are removed and the container is loaded on next access again.
+     */
+    private synchronized void loadElements() {
+        Loader l = loader;
+        if (l == null || loading)
+            return;
+        loading = true;
+        try {
+            l.load(this);
+            loader = null;
+        }
+        catch (RuntimeException | Error e) {
+            removeElements();
+            throw e;
+        }
+        finally {
+            loading = false;
+        }
+    }
+
+    /**
+     * Remove all the elements without loading them.
+     */
+    protected abstract void removeElements();
+
     /**
      * Convert JsonElement object to JsonContainer.
      * @return Self.
@@ -55,4 +138,78 @@ public abstract class JsonContainer extends JsonElement {
      * @return TRUE if container is empty.
      */
     public abstract boolean isEmpty();
+
+    /**
+     * Convert container to a string format. Nested containers are kept in a stack
+     * instead of recursive calls, so deep data can't overflow the thread stack.
+     * @param writer JsonWriter receiving a string representation of JSON container.
+     * @param indent Indention value, or -1 for the format without indents.
+     */
+    protected void buildTree(JsonWriter writer, int indent) {
+        if (!buildStart(writer, indent))
+            return;
+        JsonContainer[] containers = new JsonContainer[STACK_SIZE];
+        int[][] orders = new int[STACK_SIZE][];
+        int[] positions = new int[STACK_SIZE];
+        containers[0] = this;
+        orders[0] = buildOrder(writer);
+        int depth = 1;
+        while (depth > 0) {
+            JsonContainer top = containers[depth - 1];
+            int level = indent < 0 ? -1 : indent + depth - 1;
+            int i = positions[depth - 1];
+            if (i == top.size()) {
+                top.buildEnd(writer, level);
+                containers[--depth] = null;
+                orders[depth] = null;
+                continue;
+            }
+            positions[depth - 1]++;
+            JsonContainer child = top.buildItem(writer, i, orders[depth - 1], level);
+            if (child == null || !child.buildStart(writer, level < 0 ? -1 : level + 1))
+                continue;
+            if (depth == containers.length) {
+                containers = Arrays.copyOf(containers, depth * 2);
+                orders = Arrays.copyOf(orders, depth * 2);
+                positions = Arrays.copyOf(positions, depth * 2);
+            }
+            containers[depth] = child;
+            orders[depth] = child.buildOrder(writer);
+            positions[depth] = 0;
+            depth++;
+        }
+    }
+
+    /**
+     * Write the beginning of the container, or the whole container if it is empty.
+     * @param writer JsonWriter receiving a string representation of JSON container.
+     * @param indent Indention value, or -1 for the format without indents.
+     * @return TRUE if the elements and the end of the container should be written then.
+     */
+    protected abstract boolean buildStart(JsonWriter writer, int indent);
+
+    /**
+     * Get the order in which the elements are written.
+     * @param writer JsonWriter receiving a string representation of JSON container.
+     * @return Indexes of the elements in the written order, or null for the natural order.
+     */
+    protected abstract int[] buildOrder(JsonWriter writer);
+
+    /**
+     * Write an element of the container with the preceding separator.
+     * A nested container which is not empty is not written, but returned to be written by the caller.
+     * @param writer JsonWriter receiving a string representation of JSON container.
+     * @param index Position of the element being written.
+     * @param order Indexes of the elements in the written order, or null for the natural order.
+     * @param indent Indention value of the container, or -1 for the format without indents.
+     * @return Nested JsonContainer to be written, or null if the element is written.
+     */
+    protected abstract JsonContainer buildItem(JsonWriter writer, int index, int[] order, int indent);
+
+    /**
+     * Write the end of the container.
+     * @param writer JsonWriter receiving a string representation of JSON container.
+     * @param indent Indention value, or -1 for the format without indents.
+     */
+    protected abstract void buildEnd(JsonWriter writer, int indent);
 }
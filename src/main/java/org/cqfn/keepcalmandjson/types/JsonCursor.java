@@ -0,0 +1,111 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Polina Volkhontseva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.keepcalmandjson.types;
+
+import java.util.ArrayList;
+
+/**
+ * Cursor moving over JSON elements and keeping the path from the root element,
+ * so parents are known for elements parsed without parent links.
+ */
+public final class JsonCursor {
+
+    /**
+     * Elements on the path from the root element to the current one.
+     */
+    private final ArrayList<JsonElement> path;
+
+    /**
+     * Constructor.
+     * @param root Root JsonElement.
+     */
+    public JsonCursor(JsonElement root) {
+        path = new ArrayList<>();
+        path.add(root);
+    }
+
+    /**
+     * Get the current element.
+     * @return Current JsonElement.
+     */
+    public JsonElement getElement() {
+        return path.get(path.size() - 1);
+    }
+
+    /**
+     * Get the parent of the current element on the path.
+     * @return Parent JsonElement, or null for the root element.
+     */
+    public JsonElement getParent() {
+        return path.size() > 1 ? path.get(path.size() - 2) : null;
+    }
+
+    /**
+     * Get the depth of the current element.
+     * @return Depth, zero for the root element.
+     */
+    public int getDepth() {
+        return path.size() - 1;
+    }
+
+    /**
+     * Move to the member of the current object with the specified key.
+     * @param key String value of a key.
+     * @return TRUE if the current element is an object containing the key.
+     */
+    public boolean moveToKey(String key) {
+        JsonObject obj = getElement().toJsonObject();
+        if (obj == null)
+            return false;
+        JsonElement elem = obj.getElementByKey(key);
+        if (elem == null)
+            return false;
+        path.add(elem);
+        return true;
+    }
+
+    /**
+     * Move to the element of the current array at the specified position.
+     * @param index Index of the element.
+     * @return TRUE if the current element is an array containing the index.
+     */
+    public boolean moveToIndex(int index) {
+        JsonArray arr = getElement().toJsonArray();
+        if (arr == null || index < 0 || index >= arr.size())
+            return false;
+        path.add(arr.getElementAt(index));
+        return true;
+    }
+
+    /**
+     * Move to the parent of the current element.
+     * @return TRUE if the current element is not the root element.
+     */
+    public boolean moveToParent() {
+        if (path.size() < 2)
+            return false;
+        path.remove(path.size() - 1);
+        return true;
+    }
+}
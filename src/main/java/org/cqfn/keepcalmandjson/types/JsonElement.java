@@ -23,11 +23,35 @@
  */
 package org.cqfn.keepcalmandjson.types;
 
+import java.nio.ByteBuffer;
+
 /**
  * JSON abstract element.
  */
 public abstract class JsonElement {
 
+    /**
+     * Escape sequences of ASCII chars, null for chars which are not escaped.
+     */
+    static private final String[] ESCAPES = new String[128];
+
+    /**
+     * Lowercase hexadecimal digits.
+     */
+    static private final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    static {
+        for (int c = 0; c < ' '; c++)
+            ESCAPES[c] = String.format("\\u%04x", c);
+        ESCAPES['"'] = "\\\"";
+        ESCAPES['\\'] = "\\\\";
+        ESCAPES['\b'] = "\\b";
+        ESCAPES['\f'] = "\\f";
+        ESCAPES['\n'] = "\\n";
+        ESCAPES['\r'] = "\\r";
+        ESCAPES['\t'] = "\\t";
+    }
+
     /**
      * JsonElement parent of current element.
      */
@@ -54,8 +78,19 @@ public abstract class JsonElement {
      * @return String containing a string representation of JSON element.
      */
     public String toString() {
+        return toString(true);
+    }
+
+    /**
+     * Convert element to a string format.
+     * @param escapeUnicode TRUE if non-ASCII chars are escaped, FALSE if they are kept as is.
+     * @return String containing a string representation of JSON element.
+     */
+    public String toString(boolean escapeUnicode) {
         StringBuilder sb = new StringBuilder();
-        buildString(sb);
+        JsonWriter writer = JsonWriter.toStringBuilder(sb, escapeUnicode);
+        buildString(writer);
+        writer.writeChunkUnchecked();
         return sb.toString();
     }
 
@@ -64,11 +99,75 @@ public abstract class JsonElement {
      * @return String containing a string representation of JSON element with all indents.
      */
     public String toStringWithIndents() {
+        return toStringWithIndents(true);
+    }
+
+    /**
+     * Convert element to a string format with indents.
+     * @param escapeUnicode TRUE if non-ASCII chars are escaped, FALSE if they are kept as is.
+     * @return String containing a string representation of JSON element with all indents.
+     */
+    public String toStringWithIndents(boolean escapeUnicode) {
+        StringBuilder sb = new StringBuilder();
+        JsonWriter writer = JsonWriter.toStringBuilder(sb, escapeUnicode);
+        buildString(writer, 0);
+        writer.writeChunkUnchecked();
+        return sb.toString();
+    }
+
+    /**
+     * Convert element to a canonical string format, without indents and with object members sorted by keys.
+     * @return String containing a canonical string representation of JSON element.
+     */
+    public String toCanonicalString() {
         StringBuilder sb = new StringBuilder();
-        buildString(sb, 0);
+        JsonWriter writer = JsonWriter.toStringBuilder(sb, true);
+        writer.setSortKeys(true);
+        buildString(writer);
+        writer.writeChunkUnchecked();
         return sb.toString();
     }
 
+    /**
+     * Convert element to UTF-8 bytes of its string format, without an intermediate string.
+     * @return Array of bytes.
+     */
+    public byte[] toUtf8Bytes() {
+        return JsonWriter.toUtf8Bytes(this, true);
+    }
+
+    /**
+     * Convert element to UTF-8 bytes of its string format, without an intermediate string.
+     * @param escapeUnicode TRUE if non-ASCII chars are escaped, FALSE if they are kept as is.
+     * @return Array of bytes.
+     */
+    public byte[] toUtf8Bytes(boolean escapeUnicode) {
+        return JsonWriter.toUtf8Bytes(this, escapeUnicode);
+    }
+
+    /**
+     * Write UTF-8 bytes of the element string format into a buffer.
+     * @param buffer Byte buffer receiving the bytes from its position.
+     * @return Amount of written bytes.
+     * @throws java.nio.BufferOverflowException If the buffer has not enough space, its position is not changed then,
+     *  but the bytes after the position may be overwritten.
+     */
+    public int writeTo(ByteBuffer buffer) {
+        return JsonWriter.writeTo(this, buffer, true);
+    }
+
+    /**
+     * Write UTF-8 bytes of the element string format into a buffer.
+     * @param buffer Byte buffer receiving the bytes from its position.
+     * @param escapeUnicode TRUE if non-ASCII chars are escaped, FALSE if they are kept as is.
+     * @return Amount of written bytes.
+     * @throws java.nio.BufferOverflowException If the buffer has not enough space, its position is not changed then,
+     *  but the bytes after the position may be overwritten.
+     */
+    public int writeTo(ByteBuffer buffer, boolean escapeUnicode) {
+        return JsonWriter.writeTo(this, buffer, escapeUnicode);
+    }
+
     /**
      * Get a string value of the element.
      * @return String value of JSON element.
@@ -181,58 +280,72 @@ public abstract class JsonElement {
         return null;
     }
 
+    /**
+     * Convert the element to a JsonNumber.
+     * @return NULL.
+     */
+    public JsonNumber toJsonNumber() {
+        return null;
+    }
+
     /**
      * Add indention to string representation of JSON element.
-     * @param sb StringBuilder containing a string representation of JSON element.
+     * @param writer JsonWriter receiving a string representation of JSON element.
      * @param indent Indention value.
      */
-    protected static void buildIndent(StringBuilder sb, int indent) {
+    protected static void buildIndent(JsonWriter writer, int indent) {
         if (indent > 0) {
             for (int i = 0; i < indent; i++)
-                sb.append("  ");
+                writer.append("  ");
         }
     }
 
     /**
-     * Convert JsonString value to a string format.
-     * @param sb StringBuilder containing a string representation of JSON element.
-     * @param value Indention JsonString value.
+     * Convert string value to JSON format. Runs of chars which need no escaping are appended at once,
+     * escape sequences are taken from a precomputed table.
+     * @param writer JsonWriter receiving a string representation of JSON element.
+     * @param value String value.
      */
-    protected static void buildJsonString(StringBuilder sb, String value) {
-        sb.append('"');
-        for (int i = 0, len = value.length(); i < len; i++) {
+    protected static void buildJsonString(JsonWriter writer, String value) {
+        boolean escapeUnicode = writer.isEscapeUnicode();
+        writer.append('"');
+        int start = 0;
+        int len = value.length();
+        for (int i = 0; i < len; i++) {
             char c = value.charAt(i);
-            switch(c) {
-                case '"':
-                    sb.append("\\\"");
-                    break;
-                case '\\':
-                    sb.append("\\\\");
-                    break;
-                case '\b':
-                    sb.append("\\b");
-                    break;
-                case '\f':
-                    sb.append("\\f");
-                    break;
-                case '\n':
-                    sb.append("\\n");
-                    break;
-                case '\r':
-                    sb.append("\\r");
-                    break;
-                case '\t':
-                    sb.append("\\t");
-                    break;
-                default:
-                    if (c < ' ' || c > 127)
-                        sb.append(String.format("\\u%04x", (int)c));
-                    else
-                        sb.append(c);
-                    break;
+            if (c < ESCAPES.length) {
+                String escape = ESCAPES[c];
+                if (escape == null)
+                    continue;
+                writer.append(value, start, i);
+                writer.append(escape);
+            }
+            else if (escapeUnicode && c > 127) {
+                writer.append(value, start, i);
+                writer.append('\\').append('u');
+                writer.append(HEX_DIGITS[c >> 12]).append(HEX_DIGITS[(c >> 8) & 0xF]);
+                writer.append(HEX_DIGITS[(c >> 4) & 0xF]).append(HEX_DIGITS[c & 0xF]);
             }
+            else
+                continue;
+            start = i + 1;
         }
-        sb.append('"');
+        writer.append(value, start, len);
+        writer.append('"');
+    }
+
+    /**
+     * Convert JsonNumber value to a string format.
+     * Digits are appended directly to the writer: integer values as long values,
+     * other values in the {@link Double#toString(double)} format.
+     * @param writer JsonWriter receiving a string representation of JSON element.
+     * @param value Double value of number.
+     */
+    protected static void buildJsonNumber(JsonWriter writer, double value) {
+        if (value == (long)value)
+            writer.append((long)value);
+        else
+            writer.append(value);
     }
 
     protected void setParent(JsonElement elem) {
@@ -241,14 +354,14 @@ public abstract class JsonElement {
 
     /**
      * Convert element to a string format.
-     * @param sb StringBuilder containing a string representation of JSON element.
+     * @param writer JsonWriter receiving a string representation of JSON element.
      */
-    protected abstract void buildString(StringBuilder sb);
+    protected abstract void buildString(JsonWriter writer);
 
     /**
      * Convert element to a string format with indention.
-     * @param sb StringBuilder containing a string representation of JSON element.
+     * @param writer JsonWriter receiving a string representation of JSON element.
      * @param indent Indention value.
      */
-    protected abstract void buildString(StringBuilder sb, int indent);
+    protected abstract void buildString(JsonWriter writer, int indent);
 }
@@ -28,6 +28,11 @@ package org.cqfn.keepcalmandjson.types;
  */
 public final class JsonNull extends JsonElement {
 
+    /**
+     * Shared null element without parent, its parent is never set.
+     */
+    static public final JsonNull NULL = new JsonNull(null);
+
     /**
      * Constructor.
      * @param parent Parent JsonElement.
@@ -36,21 +41,30 @@ public final class JsonNull extends JsonElement {
         super(parent);
     }
 
+    /**
+     * Set the parent of the element, the shared element keeps no parent.
+     * @param elem Parent JsonElement.
+     */
+    protected void setParent(JsonElement elem) {
+        if (this != NULL)
+            super.setParent(elem);
+    }
+
     /**
      * Convert JsonNull to a string format.
-     * @param sb StringBuilder containing a string representation of JSON null type.
+     * @param writer JsonWriter receiving a string representation of JSON null type.
      */
-    protected void buildString(StringBuilder sb) {
-        sb.append("null");
+    protected void buildString(JsonWriter writer) {
+        writer.append("null");
     }
 
     /**
      * Convert JsonNull to a string format with indention.
-     * @param sb StringBuilder containing a string representation of JSON boolean type.
+     * @param writer JsonWriter receiving a string representation of JSON boolean type.
      * @param indent Indention value.
      */
-    protected void buildString(StringBuilder sb, int indent) {
-        sb.append("null");
+    protected void buildString(JsonWriter writer, int indent) {
+        writer.append("null");
     }
 
     /**
@@ -23,15 +23,28 @@
  */
 package org.cqfn.keepcalmandjson.types;
 
+import java.math.BigDecimal;
+
 /**
  * JSON numeric element type extending JSON abstract element.
+ * The value is stored as a long integer, a double or an exact BigDecimal value.
  */
 public final class JsonNumber extends JsonElement {
 
     /**
-     * JSON numeric element value.
+     * Long value, or raw bits of double value.
      */
-    private final double value;
+    private final long bits;
+
+    /**
+     * Flag indicating that the value is stored as a long integer.
+     */
+    private final boolean integer;
+
+    /**
+     * Exact value, or null if the value is stored as a long integer or a double.
+     */
+    private final BigDecimal decimal;
 
     /**
      * Constructor.
@@ -40,29 +53,57 @@ public final class JsonNumber extends JsonElement {
      */
     public JsonNumber(JsonElement parent, double value) {
         super(parent);
-        this.value = value;
+        this.bits = Double.doubleToRawLongBits(value);
+        this.integer = false;
+        this.decimal = null;
+    }
+
+    /**
+     * Constructor.
+     * @param parent Parent JsonElement.
+     * @param value Long value.
+     */
+    public JsonNumber(JsonElement parent, long value) {
+        super(parent);
+        this.bits = value;
+        this.integer = true;
+        this.decimal = null;
+    }
+
+    /**
+     * Constructor.
+     * @param parent Parent JsonElement.
+     * @param value Exact value.
+     */
+    public JsonNumber(JsonElement parent, BigDecimal value) {
+        super(parent);
+        if (value == null)
+            throw new NullPointerException();
+        this.bits = 0;
+        this.integer = false;
+        this.decimal = value;
     }
 
     /**
      * Convert JsonNumber to a string format.
-     * @param sb StringBuilder containing a string representation of JSON number type.
+     * @param writer JsonWriter receiving a string representation of JSON number type.
      */
-    protected void buildString(StringBuilder sb) {
-        String fmtValue;
-        if (value == (long)value)
-            fmtValue = String.format("%d", (long)value);
+    protected void buildString(JsonWriter writer) {
+        if (decimal != null)
+            writer.append(decimal.toString());
+        else if (integer)
+            writer.append(bits);
         else
-            fmtValue = String.format("%s", value);
-        sb.append(fmtValue);
+            buildJsonNumber(writer, Double.longBitsToDouble(bits));
     }
 
     /**
      * Convert JsonNumber to a string format with indention.
-     * @param sb StringBuilder containing a string representation of JSON number type.
+     * @param writer JsonWriter receiving a string representation of JSON number type.
      * @param indent Indention value.
      */
-    protected void buildString(StringBuilder sb, int indent) {
-        buildString(sb);
+    protected void buildString(JsonWriter writer, int indent) {
+        buildString(writer);
     }
 
     /**
@@ -70,6 +111,11 @@ public final class JsonNumber extends JsonElement {
      * @return Integer value of JsonNumber element.
      */
     public int getIntValue() {
+        if (integer || decimal != null) {
+            long longValue = getLongValue();
+            return (int)longValue == longValue ? (int)longValue : 0;
+        }
+        double value = Double.longBitsToDouble(bits);
         int intValue = (int)value;
         return intValue == value ? intValue : 0;
     }
@@ -79,6 +125,11 @@ public final class JsonNumber extends JsonElement {
      * @return Long value of JsonNumber element.
      */
     public long getLongValue() {
+        if (integer)
+            return bits;
+        if (decimal != null)
+            return isLong(decimal) ? decimal.longValue() : 0;
+        double value = Double.longBitsToDouble(bits);
         long longValue = (long)value;
         return longValue == value ? longValue : 0;
     }
@@ -88,7 +139,31 @@ public final class JsonNumber extends JsonElement {
      * @return Double value of JsonNumber element.
      */
     public double getDoubleValue() {
-        return value;
+        if (integer)
+            return bits;
+        if (decimal != null)
+            return decimal.doubleValue();
+        return Double.longBitsToDouble(bits);
+    }
+
+    /**
+     * Get an exact value of the JsonNumber element.
+     * @return BigDecimal value of JsonNumber element.
+     */
+    public BigDecimal getBigDecimalValue() {
+        if (integer)
+            return BigDecimal.valueOf(bits);
+        if (decimal != null)
+            return decimal;
+        return BigDecimal.valueOf(Double.longBitsToDouble(bits));
+    }
+
+    /**
+     * Convert JSON element to JSON number type.
+     * @return JsonNumber object.
+     */
+    public JsonNumber toJsonNumber() {
+        return this;
     }
 
     /**
@@ -104,6 +179,15 @@ public final class JsonNumber extends JsonElement {
      * @return TRUE if JsonNumber element has integer value.
      */
     public boolean isInteger() {
+        if (integer)
+            return bits == (int)bits;
+        if (decimal != null) {
+            if (!isLong(decimal))
+                return false;
+            long longValue = decimal.longValue();
+            return longValue == (int)longValue;
+        }
+        double value = Double.longBitsToDouble(bits);
         return value == (int)value;
     }
 
@@ -112,6 +196,25 @@ public final class JsonNumber extends JsonElement {
      * @return TRUE if JsonNumber element has long value.
      */
     public boolean isLongInteger() {
+        if (integer)
+            return true;
+        if (decimal != null)
+            return isLong(decimal);
+        double value = Double.longBitsToDouble(bits);
         return value == (long)value;
     }
+
+    /**
+     * Check if the exact value is an integer which fits into a long value, without throwing exceptions.
+     * @param value BigDecimal value.
+     * @return TRUE if the value is a long value.
+     */
+    static private boolean isLong(BigDecimal value) {
+        if (value.signum() == 0)
+            return true;
+        BigDecimal stripped = value.stripTrailingZeros();
+        if (stripped.scale() > 0 || stripped.precision() - stripped.scale() > 19)
+            return false;
+        return stripped.toBigInteger().bitLength() < 64;
+    }
 }
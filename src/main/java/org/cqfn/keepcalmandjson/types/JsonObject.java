@@ -24,7 +24,6 @@
 package org.cqfn.keepcalmandjson.types;
 
 import java.util.Map;
-import java.util.TreeMap;
 
 /**
  * JSON object type extending JSON abstract container.
@@ -32,9 +31,9 @@ import java.util.TreeMap;
 public final class JsonObject extends JsonContainer {
 
     /**
-     * Map of String key and JsonElement value pairs.
+     * Map of String key and JsonElement value pairs in insertion order.
      */
-    private final Map<String, JsonElement> elements;
+    private final MemberMap elements;
 
     /**
      * Constructor.
@@ -42,64 +41,118 @@ public final class JsonObject extends JsonContainer {
      */
     public JsonObject(JsonElement parent) {
         super(parent);
-        elements = new TreeMap<String, JsonElement>();
+        elements = new MemberMap();
+    }
+
+    /**
+     * Constructor of object which elements are loaded on first access.
+     * @param parent Parent JsonElement.
+     * @param loader Loader of object elements.
+     */
+    public JsonObject(JsonElement parent, Loader loader) {
+        super(parent, loader);
+        elements = new MemberMap();
+    }
+
+    /**
+     * Remove all the object elements without loading them.
+     */
+    protected void removeElements() {
+        elements.clear();
     }
 
     /**
      * Convert object to a string format.
-     * @param sb StringBuilder containing a string representation of JSON object.
-     */
-    protected void buildString(StringBuilder sb) {
-        sb.append('{');
-        boolean flag = false;
-        for (Map.Entry<String, JsonElement> entry : elements.entrySet()) {
-            if (flag)
-                sb.append(',');
-            String name = entry.getKey();
-            JsonElement elem = entry.getValue();
-            sb.append('"');
-            sb.append(name);
-            sb.append("\":");
-            elem.buildString(sb);
-            flag = true;
-        }
-        sb.append('}');
+     * @param writer JsonWriter receiving a string representation of JSON object.
+     */
+    protected void buildString(JsonWriter writer) {
+        buildTree(writer, -1);
     }
 
     /**
      * Convert object to a string format with indention.
-     * @param sb StringBuilder containing a string representation of JSON object.
+     * @param writer JsonWriter receiving a string representation of JSON object.
      * @param indent Indention value.
      */
-    protected void buildString(StringBuilder sb, int indent) {
+    protected void buildString(JsonWriter writer, int indent) {
+        buildTree(writer, indent);
+    }
+
+    /**
+     * Write the beginning of the object, or the whole object if it is empty.
+     * @param writer JsonWriter receiving a string representation of JSON object.
+     * @param indent Indention value, or -1 for the format without indents.
+     * @return TRUE if the object is not empty.
+     */
+    protected boolean buildStart(JsonWriter writer, int indent) {
+        load();
         if (elements.isEmpty()) {
-            sb.append("{ }");
-            return;
+            writer.append(indent < 0 ? "{}" : "{ }");
+            return false;
         }
-        sb.append('{');
-        boolean flag = false;
-        for (Map.Entry<String, JsonElement> entry : elements.entrySet()) {
-            if (flag)
-                sb.append(',');
-            sb.append('\n');
-            buildIndent(sb, indent + 1);
-            String name = entry.getKey();
-            JsonElement elem = entry.getValue();
-            buildJsonString(sb, name);
-            JsonContainer jc = elem.toJsonContainer();
-            if (jc != null && !jc.isEmpty()) {
-                sb.append(" :\n");
-                buildIndent(sb, indent + 1);
-            }
-            else {
-                sb.append(" : ");
-            }
-            elem.buildString(sb, indent + 1);
-            flag = true;
+        writer.append('{');
+        return true;
+    }
+
+    /**
+     * Get the order in which the members are written.
+     * @param writer JsonWriter receiving a string representation of JSON object.
+     * @return Indexes of the members sorted by keys if the writer sorts them, or null for the insertion order.
+     */
+    protected int[] buildOrder(JsonWriter writer) {
+        return writer.isSortKeys() ? elements.sortedOrder() : null;
+    }
+
+    /**
+     * Write a member of the object with the preceding separator.
+     * @param writer JsonWriter receiving a string representation of JSON object.
+     * @param index Position of the member being written.
+     * @param order Indexes of the members in the written order, or null for the insertion order.
+     * @param indent Indention value of the object, or -1 for the format without indents.
+     * @return Nested JsonContainer to be written, or null if the member is written.
+     */
+    protected JsonContainer buildItem(JsonWriter writer, int index, int[] order, int indent) {
+        if (index > 0)
+            writer.append(',');
+        int k = order == null ? index : order[index];
+        String name = elements.keyAt(k);
+        JsonElement elem = elements.valueAt(k);
+        JsonContainer jc = elem.toJsonContainer();
+        if (indent < 0) {
+            writer.append('"');
+            writer.append(name);
+            writer.append("\":");
+            if (jc != null)
+                return jc;
+            elem.buildString(writer);
+            return null;
+        }
+        writer.append('\n');
+        buildIndent(writer, indent + 1);
+        buildJsonString(writer, name);
+        if (jc != null && !jc.isEmpty()) {
+            writer.append(" :\n");
+            buildIndent(writer, indent + 1);
+            return jc;
         }
-        sb.append('\n');
-        buildIndent(sb, indent);
-        sb.append('}');
+        writer.append(" : ");
+        if (jc != null)
+            return jc;
+        elem.buildString(writer, indent + 1);
+        return null;
+    }
+
+    /**
+     * Write the end of the object.
+     * @param writer JsonWriter receiving a string representation of JSON object.
+     * @param indent Indention value, or -1 for the format without indents.
+     */
+    protected void buildEnd(JsonWriter writer, int indent) {
+        if (indent >= 0) {
+            writer.append('\n');
+            buildIndent(writer, indent);
+        }
+        writer.append('}');
     }
 
     /**
@@ -115,6 +168,7 @@ public final class JsonObject extends JsonContainer {
      * @return Int value of object elements amount.
      */
     public int size() {
+        load();
         return elements.size();
     }
 
@@ -124,6 +178,7 @@ public final class JsonObject extends JsonContainer {
      * @return TRUE if object contains a specified key.
      */
     public boolean containsKey(String key) {
+        load();
         return elements.containsKey(key);
     }
 
@@ -133,6 +188,7 @@ public final class JsonObject extends JsonContainer {
      * @return JsonElement with the specified key.
      */
     public JsonElement getElementByKey(String key) {
+        load();
         return elements.get(key);
     }
 
@@ -141,6 +197,7 @@ public final class JsonObject extends JsonContainer {
      * @return TRUE if object is empty.
      */
     public boolean isEmpty() {
+        load();
         return elements.isEmpty();
     }
 
@@ -151,6 +208,7 @@ public final class JsonObject extends JsonContainer {
      * @return Created JsonString object.
      */
     public JsonString createJsonString(String key, String value) {
+        load();
         JsonString elem = new JsonString(this, value);
         elements.put(key, elem);
         return elem;
@@ -163,6 +221,20 @@ public final class JsonObject extends JsonContainer {
      * @return Created JsonNumber object.
      */
     public JsonNumber createJsonNumber(String key, double value) {
+        load();
+        JsonNumber elem = new JsonNumber(this, value);
+        elements.put(key, elem);
+        return elem;
+    }
+
+    /**
+     * Create JsonNumber element and add it to object elements.
+     * @param key String value of a key.
+     * @param value Long value of a number.
+     * @return Created JsonNumber object.
+     */
+    public JsonNumber createJsonNumber(String key, long value) {
+        load();
         JsonNumber elem = new JsonNumber(this, value);
         elements.put(key, elem);
         return elem;
@@ -175,6 +247,7 @@ public final class JsonObject extends JsonContainer {
      * @return Created JsonBoolean object.
      */
     public JsonBoolean createJsonBoolean(String key, boolean value) {
+        load();
         JsonBoolean elem = new JsonBoolean(this, value);
         elements.put(key, elem);
         return elem;
@@ -186,6 +259,7 @@ public final class JsonObject extends JsonContainer {
      * @return Created JsonNull object.
      */
     public JsonNull createJsonNull(String key) {
+        load();
         JsonNull elem = new JsonNull(this);
         elements.put(key, elem);
         return elem;
@@ -197,6 +271,7 @@ public final class JsonObject extends JsonContainer {
      * @return Created JsonObject object.
      */
     public JsonObject createJsonObject(String key) {
+        load();
         JsonObject elem = new JsonObject(this);
         elements.put(key, elem);
         return elem;
@@ -208,6 +283,7 @@ public final class JsonObject extends JsonContainer {
      * @return Created JsonArray object.
      */
     public JsonArray createJsonArray(String key) {
+        load();
         JsonArray elem = new JsonArray(this);
         elements.put(key, elem);
         return elem;
@@ -218,14 +294,25 @@ public final class JsonObject extends JsonContainer {
      * @param elem JsonElement element.
      */
     public void addElement(String key, JsonElement elem) {
+        load();
         elements.put(key, elem);
     }
 
+    /**
+     * Share the array of keys with other objects having the same keys in the same order,
+     * the object keeps only its values then. Used by the parser when all members are added.
+     * @param shapes Registry of object shapes.
+     */
+    public void shareKeys(ObjectShapes shapes) {
+        elements.share(shapes);
+    }
+
     /**
      * Get all the object elements.
-     * @return Map of object key-value pairs.
+     * @return Map of object key-value pairs in insertion order.
      */
     public Map<String, JsonElement> getElements() {
+        load();
         return elements;
     }
 }
@@ -45,19 +45,19 @@ public final class JsonString extends JsonElement {
 
     /**
      * Convert JsonString to a string format.
-     * @param sb StringBuilder containing a string representation of JSON string type.
+     * @param writer JsonWriter receiving a string representation of JSON string type.
      */
-    protected void buildString(StringBuilder sb) {
-        buildJsonString(sb, value);
+    protected void buildString(JsonWriter writer) {
+        buildJsonString(writer, value);
     }
 
     /**
      * Convert JsonString to a string format with indention.
-     * @param sb StringBuilder containing a string representation of JSON string type.
+     * @param writer JsonWriter receiving a string representation of JSON string type.
      * @param indent Indention value.
      */
-    protected void buildString(StringBuilder sb, int indent) {
-        buildJsonString(sb, value);
+    protected void buildString(JsonWriter writer, int indent) {
+        buildJsonString(writer, value);
     }
 
     /**
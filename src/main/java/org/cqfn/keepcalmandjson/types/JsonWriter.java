@@ -0,0 +1,833 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Polina Volkhontseva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.keepcalmandjson.types;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+
+/**
+ * Writer of JSON elements into a character or byte target.
+ * The text is collected in a fixed-size chunk which is passed to the target when it is full,
+ * so the whole document is never kept in memory. Byte targets receive the text encoded in UTF-8.
+ */
+public final class JsonWriter implements Flushable, Closeable {
+
+    /**
+     * Default size of the chunk in chars.
+     */
+    static public final int CHUNK_SIZE = 8192;
+
+    /**
+     * Size of the chunk used to build strings of elements.
+     */
+    static protected final int STRING_CHUNK_SIZE = 512;
+
+    /**
+     * Size of the first segment collecting UTF-8 bytes of elements.
+     */
+    static private final int INITIAL_ARRAY_SIZE = 4096;
+
+    /**
+     * Maximum total size of segments kept in the pool after use.
+     */
+    static private final int MAX_POOLED_ARRAY_SIZE = 1 << 20;
+
+    /**
+     * Writers into byte arrays reused by the current thread.
+     */
+    static private final ThreadLocal<JsonWriter> POOL =
+            ThreadLocal.withInitial(() -> new JsonWriter(new ArrayTarget(), true, STRING_CHUNK_SIZE));
+
+    /**
+     * Writers into byte buffers reused by the current thread.
+     */
+    static private final ThreadLocal<JsonWriter> BUFFER_POOL =
+            ThreadLocal.withInitial(() -> new JsonWriter(new BufferTarget(), true, STRING_CHUNK_SIZE));
+
+    /**
+     * Target of the written chunks.
+     */
+    private final Target target;
+
+    /**
+     * TRUE if non-ASCII chars of strings are escaped.
+     */
+    private boolean escapeUnicode;
+
+    /**
+     * TRUE if object members are written sorted by keys.
+     */
+    private boolean sortKeys;
+
+    /**
+     * Chunk of chars not passed to the target yet.
+     */
+    private final char[] chunk;
+
+    /**
+     * Amount of chars in the chunk.
+     */
+    private int length;
+
+    /**
+     * Builder of double values reused by the writer, created on first use.
+     */
+    private StringBuilder number;
+
+    /**
+     * Constructor of writer which escapes non-ASCII chars.
+     * @param appendable Target of chars, e.g. a Writer or a StringBuilder.
+     */
+    public JsonWriter(Appendable appendable) {
+        this(appendable, true);
+    }
+
+    /**
+     * Constructor.
+     * @param appendable Target of chars, e.g. a Writer or a StringBuilder.
+     * @param escapeUnicode TRUE if non-ASCII chars are escaped, FALSE if they are kept as is.
+     */
+    public JsonWriter(Appendable appendable, boolean escapeUnicode) {
+        this(new CharTarget(appendable), escapeUnicode, CHUNK_SIZE);
+    }
+
+    /**
+     * Constructor of writer which escapes non-ASCII chars.
+     * @param stream Target of UTF-8 encoded bytes.
+     */
+    public JsonWriter(OutputStream stream) {
+        this(stream, true);
+    }
+
+    /**
+     * Constructor.
+     * @param stream Target of UTF-8 encoded bytes.
+     * @param escapeUnicode TRUE if non-ASCII chars are escaped, FALSE if they are kept as is.
+     */
+    public JsonWriter(OutputStream stream, boolean escapeUnicode) {
+        this(new StreamTarget(stream), escapeUnicode, CHUNK_SIZE);
+    }
+
+    /**
+     * Constructor of writer which escapes non-ASCII chars.
+     * @param channel Target of UTF-8 encoded bytes.
+     */
+    public JsonWriter(WritableByteChannel channel) {
+        this(channel, true);
+    }
+
+    /**
+     * Constructor.
+     * @param channel Target of UTF-8 encoded bytes.
+     * @param escapeUnicode TRUE if non-ASCII chars are escaped, FALSE if they are kept as is.
+     */
+    public JsonWriter(WritableByteChannel channel, boolean escapeUnicode) {
+        this(new ChannelTarget(channel), escapeUnicode, CHUNK_SIZE);
+    }
+
+    /**
+     * Constructor.
+     * @param target Target of the written chunks.
+     * @param escapeUnicode TRUE if non-ASCII chars are escaped.
+     * @param size Size of the chunk in chars.
+     */
+    private JsonWriter(Target target, boolean escapeUnicode, int size) {
+        this.target = target;
+        this.escapeUnicode = escapeUnicode;
+        this.chunk = new char[size];
+    }
+
+    /**
+     * Create writer which builds a string representation of elements.
+     * @param sb StringBuilder receiving a string representation of JSON elements.
+     * @param escapeUnicode TRUE if non-ASCII chars are escaped.
+     * @return JsonWriter object.
+     */
+    static protected JsonWriter toStringBuilder(StringBuilder sb, boolean escapeUnicode) {
+        return new JsonWriter(new CharTarget(sb), escapeUnicode, STRING_CHUNK_SIZE);
+    }
+
+    /**
+     * Encode JSON element without indents into a new array of UTF-8 bytes.
+     * @param element JSON element.
+     * @param escapeUnicode TRUE if non-ASCII chars are escaped.
+     * @return Array of bytes.
+     */
+    static protected byte[] toUtf8Bytes(JsonElement element, boolean escapeUnicode) {
+        JsonWriter writer = POOL.get();
+        ArrayTarget target = (ArrayTarget)writer.target;
+        try {
+            writer.encode(element, escapeUnicode);
+            return target.toArray();
+        }
+        finally {
+            target.reset();
+        }
+    }
+
+    /**
+     * Encode JSON element without indents into UTF-8 bytes of a buffer.
+     * @param element JSON element.
+     * @param buffer Byte buffer receiving the bytes from its position.
+     * @param escapeUnicode TRUE if non-ASCII chars are escaped.
+     * The bytes are encoded straight into the array of a heap buffer.
+     * @return Amount of written bytes.
+     * @throws BufferOverflowException If the buffer has not enough space, its position is not changed then,
+     *  but the bytes after the position may be overwritten.
+     */
+    static protected int writeTo(JsonElement element, ByteBuffer buffer, boolean escapeUnicode) {
+        JsonWriter writer = BUFFER_POOL.get();
+        BufferTarget target = (BufferTarget)writer.target;
+        int start = buffer.position();
+        target.open(buffer);
+        try {
+            writer.encode(element, escapeUnicode);
+            return buffer.position() - start;
+        }
+        catch (RuntimeException | Error e) {
+            buffer.position(start);
+            throw e;
+        }
+        finally {
+            target.close();
+        }
+    }
+
+    /**
+     * Encode JSON element into the byte target of a pooled writer.
+     * @param element JSON element.
+     * @param escapeUnicode TRUE if non-ASCII chars are escaped.
+     */
+    private void encode(JsonElement element, boolean escapeUnicode) {
+        ByteTarget target = (ByteTarget)this.target;
+        this.escapeUnicode = escapeUnicode;
+        try {
+            element.buildString(this);
+            writeChunk();
+            target.flush();
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        finally {
+            length = 0;
+            target.clearSurrogate();
+        }
+    }
+
+    /**
+     * Write JSON element without indents.
+     * @param element JSON element.
+     * @throws IOException If the target fails to receive the text.
+     */
+    public void write(JsonElement element) throws IOException {
+        try {
+            element.buildString(this);
+        }
+        catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writeChunk();
+    }
+
+    /**
+     * Write JSON element with indents, in the same format as {@link JsonElement#toStringWithIndents()}.
+     * @param element JSON element.
+     * @throws IOException If the target fails to receive the text.
+     */
+    public void writeWithIndents(JsonElement element) throws IOException {
+        try {
+            element.buildString(this, 0);
+        }
+        catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writeChunk();
+    }
+
+    /**
+     * Check if non-ASCII chars of strings are escaped.
+     * @return TRUE if non-ASCII chars are escaped.
+     */
+    public boolean isEscapeUnicode() {
+        return escapeUnicode;
+    }
+
+    /**
+     * Check if object members are written sorted by keys.
+     * @return TRUE if members are sorted, FALSE if they are written in insertion order.
+     */
+    public boolean isSortKeys() {
+        return sortKeys;
+    }
+
+    /**
+     * Set if object members are written sorted by keys, e.g. for a canonical form of JSON.
+     * @param sortKeys TRUE if members are sorted, FALSE if they are written in insertion order.
+     */
+    public void setSortKeys(boolean sortKeys) {
+        this.sortKeys = sortKeys;
+    }
+
+    /**
+     * Append a char as is.
+     * @param c Char.
+     * @return Self.
+     */
+    public JsonWriter append(char c) {
+        if (length == chunk.length)
+            writeChunkUnchecked();
+        chunk[length++] = c;
+        return this;
+    }
+
+    /**
+     * Append a text as is.
+     * @param text String value.
+     * @return Self.
+     */
+    public JsonWriter append(String text) {
+        return append(text, 0, text.length());
+    }
+
+    /**
+     * Append a part of text as is.
+     * @param text String value.
+     * @param start Index of the first char.
+     * @param end Index after the last char.
+     * @return Self.
+     */
+    public JsonWriter append(String text, int start, int end) {
+        while (start < end) {
+            if (length == chunk.length)
+                writeChunkUnchecked();
+            int count = Math.min(end - start, chunk.length - length);
+            text.getChars(start, start + count, chunk, length);
+            length += count;
+            start += count;
+        }
+        return this;
+    }
+
+    /**
+     * Append digits of a long value.
+     * @param value Long value.
+     * @return Self.
+     */
+    public JsonWriter append(long value) {
+        if (value == Long.MIN_VALUE)
+            return append(Long.toString(value));
+        if (chunk.length - length < 20)
+            writeChunkUnchecked();
+        if (value < 0) {
+            chunk[length++] = '-';
+            value = -value;
+        }
+        int end = length + digits(value);
+        for (int i = end - 1; i >= length; i--) {
+            chunk[i] = (char)('0' + value % 10);
+            value /= 10;
+        }
+        length = end;
+        return this;
+    }
+
+    /**
+     * Append a double value in the {@link Double#toString(double)} format.
+     * @param value Double value.
+     * @return Self.
+     */
+    public JsonWriter append(double value) {
+        if (number == null)
+            number = new StringBuilder(32);
+        number.setLength(0);
+        number.append(value);
+        int count = number.length();
+        if (chunk.length - length < count)
+            writeChunkUnchecked();
+        number.getChars(0, count, chunk, length);
+        length += count;
+        return this;
+    }
+
+    /**
+     * Append a boolean value.
+     * @param value Boolean value.
+     * @return Self.
+     */
+    public JsonWriter append(boolean value) {
+        return append(value ? "true" : "false");
+    }
+
+    /**
+     * Pass the written text to the target and flush the target.
+     * @throws IOException If the target fails to receive the text.
+     */
+    public void flush() throws IOException {
+        writeChunk();
+        target.flush();
+    }
+
+    /**
+     * Pass the written text to the target and close the target.
+     * @throws IOException If the target fails to receive the text.
+     */
+    public void close() throws IOException {
+        flush();
+        target.close();
+    }
+
+    /**
+     * Pass the chunk to the target.
+     * @throws IOException If the target fails to receive the text.
+     */
+    private void writeChunk() throws IOException {
+        if (length > 0) {
+            target.write(chunk, length);
+            length = 0;
+        }
+    }
+
+    /**
+     * Pass the chunk to the target while building a text of element.
+     * @throws UncheckedIOException If the target fails to receive the text.
+     */
+    protected void writeChunkUnchecked() {
+        try {
+            writeChunk();
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Count decimal digits of a non-negative value.
+     * @param value Long value.
+     * @return Amount of digits.
+     */
+    static private int digits(long value) {
+        int count = 1;
+        while (value >= 10) {
+            value /= 10;
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Target of the written chunks.
+     */
+    private static abstract class Target {
+
+        /**
+         * Write chunk of chars.
+         * @param chars Chars array.
+         * @param count Amount of chars.
+         * @throws IOException If the target fails to receive the chars.
+         */
+        abstract void write(char[] chars, int count) throws IOException;
+
+        /**
+         * Flush the target.
+         * @throws IOException If the target fails.
+         */
+        abstract void flush() throws IOException;
+
+        /**
+         * Close the target.
+         * @throws IOException If the target fails.
+         */
+        abstract void close() throws IOException;
+    }
+
+    /**
+     * Target of chars.
+     */
+    private static final class CharTarget extends Target {
+
+        /**
+         * Receiver of chars.
+         */
+        private final Appendable appendable;
+
+        /**
+         * Constructor.
+         * @param appendable Receiver of chars.
+         */
+        CharTarget(Appendable appendable) {
+            this.appendable = appendable;
+        }
+
+        void write(char[] chars, int count) throws IOException {
+            if (appendable instanceof StringBuilder)
+                ((StringBuilder)appendable).append(chars, 0, count);
+            else if (appendable instanceof Writer)
+                ((Writer)appendable).write(chars, 0, count);
+            else
+                appendable.append(CharBuffer.wrap(chars, 0, count));
+        }
+
+        void flush() throws IOException {
+            if (appendable instanceof Flushable)
+                ((Flushable)appendable).flush();
+        }
+
+        void close() throws IOException {
+            if (appendable instanceof Closeable)
+                ((Closeable)appendable).close();
+        }
+    }
+
+    /**
+     * Target of UTF-8 encoded bytes.
+     */
+    private static abstract class ByteTarget extends Target {
+
+        /**
+         * Buffer of encoded bytes.
+         */
+        protected byte[] bytes;
+
+        /**
+         * High surrogate char which pair is not written yet, or 0.
+         */
+        private char high;
+
+        /**
+         * Constructor.
+         * @param size Initial size of the buffer.
+         */
+        ByteTarget(int size) {
+            bytes = new byte[size];
+        }
+
+        /**
+         * Ensure the buffer has a space for encoded bytes.
+         * @param count Amount of bytes.
+         * @return Index of the buffer where the bytes are encoded.
+         */
+        abstract int reserve(int count);
+
+        /**
+         * Write encoded bytes.
+         * @param end Index of the buffer after the last encoded byte.
+         * @throws IOException If the target fails to receive the bytes.
+         */
+        abstract void writeBytes(int end) throws IOException;
+
+        void write(char[] chars, int count) throws IOException {
+            int k = reserve(count * 3 + 1);
+            for (int i = 0; i < count; i++) {
+                char c = chars[i];
+                if (c < 0x80 && high == 0) {
+                    bytes[k++] = (byte)c;
+                    continue;
+                }
+                if (high != 0) {
+                    if (Character.isLowSurrogate(c)) {
+                        int code = Character.toCodePoint(high, c);
+                        high = 0;
+                        bytes[k++] = (byte)(0xF0 | code >> 18);
+                        bytes[k++] = (byte)(0x80 | (code >> 12) & 0x3F);
+                        bytes[k++] = (byte)(0x80 | (code >> 6) & 0x3F);
+                        bytes[k++] = (byte)(0x80 | code & 0x3F);
+                        continue;
+                    }
+                    high = 0;
+                    bytes[k++] = '?';
+                }
+                if (c < 0x80)
+                    bytes[k++] = (byte)c;
+                else if (c < 0x800) {
+                    bytes[k++] = (byte)(0xC0 | c >> 6);
+                    bytes[k++] = (byte)(0x80 | c & 0x3F);
+                }
+                else if (Character.isHighSurrogate(c))
+                    high = c;
+                else if (Character.isLowSurrogate(c))
+                    bytes[k++] = '?';
+                else {
+                    bytes[k++] = (byte)(0xE0 | c >> 12);
+                    bytes[k++] = (byte)(0x80 | (c >> 6) & 0x3F);
+                    bytes[k++] = (byte)(0x80 | c & 0x3F);
+                }
+            }
+            writeBytes(k);
+        }
+
+        void flush() throws IOException {
+            if (high != 0) {
+                high = 0;
+                int k = reserve(1);
+                bytes[k++] = '?';
+                writeBytes(k);
+            }
+        }
+
+        /**
+         * Forget a high surrogate char which pair is not written yet.
+         */
+        void clearSurrogate() {
+            high = 0;
+        }
+    }
+
+    /**
+     * Target of bytes written into a stream.
+     */
+    private static final class StreamTarget extends ByteTarget {
+
+        /**
+         * Output stream.
+         */
+        private final OutputStream stream;
+
+        /**
+         * Constructor.
+         * @param stream Output stream.
+         */
+        StreamTarget(OutputStream stream) {
+            super(CHUNK_SIZE * 3 + 4);
+            this.stream = stream;
+        }
+
+        int reserve(int count) {
+            return 0;
+        }
+
+        void writeBytes(int end) throws IOException {
+            stream.write(bytes, 0, end);
+        }
+
+        void flush() throws IOException {
+            super.flush();
+            stream.flush();
+        }
+
+        void close() throws IOException {
+            stream.close();
+        }
+    }
+
+    /**
+     * Target of bytes written into a channel.
+     */
+    private static final class ChannelTarget extends ByteTarget {
+
+        /**
+         * Writable channel.
+         */
+        private final WritableByteChannel channel;
+
+        /**
+         * Constructor.
+         * @param channel Writable channel.
+         */
+        ChannelTarget(WritableByteChannel channel) {
+            super(CHUNK_SIZE * 3 + 4);
+            this.channel = channel;
+        }
+
+        int reserve(int count) {
+            return 0;
+        }
+
+        void writeBytes(int end) throws IOException {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes, 0, end);
+            while (buffer.hasRemaining())
+                channel.write(buffer);
+        }
+
+        void close() throws IOException {
+            channel.close();
+        }
+    }
+
+    /**
+     * Target of bytes collected in segments, which are not copied when more space is needed.
+     */
+    private static final class ArrayTarget extends ByteTarget {
+
+        /**
+         * Segments of bytes, the current one is the array of encoded bytes.
+         */
+        private byte[][] segments;
+
+        /**
+         * Amounts of bytes in the segments before the current one.
+         */
+        private int[] lengths;
+
+        /**
+         * Index of the current segment.
+         */
+        private int current;
+
+        /**
+         * Amount of bytes in the segments before the current one.
+         */
+        private int filled;
+
+        /**
+         * Amount of bytes in the current segment.
+         */
+        private int size;
+
+        /**
+         * Constructor.
+         */
+        ArrayTarget() {
+            super(INITIAL_ARRAY_SIZE);
+            segments = new byte[4][];
+            lengths = new int[4];
+            segments[0] = bytes;
+        }
+
+        int reserve(int count) {
+            if (bytes.length - size >= count)
+                return size;
+            lengths[current] = size;
+            filled += size;
+            current++;
+            if (current == segments.length) {
+                segments = Arrays.copyOf(segments, current * 2);
+                lengths = Arrays.copyOf(lengths, current * 2);
+            }
+            if (segments[current] == null || segments[current].length < count)
+                segments[current] = new byte[Math.max(count, filled)];
+            bytes = segments[current];
+            size = 0;
+            return 0;
+        }
+
+        void writeBytes(int end) {
+            size = end;
+        }
+
+        void close() {
+        }
+
+        /**
+         * Copy the collected bytes into a new array of the exact size.
+         * @return Array of bytes.
+         */
+        byte[] toArray() {
+            byte[] result = new byte[filled + size];
+            int offset = 0;
+            for (int i = 0; i < current; i++) {
+                System.arraycopy(segments[i], 0, result, offset, lengths[i]);
+                offset += lengths[i];
+            }
+            System.arraycopy(bytes, 0, result, offset, size);
+            return result;
+        }
+
+        /**
+         * Forget the collected bytes, drop the segments beyond the size kept in the pool.
+         */
+        void reset() {
+            int capacity = 0;
+            for (int i = 0; i < segments.length && segments[i] != null; i++) {
+                capacity += segments[i].length;
+                if (capacity > MAX_POOLED_ARRAY_SIZE && i > 0)
+                    segments[i] = null;
+            }
+            current = 0;
+            filled = 0;
+            size = 0;
+            bytes = segments[0];
+        }
+    }
+
+    /**
+     * Target of bytes written into a byte buffer.
+     * Bytes are encoded into the array of a heap buffer while it has space for the worst case,
+     * otherwise they are encoded into a small array and put into the buffer.
+     */
+    private static final class BufferTarget extends ByteTarget {
+
+        /**
+         * Array of bytes encoded before they are put into the buffer.
+         */
+        private final byte[] scratch;
+
+        /**
+         * Buffer receiving the bytes, or null if the target is not used.
+         */
+        private ByteBuffer buffer;
+
+        /**
+         * Constructor.
+         */
+        BufferTarget() {
+            super(STRING_CHUNK_SIZE * 3 + 4);
+            scratch = bytes;
+        }
+
+        /**
+         * Start writing into a buffer from its position.
+         * @param buffer Byte buffer.
+         */
+        void open(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        int reserve(int count) {
+            if (buffer.hasArray() && buffer.remaining() >= count) {
+                bytes = buffer.array();
+                return buffer.arrayOffset() + buffer.position();
+            }
+            bytes = scratch;
+            return 0;
+        }
+
+        void writeBytes(int end) {
+            if (bytes != scratch) {
+                buffer.position(end - buffer.arrayOffset());
+                return;
+            }
+            if (end > buffer.remaining())
+                throw new BufferOverflowException();
+            buffer.put(scratch, 0, end);
+        }
+
+        /**
+         * Stop writing into the buffer, so it is not kept by the pool.
+         */
+        void close() {
+            buffer = null;
+            bytes = scratch;
+        }
+    }
+}
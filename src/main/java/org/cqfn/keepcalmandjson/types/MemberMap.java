@@ -0,0 +1,381 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Polina Volkhontseva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.keepcalmandjson.types;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Map of object members kept in insertion order in parallel arrays of keys and values.
+ * Small maps are searched by a linear scan, larger ones by an open-addressing hash table of indexes.
+ * A repeated key replaces the value and keeps the position of the first one.
+ * Arrays of keys and hash tables may be shared with other maps through {@link ObjectShapes},
+ * they are copied before a key is added or removed.
+ */
+final class MemberMap extends AbstractMap<String, JsonElement> {
+
+    /**
+     * Maximum amount of members searched by a linear scan.
+     */
+    static protected final int LINEAR_LIMIT = 16;
+
+    /**
+     * Initial capacity of the arrays.
+     */
+    static private final int INITIAL_CAPACITY = 4;
+
+    /**
+     * Keys in insertion order.
+     */
+    private String[] keys;
+
+    /**
+     * Values in insertion order.
+     */
+    private JsonElement[] values;
+
+    /**
+     * Amount of members.
+     */
+    private int size;
+
+    /**
+     * Hash table of member indexes increased by one, 0 for free slots, or NULL for small maps.
+     */
+    private int[] table;
+
+    /**
+     * TRUE if the keys and the hash table are shared with other maps.
+     */
+    private boolean shared;
+
+    /**
+     * Constructor.
+     */
+    MemberMap() {
+        keys = new String[INITIAL_CAPACITY];
+        values = new JsonElement[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Get the key at the specified position.
+     * @param index Position of the member.
+     * @return String value of the key.
+     */
+    String keyAt(int index) {
+        return keys[index];
+    }
+
+    /**
+     * Get the value at the specified position.
+     * @param index Position of the member.
+     * @return JsonElement value.
+     */
+    JsonElement valueAt(int index) {
+        return values[index];
+    }
+
+    /**
+     * Share the keys and the hash table with other maps having the same keys in the same order.
+     * The array of values is trimmed to the amount of members.
+     * @param shapes Registry of shapes.
+     */
+    void share(ObjectShapes shapes) {
+        if (shared || size == 0)
+            return;
+        ObjectShapes.Shape shape = shapes.find(keys, size, table);
+        keys = shape.keys;
+        table = shape.positions;
+        if (values.length != size)
+            values = Arrays.copyOf(values, size);
+        shared = true;
+    }
+
+    /**
+     * Check if the keys are shared with other maps.
+     * @return TRUE if the keys are shared.
+     */
+    boolean isShared() {
+        return shared;
+    }
+
+    /**
+     * Get positions of members ordered by keys.
+     * @return Array of member positions.
+     */
+    int[] sortedOrder() {
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++)
+            order[i] = i;
+        Arrays.sort(order, (a, b) -> keys[a].compareTo(keys[b]));
+        int[] result = new int[size];
+        for (int i = 0; i < size; i++)
+            result[i] = order[i];
+        return result;
+    }
+
+    /**
+     * Find position of a member by its key.
+     * @param key Key value.
+     * @return Position of the member or -1.
+     */
+    int indexOf(Object key) {
+        if (key == null)
+            return -1;
+        if (table == null) {
+            for (int i = 0; i < size; i++) {
+                if (key.equals(keys[i]))
+                    return i;
+            }
+            return -1;
+        }
+        int mask = table.length - 1;
+        for (int slot = hash(key) & mask; ; slot = (slot + 1) & mask) {
+            int k = table[slot];
+            if (k == 0)
+                return -1;
+            if (key.equals(keys[k - 1]))
+                return k - 1;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    public JsonElement get(Object key) {
+        int i = indexOf(key);
+        return i < 0 ? null : values[i];
+    }
+
+    public JsonElement put(String key, JsonElement value) {
+        Objects.requireNonNull(key);
+        int i = indexOf(key);
+        if (i >= 0) {
+            JsonElement old = values[i];
+            values[i] = value;
+            return old;
+        }
+        if (shared)
+            unshare();
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+        }
+        keys[size] = key;
+        values[size] = value;
+        size++;
+        if (table != null && size * 2 <= table.length)
+            insert(size - 1);
+        else if (size > LINEAR_LIMIT)
+            rehash();
+        return null;
+    }
+
+    public JsonElement remove(Object key) {
+        int i = indexOf(key);
+        if (i < 0)
+            return null;
+        JsonElement old = values[i];
+        removeAt(i);
+        return old;
+    }
+
+    public void clear() {
+        if (shared)
+            unshare();
+        Arrays.fill(keys, 0, size, null);
+        Arrays.fill(values, 0, size, null);
+        size = 0;
+        table = null;
+    }
+
+    public Set<Map.Entry<String, JsonElement>> entrySet() {
+        return new AbstractSet<Map.Entry<String, JsonElement>>() {
+            public Iterator<Map.Entry<String, JsonElement>> iterator() {
+                return new MemberIterator();
+            }
+
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    /**
+     * Remove the member at the specified position, the following members are shifted.
+     * @param index Position of the member.
+     */
+    private void removeAt(int index) {
+        if (shared)
+            unshare();
+        int count = size - index - 1;
+        System.arraycopy(keys, index + 1, keys, index, count);
+        System.arraycopy(values, index + 1, values, index, count);
+        size--;
+        keys[size] = null;
+        values[size] = null;
+        if (table != null)
+            rehash();
+    }
+
+    /**
+     * Take own copies of the shared keys and hash table.
+     */
+    private void unshare() {
+        keys = keys.clone();
+        if (table != null)
+            table = table.clone();
+        shared = false;
+    }
+
+    /**
+     * Rebuild the hash table for the current members, or drop it for a small map.
+     */
+    private void rehash() {
+        if (size <= LINEAR_LIMIT) {
+            table = null;
+            return;
+        }
+        int length = Integer.highestOneBit(size * 4 - 1);
+        table = new int[length];
+        for (int i = 0; i < size; i++)
+            insert(i);
+    }
+
+    /**
+     * Insert index of a member into the hash table.
+     * @param index Position of the member.
+     */
+    private void insert(int index) {
+        int mask = table.length - 1;
+        int slot = hash(keys[index]) & mask;
+        while (table[slot] != 0)
+            slot = (slot + 1) & mask;
+        table[slot] = index + 1;
+    }
+
+    /**
+     * Spread hash code of a key.
+     * @param key Key value.
+     * @return Int hash value.
+     */
+    static private int hash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Iterator over members in insertion order.
+     */
+    private final class MemberIterator implements Iterator<Map.Entry<String, JsonElement>> {
+
+        /**
+         * Position of the next member.
+         */
+        private int next;
+
+        /**
+         * Position of the last returned member or -1.
+         */
+        private int last = -1;
+
+        public boolean hasNext() {
+            return next < size;
+        }
+
+        public Map.Entry<String, JsonElement> next() {
+            if (next >= size)
+                throw new NoSuchElementException();
+            last = next++;
+            return new Member(last);
+        }
+
+        public void remove() {
+            if (last < 0)
+                throw new IllegalStateException();
+            removeAt(last);
+            next = last;
+            last = -1;
+        }
+    }
+
+    /**
+     * Member entry backed by the map arrays.
+     */
+    private final class Member implements Map.Entry<String, JsonElement> {
+
+        /**
+         * Position of the member.
+         */
+        private final int index;
+
+        /**
+         * Constructor.
+         * @param index Position of the member.
+         */
+        Member(int index) {
+            this.index = index;
+        }
+
+        public String getKey() {
+            return keys[index];
+        }
+
+        public JsonElement getValue() {
+            return values[index];
+        }
+
+        public JsonElement setValue(JsonElement value) {
+            JsonElement old = values[index];
+            values[index] = value;
+            return old;
+        }
+
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Map.Entry))
+                return false;
+            Map.Entry<?, ?> entry = (Map.Entry<?, ?>)obj;
+            return getKey().equals(entry.getKey()) && Objects.equals(getValue(), entry.getValue());
+        }
+
+        public int hashCode() {
+            return getKey().hashCode() ^ Objects.hashCode(getValue());
+        }
+
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+    }
+}
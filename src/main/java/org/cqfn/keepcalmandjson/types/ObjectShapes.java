@@ -0,0 +1,181 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Polina Volkhontseva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.keepcalmandjson.types;
+
+import java.util.Arrays;
+
+/**
+ * Registry of object shapes, i.e. of distinct sequences of object keys.
+ * Objects with the same keys in the same order share one array of keys and one hash table of
+ * their positions, each object keeps only its own array of values. A shared shape is copied
+ * by an object when a new key is added or a key is removed. The registry is cleared when it is full,
+ * objects sharing the dropped shapes keep them. The registry is not thread-safe.
+ */
+public final class ObjectShapes {
+
+    /**
+     * Maximum amount of shapes kept by the registry before it is cleared.
+     */
+    static public final int MAX_SHAPES = 4096;
+
+    /**
+     * Initial size of the hash table of shapes.
+     */
+    static private final int INITIAL_SIZE = 16;
+
+    /**
+     * Hash table of shapes, null for free slots.
+     */
+    private Shape[] table;
+
+    /**
+     * Amount of shapes.
+     */
+    private int count;
+
+    /**
+     * Get an amount of shapes kept by the registry.
+     * @return Int value of shapes amount.
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Find a shape with the specified keys, or register a new one.
+     * @param keys Array of keys.
+     * @param size Amount of keys.
+     * @param positions Hash table of key positions built for the keys, or null.
+     * @return Shape.
+     */
+    Shape find(String[] keys, int size, int[] positions) {
+        int hash = hash(keys, size);
+        if (table == null)
+            table = new Shape[INITIAL_SIZE];
+        int mask = table.length - 1;
+        int slot = hash & mask;
+        for (Shape shape = table[slot]; shape != null; shape = table[slot]) {
+            if (shape.hash == hash && shape.matches(keys, size))
+                return shape;
+            slot = (slot + 1) & mask;
+        }
+        if (count == MAX_SHAPES) {
+            clear();
+            slot = hash & mask;
+        }
+        Shape shape = new Shape(Arrays.copyOf(keys, size), positions, hash);
+        table[slot] = shape;
+        count++;
+        if (count * 2 > table.length)
+            grow();
+        return shape;
+    }
+
+    /**
+     * Remove all the shapes from the registry.
+     */
+    private void clear() {
+        Arrays.fill(table, null);
+        count = 0;
+    }
+
+    /**
+     * Double the hash table of shapes.
+     */
+    private void grow() {
+        Shape[] old = table;
+        table = new Shape[old.length * 2];
+        int mask = table.length - 1;
+        for (Shape shape : old) {
+            if (shape == null)
+                continue;
+            int slot = shape.hash & mask;
+            while (table[slot] != null)
+                slot = (slot + 1) & mask;
+            table[slot] = shape;
+        }
+    }
+
+    /**
+     * Calculate hash of a sequence of keys.
+     * @param keys Array of keys.
+     * @param size Amount of keys.
+     * @return Int hash value.
+     */
+    static private int hash(String[] keys, int size) {
+        int h = size;
+        for (int i = 0; i < size; i++)
+            h = h * 31 + keys[i].hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Shape of objects shared by their maps of members.
+     */
+    static final class Shape {
+
+        /**
+         * Keys in insertion order.
+         */
+        final String[] keys;
+
+        /**
+         * Hash table of key positions, or null for small objects.
+         */
+        final int[] positions;
+
+        /**
+         * Hash of the keys sequence.
+         */
+        private final int hash;
+
+        /**
+         * Constructor.
+         * @param keys Keys in insertion order.
+         * @param positions Hash table of key positions, or null.
+         * @param hash Hash of the keys sequence.
+         */
+        Shape(String[] keys, int[] positions, int hash) {
+            this.keys = keys;
+            this.positions = positions;
+            this.hash = hash;
+        }
+
+        /**
+         * Check if the shape has the specified keys.
+         * @param keys Array of keys.
+         * @param size Amount of keys.
+         * @return TRUE if the keys are the same and in the same order.
+         */
+        boolean matches(String[] keys, int size) {
+            if (this.keys.length != size)
+                return false;
+            for (int i = 0; i < size; i++) {
+                if (!this.keys[i].equals(keys[i]))
+                    return false;
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Polina Volkhontseva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.keepcalmandjson.parser;
+
+import org.cqfn.keepcalmandjson.parser.exceptions.JsonParserException;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Test case for {@link JsonParser} calling {@link JsonHandler}.
+ */
+public class JsonHandlerTest {
+
+    static final String INPUT =
+            "{\n" +
+            "  \"host\" : \"node-1\",\n" +
+            "  \"counters\" : {\n" +
+            "    \"requests\" : 10,\n" +
+            "    nested : { \"errors\" : 2, \"retries\" : [1, 2, 3,] },\n" +
+            "  },\n" +
+            "  \"enabled\" : true,\n" +
+            "  \"owner\" : null\n" +
+            "}";
+
+    /**
+     * Handler recording all the events into a string.
+     */
+    static class RecordingHandler implements JsonHandler {
+        final StringBuilder events = new StringBuilder();
+
+        public void startObject() {
+            events.append('{');
+        }
+
+        public void endObject() {
+            events.append('}');
+        }
+
+        public void startArray() {
+            events.append('[');
+        }
+
+        public void endArray() {
+            events.append(']');
+        }
+
+        public void key(CharSequence key) {
+            events.append(key).append(':');
+        }
+
+        public void value(CharSequence value) {
+            events.append('\'').append(value).append('\'').append(' ');
+        }
+
+        public void value(double value) {
+            events.append((long)value).append(' ');
+        }
+
+        public void value(boolean value) {
+            events.append(value).append(' ');
+        }
+
+        public void nullValue() {
+            events.append("null ");
+        }
+    }
+
+    @Test
+    public void testEvents() throws JsonParserException {
+        RecordingHandler handler = new RecordingHandler();
+        JsonParser.parse(INPUT, handler);
+        String expected = "{host:'node-1' counters:{requests:10 nested:{errors:2 retries:[1 2 3 ]}}" +
+                "enabled:true owner:null }";
+        assertEquals(expected, handler.events.toString());
+    }
+
+    @Test
+    public void testSumOfNumbers() throws JsonParserException, IOException {
+        double[] sum = new double[1];
+        JsonHandler handler = new JsonHandler() {
+            public void value(double value) {
+                sum[0] += value;
+            }
+        };
+        byte[] bytes = INPUT.getBytes(StandardCharsets.UTF_8);
+        JsonParser.parse(bytes, 0, bytes.length, handler);
+        assertEquals(18, sum[0], 0);
+        sum[0] = 0;
+        JsonParser.parse(new ByteArrayInputStream(bytes), handler);
+        assertEquals(18, sum[0], 0);
+    }
+
+    @Test
+    public void testLongNumbers() throws JsonParserException {
+        StringBuilder events = new StringBuilder();
+        JsonHandler handler = new JsonHandler() {
+            public void value(double value) {
+                events.append("d").append(value).append(' ');
+            }
+
+            public void value(long value) {
+                events.append("l").append(value).append(' ');
+            }
+        };
+        JsonParser.parse("[9007199254740993, 0.5, -7]", handler);
+        assertEquals("l9007199254740993 d0.5 l-7 ", events.toString());
+    }
+
+    @Test
+    public void testInvalidData() {
+        JsonHandler handler = new JsonHandler() { };
+        assertThrows(JsonParserException.class, () -> JsonParser.parse("{ key : value}", handler));
+        assertThrows(JsonParserException.class, () -> JsonParser.parse("[1, 2", handler));
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Polina Volkhontseva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.keepcalmandjson.parser;
+
+import org.cqfn.keepcalmandjson.parser.exceptions.JsonParserException;
+import org.cqfn.keepcalmandjson.types.JsonElement;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Test case for {@link JsonLinesParser}.
+ */
+public class JsonLinesParserTest {
+
+    /**
+     * Create JSON Lines source.
+     * @param count Amount of records.
+     * @return String data.
+     */
+    private static String createLines(int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            sb.append("{\"id\" : ").append(i).append(", \"name\" : \"record ").append(i).append("\"}");
+            sb.append(i % 3 == 0 ? "\r\n" : "\n");
+            if (i % 10 == 0)
+                sb.append("  \n");
+        }
+        return sb.toString();
+    }
+
+    @Test
+    public void testOrderedStream() {
+        byte[] bytes = createLines(1000).getBytes(StandardCharsets.UTF_8);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            JsonLinesParser parser = new JsonLinesParser(executor, 64, 8);
+            List<JsonElement> records = parser.stream(bytes, 0, bytes.length).collect(Collectors.toList());
+            assertEquals(1000, records.size());
+            for (int i = 0; i < records.size(); i++) {
+                assertEquals(i, records.get(i).toJsonObject().getElementByKey("id").getIntValue());
+                assertEquals("record " + i, records.get(i).toJsonObject().getElementByKey("name").getStringValue());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testInputStreamCallback() throws JsonParserException, IOException {
+        String data = createLines(500) + "[1, 2]";
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            List<JsonElement> records = new ArrayList<>();
+            JsonLinesParser parser = new JsonLinesParser(executor, 100, 4);
+            parser.parse(new ByteArrayInputStream(data.getBytes(StandardCharsets.UTF_8)), records::add);
+            assertEquals(501, records.size());
+            assertEquals(499, records.get(499).toJsonObject().getElementByKey("id").getIntValue());
+            assertEquals("[1,2]", records.get(500).toString());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testLongLines() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 5; i++) {
+            sb.append('[');
+            for (int k = 0; k < 100; k++)
+                sb.append(k).append(',');
+            sb.append("\"\u0436\"]\n");
+        }
+        byte[] bytes = sb.toString().getBytes(StandardCharsets.UTF_8);
+        JsonLinesParser parser = new JsonLinesParser(Runnable::run, 16, 2);
+        List<JsonElement> records = parser.stream(new ByteArrayInputStream(bytes)).collect(Collectors.toList());
+        assertEquals(5, records.size());
+        for (JsonElement record : records)
+            assertEquals("\u0436", record.toJsonArray().getElementAt(100).getStringValue());
+    }
+
+    @Test
+    public void testFileStream() throws IOException {
+        Path path = Files.createTempFile("lines", ".jsonl");
+        try {
+            Files.write(path, createLines(200).getBytes(StandardCharsets.UTF_8));
+            try (Stream<JsonElement> records = new JsonLinesParser().stream(path)) {
+                assertEquals(19900, records.mapToInt(e -> e.toJsonObject().getElementByKey("id").getIntValue()).sum());
+            }
+        } finally {
+            Files.delete(path);
+        }
+    }
+
+    @Test
+    public void testInvalidRecord() {
+        byte[] bytes = "{\"a\" : 1}\n{\"a\" : }\n{\"a\" : 3}\n".getBytes(StandardCharsets.UTF_8);
+        JsonLinesParser parser = new JsonLinesParser(Runnable::run, 4, 1);
+        assertThrows(JsonParserException.class, () -> parser.parse(bytes, 0, bytes.length, e -> { }));
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> parser.stream(bytes, 0, bytes.length).count());
+        assertTrue(e.getCause() instanceof JsonParserException);
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Polina Volkhontseva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.keepcalmandjson.parser;
+
+import org.cqfn.keepcalmandjson.parser.exceptions.JsonParserException;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Test case for {@link JsonReader}.
+ */
+public class JsonReaderTest {
+
+    static final String INPUT =
+            "{\n" +
+            "  \"name\" : \"Ivan Ivanov\",\n" +
+            "  years : 25,\n" +
+            "  \"PhD\" : null,\n" +
+            "  \"skills\" : [\"Java\", \"C++\",],\n" +
+            "  \"testPassed\" : true,\n" +
+            "  \"research work\" : { \"papers\" : 3, \"rating\" : -4.5 },\n" +
+            "}";
+
+    @Test
+    public void testTokenSequence() throws JsonParserException {
+        JsonReader reader = new JsonReader(INPUT);
+        assertEquals(0, reader.getDepth());
+        assertEquals(JsonToken.START_OBJECT, reader.nextToken());
+        assertEquals(1, reader.getDepth());
+        assertEquals(JsonToken.KEY, reader.nextToken());
+        assertEquals("name", reader.getString());
+        assertEquals(JsonToken.STRING, reader.nextToken());
+        assertEquals("Ivan Ivanov", reader.getString());
+        assertEquals(JsonToken.KEY, reader.nextToken());
+        assertEquals("years", reader.getString());
+        assertEquals(JsonToken.NUMBER, reader.nextToken());
+        assertEquals(25, reader.getLong());
+        assertEquals(JsonToken.KEY, reader.nextToken());
+        assertEquals(JsonToken.NULL, reader.nextToken());
+        assertEquals(JsonToken.KEY, reader.nextToken());
+        assertEquals(JsonToken.START_ARRAY, reader.nextToken());
+        assertEquals(2, reader.getDepth());
+        assertEquals(JsonToken.STRING, reader.nextToken());
+        assertEquals(JsonToken.STRING, reader.nextToken());
+        assertEquals("C++", reader.getString());
+        assertEquals(JsonToken.END_ARRAY, reader.nextToken());
+        assertEquals(1, reader.getDepth());
+        assertEquals(JsonToken.KEY, reader.nextToken());
+        assertEquals(JsonToken.BOOLEAN, reader.nextToken());
+        assertTrue(reader.getBoolean());
+        assertEquals(JsonToken.KEY, reader.nextToken());
+        assertEquals(JsonToken.START_OBJECT, reader.nextToken());
+        assertEquals(JsonToken.KEY, reader.nextToken());
+        assertEquals(JsonToken.NUMBER, reader.nextToken());
+        assertEquals(JsonToken.KEY, reader.nextToken());
+        assertEquals(JsonToken.NUMBER, reader.nextToken());
+        assertEquals(-4.5, reader.getDouble(), 0);
+        assertEquals(JsonToken.END_OBJECT, reader.nextToken());
+        assertEquals(JsonToken.END_OBJECT, reader.nextToken());
+        assertEquals(0, reader.getDepth());
+        assertEquals(JsonToken.END_DOCUMENT, reader.nextToken());
+    }
+
+    @Test
+    public void testSkipValue() throws JsonParserException {
+        JsonReader reader = new JsonReader(INPUT);
+        assertEquals(JsonToken.START_OBJECT, reader.nextToken());
+        double papers = 0;
+        String name = null;
+        while (reader.nextToken() == JsonToken.KEY) {
+            String key = reader.getString();
+            if (key.equals("name")) {
+                reader.nextToken();
+                name = reader.getString();
+            }
+            else if (key.equals("research work")) {
+                assertEquals(JsonToken.START_OBJECT, reader.nextToken());
+                assertEquals(JsonToken.KEY, reader.nextToken());
+                reader.nextToken();
+                papers = reader.getDouble();
+                assertEquals(JsonToken.KEY, reader.nextToken());
+                reader.skipValue();
+                assertEquals(JsonToken.NUMBER, reader.getToken());
+                assertEquals(JsonToken.END_OBJECT, reader.nextToken());
+            }
+            else
+                reader.skipValue();
+        }
+        assertEquals(JsonToken.END_OBJECT, reader.getToken());
+        assertEquals("Ivan Ivanov", name);
+        assertEquals(3, papers, 0);
+    }
+
+    @Test
+    public void testSingleValues() throws JsonParserException {
+        JsonReader reader = new JsonReader("-123");
+        assertEquals(JsonToken.NUMBER, reader.nextToken());
+        assertEquals(-123, reader.getDouble(), 0);
+        assertEquals(JsonToken.END_DOCUMENT, reader.nextToken());
+
+        reader = new JsonReader("\"text\"");
+        assertEquals(JsonToken.STRING, reader.nextToken());
+        assertEquals("text", reader.getString());
+        assertEquals(0, reader.getDouble(), 0);
+
+        reader = new JsonReader("false");
+        assertEquals(JsonToken.BOOLEAN, reader.nextToken());
+        assertFalse(reader.getBoolean());
+        assertNull(reader.getString());
+    }
+
+    @Test
+    public void testDeepNesting() throws JsonParserException {
+        int depth = 100000;
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < depth; i++)
+            sb.append('[');
+        for (int i = 0; i < depth; i++)
+            sb.append(']');
+        JsonReader reader = new JsonReader(sb.toString());
+        reader.nextToken();
+        reader.skipValue();
+        assertEquals(0, reader.getDepth());
+        assertEquals(JsonToken.END_DOCUMENT, reader.nextToken());
+    }
+
+    public void testExceptOccurrence(String input) {
+        JsonReader reader = new JsonReader(input);
+        assertThrows(JsonParserException.class, () -> {
+            while (reader.nextToken() != JsonToken.END_DOCUMENT)
+                reader.skipValue();
+        });
+    }
+
+    @Test
+    public void testInvalidData() {
+        testExceptOccurrence("{ 12 : 345}");
+        testExceptOccurrence("{ key : value}");
+        testExceptOccurrence("[\"test\" : 123]");
+        testExceptOccurrence("[1, 2 &*&, 3]");
+        testExceptOccurrence("{\"key\" : \"value\"");
+        testExceptOccurrence("\"test\\*symbols\"");
+        testExceptOccurrence("123PU");
+    }
+
+    @Test
+    public void testLongNumbers() throws JsonParserException {
+        JsonReader reader = new JsonReader("[9007199254740993, -123456789012345678, 1.5, 1e3]");
+        assertEquals(JsonToken.START_ARRAY, reader.nextToken());
+        assertEquals(JsonToken.NUMBER, reader.nextToken());
+        assertTrue(reader.isLong());
+        assertEquals(9007199254740993L, reader.getLong());
+        assertEquals(9007199254740992.0, reader.getDouble());
+        assertEquals(JsonToken.NUMBER, reader.nextToken());
+        assertEquals(-123456789012345678L, reader.getLong());
+        assertEquals(JsonToken.NUMBER, reader.nextToken());
+        assertFalse(reader.isLong());
+        assertEquals(0, reader.getLong());
+        assertEquals(1.5, reader.getDouble());
+        assertEquals(JsonToken.NUMBER, reader.nextToken());
+        assertTrue(reader.isLong());
+        assertEquals(1000, reader.getLong());
+        assertEquals(JsonToken.END_ARRAY, reader.nextToken());
+        assertFalse(reader.isLong());
+    }
+
+    @Test
+    public void testStringRuns() throws JsonParserException {
+        String input = "{\"plain key\" : [\"a\\\"b\\u0041c\", \"\u0436\u0437 x\", \"long plain text value\", \"\"]}";
+        String[] expected = { "plain key", "a\"bAc", "\u0436\u0437 x", "long plain text value", "" };
+        byte[] bytes = input.getBytes(StandardCharsets.UTF_8);
+        JsonReader[] readers = {
+            new JsonReader(input),
+            new JsonReader(bytes, 0, bytes.length),
+            new JsonReader(new InputStreamOrigin(new ByteArrayInputStream(bytes), 5)),
+            new JsonReader(new ReaderOrigin(new StringReader(input), 3))
+        };
+        for (JsonReader reader : readers) {
+            int k = 0;
+            for (JsonToken token = reader.nextToken(); token != JsonToken.END_DOCUMENT; token = reader.nextToken()) {
+                if (token == JsonToken.KEY || token == JsonToken.STRING)
+                    assertEquals(expected[k++], reader.getText().toString());
+            }
+            assertEquals(expected.length, k);
+        }
+    }
+}
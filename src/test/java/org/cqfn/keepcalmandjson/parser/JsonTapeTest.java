@@ -0,0 +1,209 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Polina Volkhontseva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.keepcalmandjson.parser;
+
+import org.cqfn.keepcalmandjson.parser.exceptions.JsonParserException;
+import org.cqfn.keepcalmandjson.types.JsonArray;
+import org.cqfn.keepcalmandjson.types.JsonElement;
+import org.cqfn.keepcalmandjson.types.JsonObject;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Test case for {@link JsonTape} document.
+ */
+public class JsonTapeTest {
+
+    static final String INPUT =
+            "{\n" +
+            "  \"name\" : \"Ivan Ivanov\",\n" +
+            "  \"years\" : 25,\n" +
+            "  \"skills\" : [\"Java\", \"C++\", [1, 2.5,], {}, []],\n" +
+            "  \"flags\" : [true, false, null],\n" +
+            "  \"research work\" : { \"papers\" : 3, publications : 1, },\n" +
+            "  \"years\" : 26,\n" +
+            "}";
+
+    @Test
+    public void testTapeNavigation() throws JsonParserException {
+        JsonTape tape = JsonTape.parse(INPUT);
+        JsonTapeElement root = tape.getRoot();
+        assertTrue(root.isObject());
+        assertNull(root.getParent());
+        assertEquals(6, root.size());
+        assertEquals("Ivan Ivanov", root.getElementByKey("name").getStringValue());
+        assertEquals(26, root.getElementByKey("years").getIntValue());
+        assertNull(root.getElementByKey("age"));
+        assertFalse(root.containsKey("age"));
+
+        JsonTapeElement skills = root.getElementByKey("skills");
+        assertSame(root, skills.getParent());
+        assertTrue(skills.isArray());
+        assertEquals(5, skills.size());
+        assertEquals("C++", skills.getElementAt(1).getStringValue());
+        JsonTapeElement numbers = skills.getElementAt(2);
+        assertTrue(numbers.getElementAt(0).isInteger());
+        assertFalse(numbers.getElementAt(1).isInteger());
+        assertEquals(2.5, numbers.getElementAt(1).getDoubleValue());
+        assertEquals(0, skills.getElementAt(3).size());
+        assertThrows(IndexOutOfBoundsException.class, () -> skills.getElementAt(5));
+        assertThrows(IndexOutOfBoundsException.class, () -> root.getElementAt(0));
+
+        JsonTapeElement flags = root.getElementByKey("flags");
+        assertTrue(flags.getElementAt(0).getBooleanValue());
+        assertTrue(flags.getElementAt(1).isBoolean());
+        assertFalse(flags.getElementAt(1).getBooleanValue());
+        assertTrue(flags.getElementAt(2).isNull());
+        assertEquals(1, root.getElementByKey("research work").getElementByKey("publications").getLongValue());
+    }
+
+    @Test
+    public void testTapeOutputEqualsTree() throws JsonParserException {
+        JsonElement tree = JsonParser.parse(INPUT);
+        JsonTapeElement root = JsonTape.parse(INPUT).getRoot();
+        assertEquals(tree.toString(), root.toString());
+        assertEquals(tree.toStringWithIndents(), root.toStringWithIndents());
+        assertEquals(tree.toString(), root.toJsonElement().toString());
+        assertEquals("[1,2.5]", root.getElementByKey("skills").getElementAt(2).toString());
+        JsonObject work = root.getElementByKey("research work").toJsonObject();
+        assertNotNull(work);
+        assertEquals(3, work.getElementByKey("papers").getIntValue());
+        assertNull(root.toJsonArray());
+        JsonArray flags = root.getElementByKey("flags").toJsonArray();
+        assertEquals(3, flags.size());
+    }
+
+    @Test
+    public void testTapeIterators() throws JsonParserException {
+        JsonTapeElement root = JsonTape.parse(INPUT).getRoot();
+        Iterator<String> keys = root.keyIterator();
+        StringBuilder sb = new StringBuilder();
+        while (keys.hasNext())
+            sb.append(keys.next()).append(';');
+        assertEquals("name;years;skills;flags;research work;years;", sb.toString());
+        Iterator<Map.Entry<String, JsonTapeElement>> members = root.memberIterator();
+        Map.Entry<String, JsonTapeElement> member = members.next();
+        assertEquals("name", member.getKey());
+        assertEquals("Ivan Ivanov", member.getValue().getStringValue());
+        assertSame(root, member.getValue().getParent());
+        assertEquals(25, members.next().getValue().getIntValue());
+        JsonTapeElement skills = members.next().getValue();
+        Iterator<JsonTapeElement> elements = skills.elementIterator();
+        int count = 0;
+        while (elements.hasNext()) {
+            JsonTapeElement element = elements.next();
+            assertEquals(skills.getElementAt(count).toString(), element.toString());
+            count++;
+        }
+        assertEquals(5, count);
+        assertThrows(NoSuchElementException.class, elements::next);
+        assertEquals("Ivan Ivanov", root.elementIterator().next().getStringValue());
+        assertFalse(skills.keyIterator().hasNext());
+        assertFalse(skills.memberIterator().hasNext());
+        assertFalse(skills.getElementAt(0).elementIterator().hasNext());
+        assertFalse(skills.getElementAt(3).keyIterator().hasNext());
+        assertEquals(2.5, skills.getElementAt(2).getElementAt(1).getDoubleValue());
+        assertThrows(IndexOutOfBoundsException.class, () -> skills.getElementAt(-1));
+    }
+
+    @Test
+    public void testTapeDeepNesting() throws JsonParserException {
+        int depth = 100000;
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < depth; i++)
+            sb.append(i % 2 == 0 ? "[1," : "{\"a\":");
+        sb.append("null");
+        for (int i = depth - 1; i >= 0; i--)
+            sb.append(i % 2 == 0 ? "]" : "}");
+        String input = sb.toString();
+        JsonTapeElement root = JsonTape.parse(input).getRoot();
+        assertEquals(input, root.toString());
+        JsonElement element = root.toJsonElement();
+        assertEquals(input, element.toString());
+        for (int i = 1; i < depth; i++)
+            element = i % 2 == 1 ? element.toJsonArray().getElementAt(1) : element.toJsonObject().getElementByKey("a");
+        assertTrue(element.toJsonObject().getElementByKey("a").isNull());
+    }
+
+    @Test
+    public void testTapeFromStreams() throws JsonParserException, IOException {
+        String expected = JsonParser.parse(INPUT).toString();
+        byte[] bytes = INPUT.getBytes(StandardCharsets.UTF_8);
+        assertEquals(expected, JsonTape.parse(bytes, 0, bytes.length).getRoot().toString());
+        assertEquals(expected, JsonTape.parse(new ByteArrayInputStream(bytes)).getRoot().toString());
+        assertEquals(expected, JsonTape.parse(new StringReader(INPUT)).getRoot().toString());
+    }
+
+    @Test
+    public void testLargeContainerCount() throws JsonParserException {
+        StringBuilder sb = new StringBuilder("[");
+        int count = 0x1000010;
+        for (int i = 0; i < count; i++)
+            sb.append(i == 0 ? "0" : ",0");
+        sb.append(']');
+        assertEquals(count, JsonTape.parse(sb.toString()).getRoot().size());
+    }
+
+    @Test
+    public void testTapeScalarRoot() throws JsonParserException {
+        JsonTapeElement root = JsonTape.parse("\"text\"").getRoot();
+        assertTrue(root.isString());
+        assertEquals("\"text\"", root.toString());
+        assertEquals(0, root.size());
+        assertEquals(2, JsonTape.parse("1.5").size());
+    }
+
+    @Test
+    public void testInvalidTape() {
+        assertThrows(JsonParserException.class, () -> JsonTape.parse("{\"a\" : [1, 2}"));
+        assertThrows(JsonParserException.class, () -> JsonTape.parse("[\"text]"));
+    }
+
+    @Test
+    public void testTapeLongNumbers() throws JsonParserException {
+        String input = "{\"id\" : 9007199254740993, \"ids\" : [123456789012345678, -9223372036854775808, 2.5, 7]}";
+        JsonTapeElement root = JsonTape.parse(input).getRoot();
+        assertEquals(JsonParser.parse(input).toString(), root.toString());
+        JsonTapeElement id = root.getElementByKey("id");
+        assertTrue(id.isNumber());
+        assertTrue(id.isLongInteger());
+        assertFalse(id.isInteger());
+        assertEquals(9007199254740993L, id.getLongValue());
+        JsonTapeElement ids = root.getElementByKey("ids");
+        assertEquals(123456789012345678L, ids.getElementAt(0).getLongValue());
+        assertEquals(Long.MIN_VALUE, ids.getElementAt(1).getLongValue());
+        assertFalse(ids.getElementAt(2).isLongInteger());
+        assertEquals(7, ids.getElementAt(3).getIntValue());
+        assertEquals(9007199254740993L, root.toJsonElement().toJsonObject().getElementByKey("id").getLongValue());
+    }
+}
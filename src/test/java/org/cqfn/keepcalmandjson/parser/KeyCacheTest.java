@@ -0,0 +1,109 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Polina Volkhontseva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.keepcalmandjson.parser;
+
+import org.cqfn.keepcalmandjson.parser.exceptions.JsonParserException;
+import org.cqfn.keepcalmandjson.types.JsonArray;
+import org.cqfn.keepcalmandjson.types.JsonElement;
+import org.cqfn.keepcalmandjson.types.JsonObject;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Test case for {@link KeyCache}.
+ */
+public class KeyCacheTest {
+
+    static final String INPUT =
+            "[{\"id\" : 1, name : \"a\", \"t\\u0061g\" : 1, \"\u0436\" : 0},\n" +
+            " {\"id\" : 2, name : \"b\", \"tag\" : 2, \"\u0436\" : 0},\n" +
+            " {\"id\" : 3, name : \"c\", \"tag\" : 3, \"\u0436\" : 0}]";
+
+    /**
+     * Get the key instance of an object element.
+     * @param arr Array of objects.
+     * @param index Index of the object.
+     * @param key Key value.
+     * @return String instance stored in the object.
+     */
+    private static String key(JsonArray arr, int index, String key) {
+        JsonObject obj = arr.getElementAt(index).toJsonObject();
+        for (String name : obj.getElements().keySet()) {
+            if (name.equals(key))
+                return name;
+        }
+        return null;
+    }
+
+    /**
+     * Check that all objects share key instances.
+     * @param element Parsed element.
+     */
+    private static void checkShared(JsonElement element) {
+        JsonArray arr = element.toJsonArray();
+        for (String name : new String[] { "id", "name", "tag", "\u0436" }) {
+            assertSame(key(arr, 0, name), key(arr, 1, name));
+            assertSame(key(arr, 1, name), key(arr, 2, name));
+        }
+    }
+
+    @Test
+    public void testSharedKeys() throws JsonParserException, IOException {
+        KeyCache keys = new KeyCache();
+        checkShared(JsonParser.parse(INPUT, keys));
+        assertEquals(4, keys.getMisses());
+        assertEquals(8, keys.getHits());
+        checkShared(JsonParser.parseNoThrow(INPUT, keys));
+        assertEquals(20, keys.getHits());
+
+        byte[] bytes = INPUT.getBytes(StandardCharsets.UTF_8);
+        keys.clear();
+        checkShared(JsonParser.parse(bytes, 0, bytes.length, keys));
+        assertEquals(8, keys.getHits());
+        checkShared(JsonParser.parseNoThrow(bytes, 0, bytes.length, keys));
+        checkShared(JsonParser.parse(new StringReader(INPUT), keys));
+        assertEquals(new KeyCache().intern("id", 0, 2), keys.intern("aid".toCharArray(), 1, 3));
+    }
+
+    @Test
+    public void testBoundedCache() {
+        KeyCache keys = new KeyCache(3);
+        String first = keys.intern("first", 0, 5);
+        assertSame(first, keys.intern(new StringBuilder("first")));
+        assertSame(first, keys.intern("first".getBytes(StandardCharsets.US_ASCII), 0, 5));
+        for (int i = 0; i < 100; i++)
+            keys.intern("key" + i, 0, ("key" + i).length());
+        assertEquals(101, keys.getMisses());
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i <= KeyCache.MAX_LENGTH; i++)
+            sb.append('k');
+        assertNotSame(keys.intern(sb), keys.intern(sb));
+        assertThrows(IllegalArgumentException.class, () -> new KeyCache(0));
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Polina Volkhontseva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.keepcalmandjson.parser;
+
+import org.cqfn.keepcalmandjson.parser.exceptions.JsonParserException;
+import org.cqfn.keepcalmandjson.types.JsonArray;
+import org.cqfn.keepcalmandjson.types.JsonContainer;
+import org.cqfn.keepcalmandjson.types.JsonElement;
+import org.cqfn.keepcalmandjson.types.JsonObject;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Test case for {@link JsonParser} lazy parsing.
+ */
+public class LazyParserTest {
+
+    static final String INPUT =
+            "{\n" +
+            "  \"name\" : \"Ivan Ivanov\",\n" +
+            "  \"years\" : 25,\n" +
+            "  \"skills\" : [\"Java\", \"C++\", [1, 2,], {}],\n" +
+            "  \"research work\" : { \"papers\" : 3, publications : 1, },\n" +
+            "}";
+
+    @Test
+    public void testLazyObjectParsing() throws JsonParserException {
+        JsonObject object = JsonParser.parseLazy(INPUT).toJsonObject();
+        assertNotNull(object);
+        assertFalse(object.isLoaded());
+        assertEquals("Ivan Ivanov", object.getElementByKey("name").getStringValue());
+        assertTrue(object.isLoaded());
+
+        JsonObject work = object.getElementByKey("research work").toJsonObject();
+        assertNotNull(work);
+        assertFalse(work.isLoaded());
+        JsonArray skills = object.getElementByKey("skills").toJsonArray();
+        assertNotNull(skills);
+        assertFalse(skills.isLoaded());
+
+        assertEquals(3, work.getElementByKey("papers").getIntValue());
+        assertSame(work, work.getElementByKey("papers").getParent());
+        assertSame(object, work.getParent());
+        assertEquals(4, skills.size());
+        JsonArray numbers = skills.getElementAt(2).toJsonArray();
+        assertFalse(numbers.isLoaded());
+        assertEquals(2, numbers.getElementAt(1).getIntValue());
+    }
+
+    @Test
+    public void testLazyOutputEqualsEager() throws JsonParserException {
+        JsonElement eager = JsonParser.parse(INPUT);
+        assertEquals(eager.toString(), JsonParser.parseLazy(INPUT).toString());
+        assertEquals(eager.toStringWithIndents(), JsonParser.parseLazy(INPUT).toStringWithIndents());
+        byte[] bytes = ("  " + INPUT).getBytes(StandardCharsets.UTF_8);
+        assertEquals(eager.toString(), JsonParser.parseLazy(bytes, 2, bytes.length - 2).toString());
+    }
+
+    @Test
+    public void testLazyArrayModification() throws JsonParserException {
+        JsonArray array = JsonParser.parseLazy("[1, [2, 3]]").toJsonArray();
+        array.createStringElement("new");
+        assertEquals("[1,[2,3],\"new\"]", array.toString());
+    }
+
+    @Test
+    public void testFailedLoading() {
+        AtomicInteger calls = new AtomicInteger();
+        JsonContainer.Loader loader = container -> {
+            JsonObject obj = container.toJsonObject();
+            obj.createJsonNumber("a", 1);
+            if (calls.incrementAndGet() == 1)
+                throw new IllegalStateException();
+            obj.createJsonNumber("b", 2);
+        };
+        JsonObject object = new JsonObject(null, loader);
+        assertThrows(IllegalStateException.class, object::size);
+        assertFalse(object.isLoaded());
+        assertEquals("{\"a\":1,\"b\":2}", object.toString());
+        assertTrue(object.isLoaded());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void testConcurrentLoading() throws Exception {
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < 2000; i++)
+            sb.append(i == 0 ? "" : ",").append("{\"id\" : ").append(i).append(", \"values\" : [1, 2, 3]}");
+        sb.append(']');
+        String expected = JsonParser.parse(sb.toString()).toString();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (int k = 0; k < 5; k++) {
+                JsonElement root = JsonParser.parseLazy(sb.toString());
+                Future<?>[] results = new Future<?>[4];
+                for (int t = 0; t < results.length; t++)
+                    results[t] = executor.submit(() -> {
+                        assertEquals(2000, root.toJsonArray().size());
+                        assertEquals(expected, root.toString());
+                    });
+                for (Future<?> result : results)
+                    result.get();
+            }
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testSingleValues() throws JsonParserException {
+        assertEquals(-12.5, JsonParser.parseLazy("-12.5").getDoubleValue(), 0);
+        assertEquals("text", JsonParser.parseLazy("\"text\"").getStringValue());
+        assertTrue(JsonParser.parseLazy("null").isNull());
+    }
+
+    @Test
+    public void testNestedErrorsFoundWhileParsing() {
+        assertThrows(JsonParserException.class, () -> JsonParser.parseLazy("{\"a\" : [1, {\"b\" : value}]}"));
+        assertThrows(JsonParserException.class, () -> JsonParser.parseLazy("[[1, 2]"));
+        assertNull(JsonParser.parseLazyNoThrow("{\"a\" : [1, 2 3]}"));
+        byte[] bytes = "[{\"a\" : }]".getBytes(StandardCharsets.UTF_8);
+        assertNull(JsonParser.parseLazyNoThrow(bytes, 0, bytes.length));
+    }
+}
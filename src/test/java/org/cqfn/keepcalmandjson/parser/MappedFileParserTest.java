@@ -0,0 +1,110 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Polina Volkhontseva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.keepcalmandjson.parser;
+
+import org.cqfn.keepcalmandjson.parser.exceptions.JsonParserException;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Test case for {@link JsonParser} parsing memory-mapped files.
+ */
+public class MappedFileParserTest {
+
+    static Path createFile(String data) throws IOException {
+        Path file = Files.createTempFile("keepcalmandjson", ".json");
+        Files.write(file, data.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    @Test
+    public void testFileParsing() throws JsonParserException, IOException {
+        Path file = createFile(StreamParserTest.INPUT);
+        try {
+            StreamParserTest.checkElement(JsonParser.parse(file));
+            StreamParserTest.checkElement(JsonParser.parseNoThrow(file));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testFileParsingWithSmallWindows() throws JsonParserException, IOException {
+        Path file = createFile(StreamParserTest.INPUT);
+        try {
+            for (int windowSize = 1; windowSize < 12; windowSize++) {
+                try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                    MappedFileOrigin origin = new MappedFileOrigin(channel, 5, windowSize);
+                    StreamParserTest.checkElement(JsonParser.parse(origin, null));
+                }
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testFileParsingWithHandler() throws JsonParserException, IOException {
+        Path file = createFile(StreamParserTest.INPUT);
+        int[] count = new int[1];
+        try {
+            JsonParser.parse(file, new JsonHandler() {
+                public void key(CharSequence key) {
+                    count[0]++;
+                }
+            });
+        } finally {
+            Files.delete(file);
+        }
+        assertEquals(5, count[0]);
+    }
+
+    @Test
+    public void testEmptyFile() throws IOException {
+        Path file = createFile("");
+        try {
+            assertThrows(JsonParserException.class, () -> JsonParser.parse(file));
+            assertNull(JsonParser.parseNoThrow(file));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    public void testMissingFile() throws IOException {
+        Path file = createFile("");
+        Files.delete(file);
+        assertThrows(NoSuchFileException.class, () -> JsonParser.parse(file));
+        assertNull(JsonParser.parseNoThrow(file));
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Polina Volkhontseva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.keepcalmandjson.parser;
+
+import org.cqfn.keepcalmandjson.parser.exceptions.JsonParserException;
+import org.cqfn.keepcalmandjson.types.JsonArray;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+/**
+ * Test case for {@link JsonParser} number parsing.
+ */
+public class NumberParserTest {
+
+    /**
+     * Check that a number is parsed to the same double as by {@link Double#parseDouble}.
+     * @param text Number in JSON format.
+     */
+    private static void check(String text) throws JsonParserException {
+        double expected = Double.parseDouble(text);
+        double actual = JsonParser.parse("[" + text + "]").toJsonArray().getElementAt(0).getDoubleValue();
+        assertEquals(Double.doubleToRawLongBits(expected), Double.doubleToRawLongBits(actual), text);
+        assertEquals(Double.doubleToRawLongBits(expected),
+                Double.doubleToRawLongBits(JsonParser.parse(text).getDoubleValue()), text);
+    }
+
+    @Test
+    public void testExactNumbers() throws JsonParserException {
+        String[] numbers = {
+            "0", "-0", "0.0", "007", "1.", "-1.5", "0.001", "123456789", "3.14159265358979",
+            "9007199254740992", "9007199254740993", "9223372036854775807", "9223372036854775808",
+            "18446744073709551615", "18446744073709551616", "1234567890123456789012345",
+            "0.1", "0.30000000000000004", "2.2250738585072014", "1797693134862315.7",
+            "0.000000000000000000000000000001", "12345678901234567890.123456789",
+            "4.35", "0.000123000", "100000000000000000000000000000000000000000"
+        };
+        for (String number : numbers)
+            check(number);
+    }
+
+    @Test
+    public void testRandomNumbers() throws JsonParserException {
+        Random random = new Random(42);
+        for (int i = 0; i < 20000; i++) {
+            StringBuilder sb = new StringBuilder();
+            if (random.nextBoolean())
+                sb.append('-');
+            int intDigits = 1 + random.nextInt(20);
+            for (int k = 0; k < intDigits; k++)
+                sb.append((char)('0' + random.nextInt(10)));
+            if (random.nextBoolean()) {
+                sb.append('.');
+                int fracDigits = random.nextInt(25);
+                for (int k = 0; k < fracDigits; k++)
+                    sb.append((char)('0' + random.nextInt(10)));
+            }
+            check(sb.toString());
+        }
+    }
+
+    @Test
+    public void testRandomDoubles() throws JsonParserException {
+        Random random = new Random(7);
+        for (int i = 0; i < 20000; i++) {
+            String text = new BigDecimal(random.nextDouble() * Math.pow(10, random.nextInt(30) - 10))
+                    .toPlainString();
+            check(text.length() > 60 ? text.substring(0, 60) : text);
+        }
+    }
+
+    @Test
+    public void testExponents() throws JsonParserException {
+        String[] numbers = {
+            "1e9", "1E9", "2.5E-3", "-2.5e+3", "0e10", "1e22", "1e23", "1e30", "123e20", "9007199254740993e10",
+            "1e-400", "1e400", "4.9e-324", "1.7976931348623157e308", "12345678901234567890e-5", "1.5e0000012"
+        };
+        for (String number : numbers)
+            check(number);
+        assertEquals("[1.0E-5]", JsonParser.parse(JsonParser.parse("[1e-5]").toString()).toString());
+    }
+
+    @Test
+    public void testRandomExponents() throws JsonParserException {
+        Random random = new Random(11);
+        for (int i = 0; i < 20000; i++) {
+            StringBuilder sb = new StringBuilder();
+            int digits = 1 + random.nextInt(20);
+            for (int k = 0; k < digits; k++)
+                sb.append((char)('0' + random.nextInt(10)));
+            if (random.nextBoolean())
+                sb.append('.').append(random.nextInt(1000));
+            sb.append(random.nextBoolean() ? 'e' : 'E');
+            int power = random.nextInt(700) - 350;
+            if (power >= 0 && random.nextBoolean())
+                sb.append('+');
+            sb.append(power);
+            check(sb.toString());
+        }
+    }
+
+    @Test
+    public void testInvalidExponents() {
+        String[] numbers = { "1e", "1e+", "1E-", "1.5e-a", "1ee5", "1e5.5" };
+        for (String number : numbers) {
+            assertThrows(JsonParserException.class, () -> JsonParser.parse("[" + number + "]"), number);
+            assertNull(JsonParser.parseNoThrow("[" + number + "]"), number);
+            assertNull(JsonParser.parseNoThrow(number), number);
+        }
+    }
+
+    @Test
+    public void testNumberStorage() throws JsonParserException {
+        JsonArray arr = JsonParser.parse("[9007199254740993, -9223372036854775808, 12e3, 1.5, -0]").toJsonArray();
+        assertEquals(9007199254740993L, arr.getElementAt(0).getLongValue());
+        assertEquals(Long.MIN_VALUE, arr.getElementAt(1).getLongValue());
+        assertEquals(12000, arr.getElementAt(2).getIntValue());
+        assertEquals("[9007199254740993,-9223372036854775808,12000,1.5,0]", arr.toString());
+        assertEquals(Double.doubleToRawLongBits(-0.0), Double.doubleToRawLongBits(arr.getElementAt(4).getDoubleValue()));
+
+        String data = "[0.10, 123456789012345678901234567890.123, 1e-3, -2]";
+        JsonArray exact = JsonParser.parseExact(data).toJsonArray();
+        assertEquals(new BigDecimal("0.10"), exact.getElementAt(0).toJsonNumber().getBigDecimalValue());
+        assertEquals("[0.10,123456789012345678901234567890.123,0.001,-2]", exact.toString());
+        byte[] bytes = data.getBytes(StandardCharsets.UTF_8);
+        assertEquals(exact.toString(), JsonParser.parseExact(bytes, 0, bytes.length).toString());
+        assertNull(JsonParser.parseExactNoThrow("[1e]"));
+    }
+}
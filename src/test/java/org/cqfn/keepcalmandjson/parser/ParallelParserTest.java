@@ -0,0 +1,127 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Polina Volkhontseva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.keepcalmandjson.parser;
+
+import org.cqfn.keepcalmandjson.parser.exceptions.ExpectedArrayException;
+import org.cqfn.keepcalmandjson.parser.exceptions.JsonParserException;
+import org.cqfn.keepcalmandjson.types.JsonArray;
+import org.cqfn.keepcalmandjson.types.JsonElement;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Test case for {@link JsonParser} parallel parsing of a top-level array.
+ */
+public class ParallelParserTest {
+
+    /**
+     * Create a top-level array of objects.
+     * @param count Amount of elements.
+     * @return String data.
+     */
+    private static String createArray(int count) {
+        StringBuilder sb = new StringBuilder(" [\n");
+        for (int i = 0; i < count; i++) {
+            sb.append("  {\"id\" : ").append(i);
+            sb.append(", \"name\" : \"a, [b] {\\\"c\\\"}\\\\\", tags : [1, {\"x\" : \"]\"}],},\n");
+        }
+        sb.append("  \"\u0436\",\n]");
+        return sb.toString();
+    }
+
+    @Test
+    public void testParallelArrayEqualsSequential() throws JsonParserException {
+        String data = createArray(5000);
+        JsonElement expected = JsonParser.parse(data);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            JsonElement fromString = JsonParser.parseParallel(data, pool);
+            assertEquals(expected.toString(), fromString.toString());
+            byte[] bytes = ("  " + data).getBytes(StandardCharsets.UTF_8);
+            JsonElement fromBytes = JsonParser.parseParallel(bytes, 2, bytes.length - 2, pool);
+            assertEquals(expected.toString(), fromBytes.toString());
+
+            JsonArray array = fromBytes.toJsonArray();
+            assertEquals(5001, array.size());
+            for (int i = 0; i < 5000; i++) {
+                JsonElement element = array.getElementAt(i);
+                assertSame(array, element.getParent());
+                assertEquals(i, element.toJsonObject().getElementByKey("id").getIntValue());
+            }
+            assertEquals("\u0436", array.getElementAt(5000).getStringValue());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testParallelSmallInputs() throws JsonParserException {
+        assertEquals("[ ]", JsonParser.parseParallel("[ ]").toStringWithIndents());
+        assertEquals("[1]", JsonParser.parseParallel("[1,]").toString());
+        assertEquals("{\"a\":[1,2]}", JsonParser.parseParallel("{ a : [1, 2] }").toString());
+        assertEquals(3, JsonParser.parseParallel("3").getIntValue());
+    }
+
+    @Test
+    public void testParallelInvalidInputs() {
+        assertThrows(ExpectedArrayException.class, () -> JsonParser.parseParallel("[1, 2"));
+        assertThrows(ExpectedArrayException.class, () -> JsonParser.parseParallel("[1,, 2]"));
+        assertThrows(JsonParserException.class, () -> JsonParser.parseParallel("[1 2]"));
+        assertThrows(JsonParserException.class, () -> JsonParser.parseParallel("[{\"a\" : }, 2]"));
+        byte[] bytes = "[\"a\", [1}]".getBytes(StandardCharsets.UTF_8);
+        assertThrows(JsonParserException.class, () -> JsonParser.parseParallel(bytes, 0, bytes.length));
+    }
+
+    @Test
+    public void testParallelScalarElements() throws JsonParserException {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            String mixed = "[1, 2.5, \"x\", true, {\"a\":1}, -3, null]";
+            JsonArray array = ParallelArrayParser.parseArray(mixed, pool);
+            assertNotNull(array);
+            assertEquals(JsonParser.parse(mixed).toString(), array.toString());
+            StringBuilder sb = new StringBuilder("[");
+            for (int i = 0; i < 10000; i++)
+                sb.append(i).append(i % 2 == 0 ? ", " : ".5, ");
+            sb.append("-1e3]");
+            byte[] bytes = sb.toString().getBytes(StandardCharsets.UTF_8);
+            JsonArray numbers = ParallelArrayParser.parseArray(bytes, 0, bytes.length, pool);
+            assertNotNull(numbers);
+            assertTrue(numbers.isPacked());
+            assertEquals(JsonParser.parse(sb.toString()).toString(), numbers.toString());
+            JsonArray flags = ParallelArrayParser.parseArray("[true, false ,true]", pool);
+            assertNotNull(flags);
+            assertTrue(flags.isPacked());
+            assertArrayEquals(new boolean[] {true, false, true}, flags.toBooleanArray());
+            assertNull(ParallelArrayParser.parseArray("[1 2]", pool));
+            assertNull(ParallelArrayParser.parseArray("[-x]", pool));
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
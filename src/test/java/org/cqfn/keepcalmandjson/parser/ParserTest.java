@@ -23,10 +23,15 @@
  */
 package org.cqfn.keepcalmandjson.parser;
 
+import org.cqfn.keepcalmandjson.parser.exceptions.*;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 import org.cqfn.keepcalmandjson.types.*;
 
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
 
@@ -281,4 +286,190 @@ public class ParserTest {
         String expected = "test/symbols";
         testEscapeSequencesParsing(expected, input);
     }
+
+    @Test
+    public void testSharedObjectShapes() {
+        StringBuilder input = new StringBuilder("[");
+        for (int i = 0; i < 100; i++) {
+            if (i > 0)
+                input.append(',');
+            input.append("{\"id\" : ").append(i).append(", \"name\" : \"n").append(i).append("\"}");
+        }
+        input.append(", {\"name\" : \"last\", \"id\" : 100}]");
+        JsonArray array = JsonParser.parseNoThrow(input.toString()).toJsonArray();
+        assertNotNull(array);
+        JsonObject first = array.getElementAt(0).toJsonObject();
+        JsonObject second = array.getElementAt(99).toJsonObject();
+        JsonObject last = array.getElementAt(100).toJsonObject();
+        assertSame(first.getElements().keySet().iterator().next(),
+                second.getElements().keySet().iterator().next());
+        assertEquals("{\"id\":99,\"name\":\"n99\"}", second.toString());
+        assertEquals("{\"name\":\"last\",\"id\":100}", last.toString());
+        second.createJsonBoolean("flag", true);
+        assertEquals("{\"id\":99,\"name\":\"n99\",\"flag\":true}", second.toString());
+        assertEquals("{\"id\":0,\"name\":\"n0\"}", first.toString());
+    }
+
+    @Test
+    public void testFullObjectShapes() throws JsonParserException {
+        JsonParser.Session session = new JsonParser.Session();
+        for (int i = 0; i <= ObjectShapes.MAX_SHAPES; i++)
+            session.parse("{\"k" + i + "\" : " + i + "}");
+        JsonObject old = session.parse("{\"k0\" : 0}").toJsonObject();
+        JsonArray array = session.parse("[{\"id\" : 1, \"name\" : \"a\"}, {\"id\" : 2, \"name\" : \"b\"}]").toJsonArray();
+        JsonObject first = array.getElementAt(0).toJsonObject();
+        JsonObject second = array.getElementAt(1).toJsonObject();
+        assertSame(first.getElements().keySet().iterator().next(),
+                second.getElements().keySet().iterator().next());
+        assertEquals("{\"id\":2,\"name\":\"b\"}", second.toString());
+        assertEquals("{\"k0\":0}", old.toString());
+    }
+
+    @Test
+    public void testPackedBooleans() throws JsonParserException {
+        JsonObject object = JsonParser.parse("{\"a\" : [true, false, true], \"b\" : [1, 2, 3]}").toJsonObject();
+        JsonArray flags = object.getElementByKey("a").toJsonArray();
+        assertTrue(flags.isPacked());
+        assertArrayEquals(new boolean[] { true, false, true }, flags.toBooleanArray());
+        assertSame(flags.getElementAt(2), flags.getElementAt(2));
+        JsonArray numbers = object.getElementByKey("b").toJsonArray();
+        assertSame(numbers.getElementAt(1), numbers.getElementAt(1));
+        assertSame(numbers, numbers.getElementAt(1).getParent());
+        assertTrue(JsonParser.parseNoThrow("[false, true]").toJsonArray().isPacked());
+        assertThrows(JsonParserException.class, () -> JsonParser.parse("[true, tru]"));
+        assertNull(JsonParser.parseNoThrow("[fals]"));
+        assertNull(JsonParser.parseNoThrow("[true, trueish]"));
+    }
+
+    @Test
+    public void testPackedArrays() {
+        String input = "{\"ints\" : [1, -2, 3], \"numbers\" : [1, 2.5, -3e2], "
+                + "\"flags\" : [true, false], \"mixed\" : [1, true, \"s\"], \"empty\" : []}";
+        JsonObject object = JsonParser.parseNoThrow(input).toJsonObject();
+        assertNotNull(object);
+        JsonArray ints = object.getElementByKey("ints").toJsonArray();
+        assertTrue(ints.isPacked());
+        assertArrayEquals(new long[] {1, -2, 3}, ints.toLongArray());
+        JsonArray numbers = object.getElementByKey("numbers").toJsonArray();
+        assertTrue(numbers.isPacked());
+        assertArrayEquals(new double[] {1, 2.5, -300}, numbers.toDoubleArray());
+        assertTrue(object.getElementByKey("flags").toJsonArray().isPacked());
+        assertFalse(object.getElementByKey("mixed").toJsonArray().isPacked());
+        assertEquals("{\"ints\":[1,-2,3],\"numbers\":[1,2.5,-300],\"flags\":[true,false],"
+                + "\"mixed\":[1,true,\"s\"],\"empty\":[]}", object.toString());
+        assertNull(JsonParser.parseNoThrow("[1, -x]"));
+        assertNull(JsonParser.parseNoThrow("[1, 2"));
+    }
+
+    @Test
+    public void testParseWithoutParents() {
+        String input = "{\"a\" : {\"b\" : null, \"c\" : false}, \"d\" : [true, null, \"s\"]}";
+        JsonObject object = JsonParser.parseWithoutParentsNoThrow(input).toJsonObject();
+        assertNotNull(object);
+        JsonObject inner = object.getElementByKey("a").toJsonObject();
+        assertNull(inner.getParent());
+        assertSame(JsonNull.NULL, inner.getElementByKey("b"));
+        assertSame(JsonBoolean.FALSE, inner.getElementByKey("c"));
+        JsonArray array = object.getElementByKey("d").toJsonArray();
+        assertNull(array.getParent());
+        assertSame(JsonNull.NULL, array.getElementAt(1));
+        assertNull(array.getElementAt(2).getParent());
+        JsonArray packed = JsonParser.parseWithoutParentsNoThrow("[[1, 2.5], [false]]").toJsonArray();
+        assertNull(packed.getElementAt(0).toJsonArray().getElementAt(1).getParent());
+        assertSame(JsonBoolean.FALSE, packed.getElementAt(1).toJsonArray().getElementAt(0));
+        assertEquals(input.replace(" ", ""), object.toString());
+        byte[] data = input.getBytes(StandardCharsets.UTF_8);
+        assertEquals(object.toString(), JsonParser.parseWithoutParentsNoThrow(data, 0, data.length).toString());
+        assertSame(JsonBoolean.TRUE, JsonParser.parseWithoutParentsNoThrow("true"));
+        assertNull(JsonParser.parseWithoutParentsNoThrow("{\"a\" : nul}"));
+        assertNotNull(JsonParser.parseNoThrow(input).toJsonObject().getElementByKey("a").getParent());
+    }
+
+    @Test
+    public void testParserSession() throws JsonParserException {
+        JsonParser.Session session = new JsonParser.Session();
+        JsonObject first = session.parse("{\"id\" : 1, \"name\" : \"a\\tb\", \"ok\" : true}").toJsonObject();
+        byte[] data = "{\"id\" : 2, \"name\" : \"c\", \"ok\" : null}".getBytes(StandardCharsets.UTF_8);
+        JsonObject second = session.parse(data, 0, data.length).toJsonObject();
+        assertEquals("{\"id\":1,\"name\":\"a\\tb\",\"ok\":true}", first.toString());
+        assertEquals("{\"id\":2,\"name\":\"c\",\"ok\":null}", second.toString());
+        assertSame(first.getElements().keySet().iterator().next(),
+                second.getElements().keySet().iterator().next());
+        assertNull(session.parseNoThrow("[1, tru]"));
+        assertNull(session.parseNoThrow(data, 0, 5));
+        assertEquals("[1,false]", session.parseNoThrow("[1, false]").toString());
+        session.setExactNumbers(true);
+        session.setWithoutParents(true);
+        JsonObject exact = session.parse("{\"x\" : 0.10, \"y\" : null}").toJsonObject();
+        assertEquals(new BigDecimal("0.10"), exact.getElementByKey("x").toJsonNumber().getBigDecimalValue());
+        assertSame(JsonNull.NULL, exact.getElementByKey("y"));
+        assertThrows(JsonParserException.class, () -> session.parse("{\"x\" : }"));
+    }
+
+    @Test
+    public void testDeepNesting() throws JsonParserException, IOException {
+        int depth = 100000;
+        String input = nested(depth);
+        JsonParser.Session session = new JsonParser.Session();
+        assertThrows(MaxDepthExceededException.class, () -> session.parse(input));
+        assertNull(session.parseNoThrow(input));
+        session.setMaxDepth(depth);
+        JsonElement element = session.parse(input);
+        assertEquals(input, element.toString());
+        assertEquals(input, session.parse(new StringReader(input)).toString());
+        String shallow = nested(2000);
+        String indented = JsonParser.parse(shallow).toStringWithIndents();
+        assertTrue(indented.startsWith("[\n  {\n    \"a\" :\n    [\n"));
+        assertTrue(indented.endsWith("\n  }\n]"));
+        assertEquals(shallow, JsonParser.parse(indented).toString());
+        for (int i = 1; i < depth; i++)
+            element = i % 2 == 1 ? element.toJsonArray().getElementAt(0) : element.toJsonObject().getElementByKey("a");
+        assertTrue(element.toJsonObject().getElementByKey("a").isNull());
+        assertNotNull(session.parseNoThrow(input));
+        session.setMaxDepth(2);
+        assertEquals("[{\"a\":1}]", session.parse("[{\"a\" : 1}]").toString());
+        assertNull(session.parseNoThrow("[{\"a\" : []}]"));
+    }
+
+    /**
+     * Create arrays and objects nested one into another.
+     * @param depth Depth of nesting.
+     * @return String representation of the nested data.
+     */
+    private String nested(int depth) {
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < depth; i++)
+            input.append(i % 2 == 0 ? "[" : "{\"a\":");
+        input.append("null");
+        for (int i = depth - 1; i >= 0; i--)
+            input.append(i % 2 == 0 ? "]" : "}");
+        return input.toString();
+    }
+
+    @Test
+    public void testContainerHelpers() throws JsonParserException {
+        StringOrigin origin = new StringOrigin("{\"a\" : [1, {\"b\" : true}], \"c\" : {}}");
+        origin.next();
+        JsonObject obj = JsonParser.parseObject(origin, null);
+        assertEquals("{\"a\":[1,{\"b\":true}],\"c\":{}}", obj.toString());
+        assertSame(obj, obj.getElementByKey("a").getParent());
+        origin = new StringOrigin("[1, [2, 3]]");
+        origin.next();
+        assertEquals("[1,[2,3]]", JsonParser.parseArray(origin, null).toString());
+        origin = new StringOrigin("[1, 2");
+        origin.next();
+        assertNull(JsonParser.parseArrayNoThrow(origin, null));
+        origin = new StringOrigin("{\"a\" 1}");
+        origin.next();
+        assertNull(JsonParser.parseObjectNoThrow(origin, null));
+    }
+
+    @Test
+    public void testNestedFailures() {
+        assertThrows(ExpectedJsonElementException.class, () -> JsonParser.parse("{\"a\" : [1, x]}"));
+        assertThrows(ExpectedArrayException.class, () -> JsonParser.parse("[{\"a\" 1}]"));
+        assertThrows(InvalidJsonException.class, () -> JsonParser.parse("{\"a\" 1}"));
+        assertThrows(ExpectedArrayException.class, () -> JsonParser.parse("[1, [2, 3]"));
+        assertEquals("{\"a\":[1,{}],\"b\":[]}", JsonParser.parseNoThrow("{\"a\" : [1, {},], \"b\" : [],}").toString());
+    }
 }
@@ -0,0 +1,104 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Polina Volkhontseva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.keepcalmandjson.parser;
+
+import org.cqfn.keepcalmandjson.parser.exceptions.JsonParserException;
+import org.cqfn.keepcalmandjson.types.JsonElement;
+import org.cqfn.keepcalmandjson.types.JsonObject;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Test case for {@link JsonParser} parsing with {@link JsonProjection}.
+ */
+public class ProjectionParserTest {
+
+    static final String INPUT =
+            "{\n" +
+            "  \"user\" : { \"id\" : 17, \"name\" : \"Ivan\", \"roles\" : [\"admin\", {\"x\" : \"}]\\\"\"}] },\n" +
+            "  \"items\" : [\n" +
+            "    { \"price\" : 1.5, \"title\" : \"pen\", \"tags\" : [[], {}] },\n" +
+            "    { \"title\" : \"book\", \"price\" : -200 },\n" +
+            "    { \"title\" : \"empty\" },\n" +
+            "    7,\n" +
+            "  ],\n" +
+            "  meta : { \"flags\" : [true, false, null], \"size\" : 4 },\n" +
+            "  \"tail\" : \"\\u0041\",\n" +
+            "}";
+
+    @Test
+    public void testProjectedPaths() throws JsonParserException {
+        JsonProjection projection = new JsonProjection("user.id", "items[*].price", "meta");
+        JsonElement root = JsonParser.parse(INPUT, projection);
+        assertEquals("{\"items\":[{\"price\":1.5},{\"price\":-200},{}],"
+                + "\"meta\":{\"flags\":[true,false,null],\"size\":4},\"user\":{\"id\":17}}",
+                root.toCanonicalString());
+        JsonObject user = root.toJsonObject().getElementByKey("user").toJsonObject();
+        assertSame(root, user.getParent());
+        assertEquals(1, user.size());
+    }
+
+    @Test
+    public void testProjectionSources() throws JsonParserException, IOException {
+        JsonProjection projection = new JsonProjection("tail", "user.roles[*]");
+        String expected = "{\"tail\":\"A\",\"user\":{\"roles\":[\"admin\",{\"x\":\"}]\\\"\"}]}}";
+        assertEquals(expected, JsonParser.parse(INPUT, projection).toCanonicalString());
+        byte[] bytes = INPUT.getBytes(StandardCharsets.UTF_8);
+        assertEquals(expected, JsonParser.parse(bytes, 0, bytes.length, projection).toCanonicalString());
+        assertEquals(expected, JsonParser.parse(new ByteArrayInputStream(bytes), projection).toCanonicalString());
+        assertEquals(expected, JsonParser.parse(new StringReader(INPUT), projection).toCanonicalString());
+    }
+
+    @Test
+    public void testRootArrayProjection() throws JsonParserException {
+        JsonProjection projection = new JsonProjection("[*].id");
+        assertEquals("[{\"id\":1},{\"id\":2}]",
+                JsonParser.parse("[{\"id\" : 1, \"a\" : [1]}, {\"id\" : 2}]", projection).toString());
+        assertNull(JsonParser.parse("{\"id\" : 1}", projection));
+        assertNull(JsonParser.parse("5", new JsonProjection("a")));
+    }
+
+    @Test
+    public void testMalformedProjection() {
+        assertThrows(IllegalArgumentException.class, () -> new JsonProjection(""));
+        assertThrows(IllegalArgumentException.class, () -> new JsonProjection("a..b"));
+        assertThrows(IllegalArgumentException.class, () -> new JsonProjection("a[1]"));
+        assertThrows(IllegalArgumentException.class, () -> new JsonProjection("a[*]b"));
+    }
+
+    @Test
+    public void testInvalidSkippedValues() {
+        JsonProjection projection = new JsonProjection("id");
+        assertThrows(JsonParserException.class, () -> JsonParser.parse("{\"a\" : [1, 2", projection));
+        assertThrows(JsonParserException.class, () -> JsonParser.parse("{\"a\" : \"text", projection));
+        assertThrows(JsonParserException.class, () -> JsonParser.parse("{\"a\" : ?, \"id\" : 1}", projection));
+        assertThrows(JsonParserException.class, () -> JsonParser.parse("{\"id\" : [1, }", projection));
+    }
+}
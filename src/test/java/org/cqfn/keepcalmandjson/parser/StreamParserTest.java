@@ -0,0 +1,116 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Polina Volkhontseva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.keepcalmandjson.parser;
+
+import org.cqfn.keepcalmandjson.parser.exceptions.JsonParserException;
+import org.cqfn.keepcalmandjson.types.JsonArray;
+import org.cqfn.keepcalmandjson.types.JsonElement;
+import org.cqfn.keepcalmandjson.types.JsonObject;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Test case for {@link JsonParser} parsing streamed data.
+ */
+public class StreamParserTest {
+
+    static final String INPUT =
+            "{\n" +
+            "  \"name\" : \"\u0418\u0432\u0430\u043d \ud83d\ude00\",\n" +
+            "  \"years\" : 25,\n" +
+            "  \"skills\" : [\"Java\", \"C++\", 12.5, false, null],\n" +
+            "  \"research work\" : { \"papers\" : 3 }\n" +
+            "}";
+
+    static InputStream stream(String data) {
+        return new ByteArrayInputStream(data.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static void checkElement(JsonElement element) {
+        assertNotNull(element);
+        JsonObject object = element.toJsonObject();
+        assertNotNull(object);
+        assertEquals("\u0418\u0432\u0430\u043d \ud83d\ude00", object.getElementByKey("name").getStringValue());
+        assertEquals(25, object.getElementByKey("years").getIntValue());
+        JsonArray array = object.getElementByKey("skills").toJsonArray();
+        assertNotNull(array);
+        assertEquals(5, array.size());
+        assertEquals(12.5, array.getElementAt(2).getDoubleValue(), 0);
+        assertEquals(3, object.getElementByKey("research work").toJsonObject()
+                .getElementByKey("papers").getIntValue());
+    }
+
+    @Test
+    public void testInputStreamParsing() throws JsonParserException, IOException {
+        checkElement(JsonParser.parse(stream(INPUT)));
+    }
+
+    @Test
+    public void testInputStreamParsingWithSmallBuffers() throws JsonParserException {
+        for (int size = 4; size < 12; size++)
+            checkElement(JsonParser.parse(new InputStreamOrigin(stream(INPUT), size), null));
+    }
+
+    @Test
+    public void testReaderParsing() throws JsonParserException, IOException {
+        checkElement(JsonParser.parse(new StringReader(INPUT)));
+    }
+
+    @Test
+    public void testReaderParsingWithSmallBuffers() throws JsonParserException {
+        for (int size = 1; size < 12; size++)
+            checkElement(JsonParser.parse(new ReaderOrigin(new StringReader(INPUT), size), null));
+    }
+
+    @Test
+    public void testSingleNumberParsing() throws JsonParserException, IOException {
+        assertEquals(-123, JsonParser.parse(stream("-123")).getIntValue());
+        assertEquals(-123, JsonParser.parse(new StringReader("-123")).getIntValue());
+    }
+
+    @Test
+    public void testInvalidDataNullReturn() {
+        assertNull(JsonParser.parseNoThrow(stream("{\"key\" : \"value\"")));
+        assertNull(JsonParser.parseNoThrow(new StringReader("[1, 2, 3 }")));
+    }
+
+    @Test
+    public void testReadingFailure() {
+        InputStream failing = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Broken stream");
+            }
+        };
+        assertThrows(IOException.class, () -> JsonParser.parse(failing));
+        assertNull(JsonParser.parseNoThrow(failing));
+    }
+}
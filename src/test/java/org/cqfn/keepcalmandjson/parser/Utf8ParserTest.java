@@ -0,0 +1,127 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Polina Volkhontseva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.keepcalmandjson.parser;
+
+import org.cqfn.keepcalmandjson.parser.JsonParser.Origin;
+import org.cqfn.keepcalmandjson.parser.exceptions.JsonParserException;
+import org.cqfn.keepcalmandjson.types.JsonArray;
+import org.cqfn.keepcalmandjson.types.JsonElement;
+import org.cqfn.keepcalmandjson.types.JsonObject;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Test case for {@link JsonParser} parsing UTF-8 encoded bytes.
+ */
+public class Utf8ParserTest {
+
+    static byte[] encode(String data) {
+        return data.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testObjectParsing() throws JsonParserException {
+        byte[] input = encode("{\"name\" : \"Ivan\", \"years\" : 25, \"skills\" : [\"Java\", true, null]}");
+        JsonElement element = JsonParser.parse(input, 0, input.length);
+        JsonObject object = element.toJsonObject();
+        assertNotNull(object);
+        assertEquals("Ivan", object.getElementByKey("name").getStringValue());
+        assertEquals(25, object.getElementByKey("years").getIntValue());
+        JsonArray array = object.getElementByKey("skills").toJsonArray();
+        assertNotNull(array);
+        assertEquals(3, array.size());
+        assertTrue(array.getElementAt(1).getBooleanValue());
+        assertTrue(array.getElementAt(2).isNull());
+    }
+
+    @Test
+    public void testMultibyteStringParsing() throws JsonParserException {
+        String expected = "\u0442\u0435\u0441\u0442 \u6d4b\u8bd5 \ud83d\ude00";
+        byte[] input = encode("\"" + expected + "\"");
+        JsonElement element = JsonParser.parse(input, 0, input.length);
+        assertEquals(expected, element.getStringValue());
+    }
+
+    @Test
+    public void testParsingWithOffset() {
+        byte[] input = encode("###[1, \"\u043a\u043b\u044e\u0447\", 3]###");
+        JsonElement element = JsonParser.parseNoThrow(input, 3, input.length - 6);
+        assertNotNull(element);
+        JsonArray array = element.toJsonArray();
+        assertNotNull(array);
+        assertEquals(3, array.size());
+        assertEquals("\u043a\u043b\u044e\u0447", array.getElementAt(1).getStringValue());
+    }
+
+    @Test
+    public void testSingleNumberParsing() throws JsonParserException {
+        byte[] input = encode("-123");
+        assertEquals(-123, JsonParser.parse(input, 0, input.length).getIntValue());
+    }
+
+    @Test
+    public void testMalformedSequenceReplacement() {
+        byte[] input = new byte[] { '"', 'a', (byte)0xC3, 'b', '"' };
+        JsonElement element = JsonParser.parseNoThrow(input, 0, input.length);
+        assertNotNull(element);
+        assertEquals("a\ufffdb", element.getStringValue());
+    }
+
+    @Test
+    public void testPlainStringReading() {
+        byte[] input = encode("ab\u0436\ud83d\ude00\", x");
+        Origin origin = new Utf8Origin(input, 0, input.length);
+        assertEquals("ab\u0436\ud83d\ude00", origin.readPlainString(null));
+        assertEquals(',', origin.get());
+        input = encode("a\\\"b\", x");
+        origin = new Utf8Origin(input, 0, input.length);
+        assertNull(origin.readPlainString(null));
+        assertEquals('a', origin.get());
+        input = new byte[] { 'a', (byte)0xE2, (byte)0x82, 'b', '"' };
+        assertNull(new Utf8Origin(input, 0, input.length).readPlainString(null));
+        input = encode("abc");
+        assertNull(new Utf8Origin(input, 0, input.length).readPlainString(null));
+    }
+
+    @Test
+    public void testInvalidDataNullReturn() {
+        byte[] input = encode("{ key : value}");
+        assertNull(JsonParser.parseNoThrow(input, 0, input.length));
+    }
+
+    @Test
+    public void testInvalidDataException() {
+        byte[] input = encode("[\"test\" : 123]");
+        assertThrows(JsonParserException.class, () -> JsonParser.parse(input, 0, input.length));
+    }
+
+    @Test
+    public void testInvalidBounds() {
+        byte[] input = encode("[]");
+        assertThrows(IndexOutOfBoundsException.class, () -> JsonParser.parse(input, 1, 2));
+    }
+}
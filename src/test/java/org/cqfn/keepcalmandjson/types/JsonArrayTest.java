@@ -156,4 +156,114 @@ public class JsonArrayTest {
                 "}";
         GeneralTest.testNoExceptionStringFormatWithIndents(expectedWithIndents2, object);
     }
+
+    @Test
+    public void testJsonArrayLoadedOnFirstAccess() {
+        int[] calls = new int[1];
+        JsonArray jsonArray = new JsonArray(null, container -> {
+            calls[0]++;
+            container.toJsonArray().createNumberElement(1);
+            container.toJsonArray().createNumberElement(2);
+        });
+        assertFalse(jsonArray.isLoaded());
+        assertEquals(0, calls[0]);
+        assertEquals(2, jsonArray.size());
+        assertTrue(jsonArray.isLoaded());
+        assertEquals("[1,2]", jsonArray.toString());
+        assertEquals(1, calls[0]);
+    }
+
+    @Test
+    public void testPackedNumbers() {
+        JsonArray longs = new JsonArray(null);
+        for (long i = 0; i < 100; i++)
+            longs.addNumber(i * 1000000007L);
+        assertTrue(longs.isPacked());
+        assertEquals(100, longs.size());
+        assertEquals(99 * 1000000007L, longs.toLongArray()[99]);
+        JsonElement elem = longs.getElementAt(3);
+        assertTrue(elem.isLongInteger());
+        assertSame(longs, elem.getParent());
+        assertEquals(3000000021L, elem.getLongValue());
+
+        JsonArray numbers = new JsonArray(null);
+        numbers.addNumber(1L);
+        numbers.addNumber(2.5);
+        numbers.addNumber(-3L);
+        assertTrue(numbers.isPacked());
+        assertEquals("[1,2.5,-3]", numbers.toString());
+        assertArrayEquals(new double[] {1, 2.5, -3}, numbers.toDoubleArray());
+        assertArrayEquals(new long[] {1, 0, -3}, numbers.toLongArray());
+        assertEquals("1", numbers.getElementAt(0).toJsonNumber().getBigDecimalValue().toString());
+        assertEquals("[\n  1,\n  2.5,\n  -3\n]", numbers.toStringWithIndents());
+
+        numbers.addNumber(Long.MAX_VALUE);
+        assertFalse(numbers.isPacked());
+        assertEquals("[1,2.5,-3," + Long.MAX_VALUE + "]", numbers.toString());
+        assertEquals(Long.MAX_VALUE, numbers.getElementAt(3).getLongValue());
+    }
+
+    @Test
+    public void testPackedBooleans() {
+        JsonArray flags = new JsonArray(null);
+        for (int i = 0; i < 130; i++)
+            flags.addBoolean(i % 3 == 0);
+        assertTrue(flags.isPacked());
+        boolean[] values = flags.toBooleanArray();
+        assertEquals(130, values.length);
+        assertTrue(values[129]);
+        assertFalse(values[128]);
+        assertTrue(flags.getElementAt(126).getBooleanValue());
+        assertTrue(flags.toString().startsWith("[true,false,false,true,"));
+
+        JsonNull nullElement = flags.createNullElement();
+        assertFalse(flags.isPacked());
+        assertEquals(131, flags.size());
+        assertSame(nullElement, flags.getElementAt(130));
+        assertTrue(flags.getElementAt(129).getBooleanValue());
+        flags.getArrayElements().remove(0);
+        assertFalse(flags.getElementAt(0).getBooleanValue());
+        assertEquals(130, flags.toBooleanArray().length);
+    }
+
+    @Test
+    public void testPackedArrayElementsList() {
+        JsonArray numbers = new JsonArray(null);
+        for (long i = 0; i < 10; i++)
+            numbers.addNumber(i);
+        assertTrue(numbers.isPacked());
+        List<JsonElement> elements = numbers.getArrayElements();
+        assertFalse(numbers.isPacked());
+        JsonElement third = numbers.getElementAt(3);
+        assertSame(third, numbers.getElementAt(3));
+        assertSame(third, elements.get(3));
+        assertEquals(3, elements.indexOf(third));
+        assertTrue(elements.contains(third));
+        assertTrue(elements.remove(third));
+        assertEquals("[0,1,2,4,5,6,7,8,9]", numbers.toString());
+
+        JsonArray flags = new JsonArray(null, true);
+        flags.addBoolean(true);
+        flags.addNumber(2L);
+        assertSame(JsonBoolean.TRUE, flags.getElementAt(0));
+        assertNull(flags.getElementAt(1).getParent());
+    }
+
+    @Test
+    public void testPackedElementIdentity() {
+        JsonArray numbers = new JsonArray(null);
+        numbers.addNumber(1L);
+        numbers.addNumber(2L);
+        JsonElement second = numbers.getElementAt(1);
+        assertSame(second, numbers.getElementAt(1));
+        assertSame(numbers, second.getParent());
+        numbers.addNumber(2.5);
+        numbers.addNumber(4L);
+        assertTrue(numbers.isPacked());
+        assertSame(second, numbers.getElementAt(1));
+        assertSame(numbers.getElementAt(3), numbers.getElementAt(3));
+        assertEquals(2, second.getIntValue());
+        assertSame(second, numbers.getArrayElements().get(1));
+        assertEquals("[1,2,2.5,4]", numbers.toString());
+    }
 }
@@ -59,4 +59,16 @@ public class JsonBooleanTest {
         assertNotNull(jsonBoolean);
         assertFalse(jsonBoolean.getBooleanValue());
     }
+
+    @Test
+    public void testSharedJsonBoolean() {
+        JsonArray array = new JsonArray(null);
+        array.addArrayElement(JsonBoolean.TRUE);
+        array.addArrayElement(JsonNull.NULL);
+        assertNull(JsonBoolean.TRUE.getParent());
+        assertNull(JsonNull.NULL.getParent());
+        assertEquals("[true,null]", array.toString());
+        assertTrue(JsonBoolean.TRUE.getBooleanValue());
+        assertFalse(JsonBoolean.FALSE.getBooleanValue());
+    }
 }
@@ -0,0 +1,61 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Polina Volkhontseva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.keepcalmandjson.types;
+
+import org.cqfn.keepcalmandjson.parser.JsonParser;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test case for {@link JsonCursor}.
+ */
+public class JsonCursorTest {
+    @Test
+    public void testJsonCursorMoving() {
+        JsonElement root = JsonParser.parseWithoutParentsNoThrow("{\"a\" : [1, {\"b\" : true}], \"c\" : null}");
+        assertNotNull(root);
+        JsonCursor cursor = new JsonCursor(root);
+        assertSame(root, cursor.getElement());
+        assertNull(cursor.getParent());
+        assertFalse(cursor.moveToParent());
+        assertFalse(cursor.moveToIndex(0));
+        assertFalse(cursor.moveToKey("x"));
+        assertTrue(cursor.moveToKey("a"));
+        assertSame(root, cursor.getParent());
+        JsonElement array = cursor.getElement();
+        assertFalse(cursor.moveToIndex(2));
+        assertTrue(cursor.moveToIndex(1));
+        assertSame(array, cursor.getParent());
+        assertTrue(cursor.moveToKey("b"));
+        assertSame(JsonBoolean.TRUE, cursor.getElement());
+        assertEquals(3, cursor.getDepth());
+        assertEquals("{\"b\":true}", cursor.getParent().toString());
+        assertTrue(cursor.moveToParent());
+        assertTrue(cursor.moveToParent());
+        assertTrue(cursor.moveToParent());
+        assertEquals(0, cursor.getDepth());
+        assertTrue(cursor.moveToKey("c"));
+        assertSame(JsonNull.NULL, cursor.getElement());
+    }
+}
@@ -26,6 +26,9 @@ package org.cqfn.keepcalmandjson.types;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.math.BigDecimal;
+import java.util.Random;
+
 /**
  * Test case for {@link JsonNumber}.
  */
@@ -81,4 +84,62 @@ public class JsonNumberTest {
         assertNotNull(jsonNumber);
         GeneralTest.testNoExceptionBooleanCase(true, jsonNumber.isNumber());
     }
+
+    @Test
+    public void testJsonNumberLongStorage() {
+        long input = 9007199254740993L;
+        JsonNumber jsonNumber = new JsonNumber(null, input);
+        assertEquals(input, jsonNumber.getLongValue());
+        assertTrue(jsonNumber.isLongInteger());
+        assertFalse(jsonNumber.isInteger());
+        assertEquals(0, jsonNumber.getIntValue());
+        assertEquals(new BigDecimal("9007199254740993"), jsonNumber.getBigDecimalValue());
+        GeneralTest.testNoExceptionStringFormat("9007199254740993", jsonNumber);
+    }
+
+    @Test
+    public void testJsonNumberBigDecimalStorage() {
+        JsonNumber jsonNumber = new JsonNumber(null, new BigDecimal("123456789012345678901234.50"));
+        assertFalse(jsonNumber.isLongInteger());
+        assertEquals(0, jsonNumber.getLongValue());
+        assertEquals(1.2345678901234568E23, jsonNumber.getDoubleValue());
+        GeneralTest.testNoExceptionStringFormat("123456789012345678901234.50", jsonNumber);
+        jsonNumber = new JsonNumber(null, new BigDecimal("42.0"));
+        assertTrue(jsonNumber.isInteger());
+        assertEquals(42, jsonNumber.getIntValue());
+        String[] longs = { "9223372036854775807", "-9223372036854775808", "1E+5", "0E-7", "-12.000" };
+        for (String value : longs) {
+            jsonNumber = new JsonNumber(null, new BigDecimal(value));
+            assertTrue(jsonNumber.isLongInteger());
+            assertEquals(new BigDecimal(value).longValueExact(), jsonNumber.getLongValue());
+        }
+        String[] others = { "9223372036854775808", "-9223372036854775809", "1E+30", "2.5", "1E-300" };
+        for (String value : others) {
+            jsonNumber = new JsonNumber(null, new BigDecimal(value));
+            assertFalse(jsonNumber.isLongInteger());
+            assertFalse(jsonNumber.isInteger());
+            assertEquals(0, jsonNumber.getLongValue());
+        }
+        assertFalse(new JsonNumber(null, new BigDecimal("2147483648")).isInteger());
+        assertTrue(new JsonNumber(null, new BigDecimal("-2147483648.0")).isInteger());
+    }
+
+    @Test
+    public void testJsonNumberFormatUnchanged() {
+        Random random = new Random(3);
+        double[] special = { 0.0, -0.0, 1e20, -1e19, 9.223372036854776E18, 0.1, 1e-7, 123456.789,
+            Double.MAX_VALUE, Double.MIN_VALUE, Double.NaN, Double.POSITIVE_INFINITY, Long.MIN_VALUE };
+        for (int i = 0; i < 10000 + special.length; i++) {
+            double value;
+            if (i < special.length)
+                value = special[i];
+            else if (i % 2 == 0)
+                value = random.nextInt();
+            else
+                value = Double.longBitsToDouble(random.nextLong());
+            String expected = value == (long)value
+                    ? String.format("%d", (long)value) : String.format("%s", value);
+            assertEquals(expected, new JsonNumber(null, value).toString());
+        }
+    }
 }
@@ -26,6 +26,8 @@ package org.cqfn.keepcalmandjson.types;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.Map;
 
 /**
@@ -60,8 +62,8 @@ public class JsonObjectTest {
         String expectedWithIndents =
                 "{\n" +
                 "  \"name\" : \"Big fish\",\n" +
+                "  \"year\" : 2003,\n" +
                 "  \"rating\" : 8.1,\n" +
-                "  \"reviews\" : null,\n" +
                 "  \"stars\" :\n" +
                 "  [\n" +
                 "    \"Ewan McGregor\",\n" +
@@ -69,7 +71,7 @@ public class JsonObjectTest {
                 "    \"Jessica Lange\"\n" +
                 "  ],\n" +
                 "  \"wasNominated\" : true,\n" +
-                "  \"year\" : 2003\n" +
+                "  \"reviews\" : null\n" +
                 "}";
         GeneralTest.testNoExceptionStringFormatWithIndents(expectedWithIndents, film);
     }
@@ -86,14 +88,14 @@ public class JsonObjectTest {
 
         String expected =
                 "{\n" +
+                "  \"language\" : \"C\",\n" +
+                "  \"latest standard\" : \"C18\",\n" +
                 "  \"influenced languages\" :\n" +
                 "  {\n" +
-                "    \"alternatives\" : { },\n" +
                 "    \"language\" : \"C++\",\n" +
-                "    \"latest standard\" : \"C++17\"\n" +
-                "  },\n" +
-                "  \"language\" : \"C\",\n" +
-                "  \"latest standard\" : \"C18\"\n" +
+                "    \"latest standard\" : \"C++17\",\n" +
+                "    \"alternatives\" : { }\n" +
+                "  }\n" +
                 "}";
         GeneralTest.testNoExceptionStringFormatWithIndents(expected, language);
 
@@ -127,4 +129,95 @@ public class JsonObjectTest {
         JsonElement paradigmsElement = java.getElementByKey("paradigms");
         assertSame(paradigms, paradigmsElement);
     }
+
+    @Test
+    public void testJsonObjectMembersOrder() {
+        JsonObject object = new JsonObject(null);
+        for (int i = 40; i > 0; i--)
+            object.createJsonNumber("k" + i, i);
+        object.createJsonString("k7", "replaced");
+        assertEquals(40, object.size());
+        assertEquals("replaced", object.getElementByKey("k7").getStringValue());
+        assertNull(object.getElementByKey("k41"));
+        StringBuilder expected = new StringBuilder("{");
+        for (int i = 40; i > 0; i--) {
+            if (i < 40)
+                expected.append(',');
+            expected.append("\"k").append(i).append("\":");
+            expected.append(i == 7 ? "\"replaced\"" : Integer.toString(i));
+        }
+        expected.append('}');
+        assertEquals(expected.toString(), object.toString());
+
+        String[] keys = new String[40];
+        for (int i = 0; i < 40; i++)
+            keys[i] = "k" + (i + 1);
+        Arrays.sort(keys);
+        StringBuilder canonical = new StringBuilder("{");
+        for (String key : keys) {
+            if (canonical.length() > 1)
+                canonical.append(',');
+            canonical.append('"').append(key).append("\":");
+            canonical.append(key.equals("k7") ? "\"replaced\"" : key.substring(1));
+        }
+        canonical.append('}');
+        assertEquals(canonical.toString(), object.toCanonicalString());
+
+        Iterator<Map.Entry<String, JsonElement>> iterator = object.getElements().entrySet().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().getValue().getIntValue() % 2 == 0)
+                iterator.remove();
+        }
+        assertEquals(19, object.size());
+        assertTrue(object.containsKey("k39"));
+        assertFalse(object.containsKey("k40"));
+        assertFalse(object.containsKey("k7"));
+        expected = new StringBuilder("{");
+        for (int i = 39; i > 0; i -= 2) {
+            if (i == 7)
+                continue;
+            if (i < 39)
+                expected.append(',');
+            expected.append("\"k").append(i).append("\":").append(i);
+        }
+        expected.append('}');
+        assertEquals(expected.toString(), object.toString());
+    }
+
+    @Test
+    public void testSharedKeys() {
+        ObjectShapes shapes = new ObjectShapes();
+        JsonObject[] objects = new JsonObject[3];
+        for (int k = 0; k < objects.length; k++) {
+            objects[k] = new JsonObject(null);
+            for (int i = 0; i < 20; i++)
+                objects[k].createJsonNumber(new String("key" + i), k * 100 + i);
+            objects[k].shareKeys(shapes);
+        }
+        JsonObject reordered = new JsonObject(null);
+        reordered.createJsonNumber("key1", 1);
+        reordered.createJsonNumber("key0", 0);
+        reordered.shareKeys(shapes);
+        assertEquals(2, shapes.size());
+        for (JsonObject object : objects)
+            assertTrue(((MemberMap)object.getElements()).isShared());
+        assertSame(objects[0].getElements().keySet().iterator().next(),
+                objects[2].getElements().keySet().iterator().next());
+        assertEquals(219, objects[2].getElementByKey("key19").getIntValue());
+        assertNull(objects[2].getElementByKey("key20"));
+
+        objects[1].createJsonString("key0", "replaced");
+        assertTrue(((MemberMap)objects[1].getElements()).isShared());
+        objects[1].createJsonString("extra", "value");
+        assertFalse(((MemberMap)objects[1].getElements()).isShared());
+        objects[2].getElements().remove("key5");
+        assertEquals(21, objects[1].size());
+        assertEquals("\"replaced\"", objects[1].getElementByKey("key0").toString());
+        assertEquals(19, objects[2].size());
+        assertFalse(objects[2].containsKey("key5"));
+        assertEquals(20, objects[0].size());
+        assertEquals(0, objects[0].getElementByKey("key0").getIntValue());
+        assertEquals(5, objects[0].getElementByKey("key5").getIntValue());
+        assertTrue(objects[0].toString().startsWith("{\"key0\":0,\"key1\":1,"));
+    }
 }
@@ -61,4 +61,60 @@ public class JsonStringTest {
         JsonElement jsonString = new JsonString(null, input);
         GeneralTest.testNoExceptionBooleanCase(true, jsonString.isString());
     }
+
+    @Test
+    public void testJsonStringEscaping() {
+        StringBuilder input = new StringBuilder();
+        for (char c = 0; c < 0x500; c++)
+            input.append(c);
+        input.append("text\u20ac\uffff end");
+        StringBuilder expected = new StringBuilder("\"");
+        for (int i = 0; i < input.length(); i++) {
+            char c = input.charAt(i);
+            switch(c) {
+                case '"':
+                    expected.append("\\\"");
+                    break;
+                case '\\':
+                    expected.append("\\\\");
+                    break;
+                case '\b':
+                    expected.append("\\b");
+                    break;
+                case '\f':
+                    expected.append("\\f");
+                    break;
+                case '\n':
+                    expected.append("\\n");
+                    break;
+                case '\r':
+                    expected.append("\\r");
+                    break;
+                case '\t':
+                    expected.append("\\t");
+                    break;
+                default:
+                    if (c < ' ' || c > 127)
+                        expected.append(String.format("\\u%04x", (int)c));
+                    else
+                        expected.append(c);
+                    break;
+            }
+        }
+        expected.append('"');
+        JsonString jsonString = new JsonString(null, input.toString());
+        assertEquals(expected.toString(), jsonString.toString());
+        assertEquals(expected.toString(), jsonString.toStringWithIndents());
+    }
+
+    @Test
+    public void testJsonStringRawUnicode() {
+        JsonString jsonString = new JsonString(null, "\u043f\u0440\u0438\u0432\u0435\u0442\t\"\u20ac\"");
+        assertEquals("\"\u043f\u0440\u0438\u0432\u0435\u0442\\t\\\"\u20ac\\\"\"", jsonString.toString(false));
+        assertEquals("\"\\u043f\\u0440\\u0438\\u0432\\u0435\\u0442\\t\\\"\\u20ac\\\"\"", jsonString.toString());
+        JsonObject object = new JsonObject(null);
+        object.createJsonString("\u043a\u043b\u044e\u0447", "\u0437\u043d\u0430\u0447\u0435\u043d\u0438\u0435");
+        assertEquals("{\n  \"\u043a\u043b\u044e\u0447\" : \"\u0437\u043d\u0430\u0447\u0435\u043d\u0438\u0435\"\n}",
+                object.toStringWithIndents(false));
+    }
 }
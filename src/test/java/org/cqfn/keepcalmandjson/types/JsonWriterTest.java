@@ -0,0 +1,221 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2020 Polina Volkhontseva
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included
+ * in all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NON-INFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package org.cqfn.keepcalmandjson.types;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test case for {@link JsonWriter}.
+ */
+public class JsonWriterTest {
+
+    /**
+     * Create an object which text is longer than a chunk.
+     * @return JsonObject.
+     */
+    private static JsonObject createLargeObject() {
+        JsonObject object = new JsonObject(null);
+        JsonArray array = object.createJsonArray("values");
+        for (int i = 0; i < 5000; i++) {
+            JsonObject item = array.createObjectElement();
+            item.createJsonNumber("id", (long)i * 1000003);
+            item.createJsonNumber("ratio", i / 7.0);
+            item.createJsonString("name", "item \u0438\u043c\u044f \ud83d\ude00 " + i);
+            item.createJsonBoolean("flag", i % 2 == 0);
+            item.createJsonNull("none");
+        }
+        object.createJsonNumber("min", Long.MIN_VALUE);
+        object.createJsonObject("empty");
+        return object;
+    }
+
+    @Test
+    public void testWriterTarget() throws IOException {
+        JsonObject object = createLargeObject();
+        StringWriter text = new StringWriter();
+        JsonWriter writer = new JsonWriter(text);
+        writer.write(object);
+        assertEquals(object.toString(), text.toString());
+        text = new StringWriter();
+        writer = new JsonWriter(text);
+        writer.writeWithIndents(object);
+        assertEquals(object.toStringWithIndents(), text.toString());
+    }
+
+    @Test
+    public void testStreamTarget() throws IOException {
+        JsonObject object = createLargeObject();
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        try (JsonWriter writer = new JsonWriter(stream, false)) {
+            writer.write(object);
+        }
+        assertArrayEquals(object.toString(false).getBytes(StandardCharsets.UTF_8), stream.toByteArray());
+        stream = new ByteArrayOutputStream();
+        try (JsonWriter writer = new JsonWriter(stream)) {
+            writer.writeWithIndents(object);
+        }
+        assertArrayEquals(object.toStringWithIndents().getBytes(StandardCharsets.UTF_8), stream.toByteArray());
+    }
+
+    @Test
+    public void testChannelTarget() throws IOException {
+        JsonObject object = createLargeObject();
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        try (JsonWriter writer = new JsonWriter(Channels.newChannel(stream), false)) {
+            writer.writeWithIndents(object);
+        }
+        assertArrayEquals(object.toStringWithIndents(false).getBytes(StandardCharsets.UTF_8),
+                stream.toByteArray());
+    }
+
+    @Test
+    public void testUnpairedSurrogates() throws IOException {
+        JsonString string = new JsonString(null, "\ud83d \ude00 \ud83d");
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        JsonWriter writer = new JsonWriter(stream, false);
+        writer.write(string);
+        writer.flush();
+        assertArrayEquals(string.toString(false).getBytes(StandardCharsets.UTF_8), stream.toByteArray());
+    }
+
+    @Test
+    public void testTargetFailure() {
+        JsonObject object = createLargeObject();
+        Writer failing = new Writer() {
+            public void write(char[] chars, int off, int len) throws IOException {
+                throw new IOException("Target is closed");
+            }
+
+            public void flush() {
+            }
+
+            public void close() {
+            }
+        };
+        JsonWriter writer = new JsonWriter(failing);
+        IOException exception = assertThrows(IOException.class, () -> writer.write(object));
+        assertEquals("Target is closed", exception.getMessage());
+    }
+
+    @Test
+    public void testUtf8Bytes() {
+        JsonObject object = createLargeObject();
+        assertArrayEquals(object.toString().getBytes(StandardCharsets.UTF_8), object.toUtf8Bytes());
+        assertArrayEquals(object.toString(false).getBytes(StandardCharsets.UTF_8), object.toUtf8Bytes(false));
+        JsonArray array = new JsonArray(null);
+        array.createStringElement("\u0436");
+        array.createNumberElement(2.5);
+        assertArrayEquals("[\"\\u0436\",2.5]".getBytes(StandardCharsets.UTF_8), array.toUtf8Bytes());
+        assertArrayEquals("[\"\u0436\",2.5]".getBytes(StandardCharsets.UTF_8), array.toUtf8Bytes(false));
+    }
+
+    @Test
+    public void testDoubleValues() throws IOException {
+        double[] values = { 0.1, -2.5, 1.0E-5, 1.2345678901234567E21, Double.MIN_VALUE, -Double.MAX_VALUE,
+                Double.NaN, Double.NEGATIVE_INFINITY, -0.0, 3.0 };
+        StringWriter text = new StringWriter();
+        JsonWriter writer = new JsonWriter(text);
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            double value = values[i % values.length];
+            writer.append(value).append(',');
+            expected.append(Double.toString(value)).append(',');
+        }
+        writer.flush();
+        assertEquals(expected.toString(), text.toString());
+        JsonArray array = new JsonArray(null);
+        array.createNumberElement(0.1);
+        array.createNumberElement(1.0E-5);
+        array.createNumberElement(-Double.MAX_VALUE);
+        assertEquals("[0.1,1.0E-5,-1.7976931348623157E308]", array.toString());
+    }
+
+    @Test
+    public void testWriteToBuffer() {
+        JsonObject object = createLargeObject();
+        byte[] expected = object.toString(false).getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(expected.length + 10);
+        buffer.put((byte)'#');
+        assertEquals(expected.length, object.writeTo(buffer, false));
+        assertEquals(expected.length + 1, buffer.position());
+        byte[] actual = new byte[expected.length];
+        buffer.flip();
+        buffer.get();
+        buffer.get(actual);
+        assertArrayEquals(expected, actual);
+        ByteBuffer small = ByteBuffer.allocate(expected.length - 1);
+        assertThrows(BufferOverflowException.class, () -> object.writeTo(small));
+        assertEquals(0, small.position());
+        JsonBoolean bool = new JsonBoolean(null, true);
+        assertEquals(4, bool.writeTo(small));
+        assertEquals("true", new String(small.array(), 0, 4, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testWriteToHeapBuffer() {
+        JsonObject object = createLargeObject();
+        byte[] expected = object.toString().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer whole = ByteBuffer.allocate(expected.length + 20);
+        whole.position(7);
+        ByteBuffer buffer = whole.slice();
+        buffer.position(3);
+        assertEquals(expected.length, object.writeTo(buffer));
+        assertEquals(expected.length + 3, buffer.position());
+        assertArrayEquals(expected, Arrays.copyOfRange(whole.array(), 10, 10 + expected.length));
+        ByteBuffer exact = ByteBuffer.allocate(expected.length);
+        assertEquals(expected.length, object.writeTo(exact));
+        assertArrayEquals(expected, exact.array());
+        ByteBuffer small = ByteBuffer.allocate(expected.length + 4);
+        small.position(5);
+        assertThrows(BufferOverflowException.class, () -> object.writeTo(small));
+        assertEquals(5, small.position());
+    }
+
+    @Test
+    public void testPooledBytes() {
+        JsonArray large = new JsonArray(null);
+        for (int i = 0; i < 100000; i++)
+            large.createStringElement("value \u0436\u0437 " + i);
+        byte[] expected = large.toString(false).getBytes(StandardCharsets.UTF_8);
+        assertTrue(expected.length > (1 << 20));
+        for (int i = 0; i < 3; i++)
+            assertArrayEquals(expected, large.toUtf8Bytes(false));
+        JsonString string = new JsonString(null, "x\ud83d");
+        assertArrayEquals("\"x?\"".getBytes(StandardCharsets.UTF_8), string.toUtf8Bytes(false));
+        assertArrayEquals("\"x?\"".getBytes(StandardCharsets.UTF_8), string.toUtf8Bytes(false));
+        ByteBuffer buffer = ByteBuffer.allocateDirect(8);
+        assertEquals(4, string.writeTo(buffer, false));
+        assertEquals(4, string.writeTo(buffer, false));
+    }
+}